@@ -0,0 +1,13 @@
+package io.github.jhipster.application.benchmark;
+
+/**
+ * Trivial service for the benchmarks of the aspects. It is not a Spring component, so it is never scanned
+ * into the application: {@link LoggingAspectBenchmark} proxies it explicitly, with the advice of the
+ * application applied to it.
+ */
+public class BenchmarkEchoService {
+
+    public Long echo(Long id) {
+        return id;
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.jhipster.application.benchmark;
+
+import io.github.jhipster.application.config.cache.DomainSerializers;
+import io.github.jhipster.application.config.cache.StandardCacheEntryStreamSerializer;
+import io.github.jhipster.application.domain.Pedido;
+import io.github.jhipster.application.domain.PedidoItem;
+import io.github.jhipster.application.domain.Produto;
+import io.github.jhipster.application.domain.Usuario;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of the Hazelcast serializers of {@link DomainSerializers} with the Java serialization
+ * used without them, for a pedido and for a produto entry of the second level cache.
+ * <p>
+ * The serialized sizes are printed when the benchmark starts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheSerializationBenchmark {
+
+    @Param({ "domain", "java" })
+    private String serialization;
+
+    private InternalSerializationService serializationService;
+
+    private Pedido pedido;
+
+    private StandardCacheEntryImpl cacheEntry;
+
+    private Data pedidoData;
+
+    private Data cacheEntryData;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        SerializationConfig serializationConfig = new SerializationConfig();
+        if ("domain".equals(serialization)) {
+            DomainSerializers.addTo(serializationConfig);
+        }
+        serializationService = new DefaultSerializationServiceBuilder().setConfig(serializationConfig).build();
+
+        Usuario usuario = new Usuario();
+        usuario.setId(1L);
+        pedido = new Pedido().data(LocalDate.now()).usuario(usuario);
+        pedido.setId(100L);
+        for (long id = 1; id <= 5; id++) {
+            Produto produto = new Produto();
+            produto.setId(id);
+            PedidoItem item = new PedidoItem().quantidade(1).precoUnitarioCentavos(1290L).produto(produto);
+            item.setId(id);
+            pedido.addItem(item);
+        }
+        Serializable[] state = { 7L, 25, "Chocolate ao leite", new BigDecimal("12.90") };
+        cacheEntry = new StandardCacheEntryStreamSerializer().newEntry(state, Produto.class.getName(), null);
+
+        pedidoData = serializationService.toData(pedido);
+        cacheEntryData = serializationService.toData(cacheEntry);
+        System.out.printf("%n%s serialization: pedido %d bytes, cache entry %d bytes%n",
+            serialization, pedidoData.totalSize(), cacheEntryData.totalSize());
+    }
+
+    @Benchmark
+    public Data serializePedido() {
+        return serializationService.toData(pedido);
+    }
+
+    @Benchmark
+    public Object deserializePedido() {
+        return serializationService.toObject(pedidoData);
+    }
+
+    @Benchmark
+    public Data serializeCacheEntry() {
+        return serializationService.toData(cacheEntry);
+    }
+
+    @Benchmark
+    public Object deserializeCacheEntry() {
+        return serializationService.toObject(cacheEntryData);
+    }
+}
@@ -0,0 +1,39 @@
+package io.github.jhipster.application.benchmark;
+
+import io.github.jhipster.application.CandyShopApp;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * JMH state starting the application once per trial.
+ * <p>
+ * The benchmarks run with the test classpath, so the application uses the test configuration
+ * and its in-memory H2 database.
+ */
+@State(Scope.Benchmark)
+public class CandyShopContext {
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(CandyShopApp.class)
+            .properties("server.port=0")
+            .logStartupInfo(false)
+            .run();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
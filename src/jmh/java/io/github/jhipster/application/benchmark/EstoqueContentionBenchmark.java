@@ -0,0 +1,58 @@
+package io.github.jhipster.application.benchmark;
+
+import io.github.jhipster.application.domain.Produto;
+import io.github.jhipster.application.repository.ProdutoRepository;
+import io.github.jhipster.application.service.EstoqueService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures concurrent reservations of a single produto, with its stock in a single row
+ * and split across stripes (hot mode).
+ * <p>
+ * All the threads reserve the same produto, as during a flash sale. The stock is large enough
+ * to never run out during a run.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(16)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EstoqueContentionBenchmark {
+
+    private static final int ESTOQUE = Integer.MAX_VALUE / 2;
+
+    private static final int FAIXAS = 16;
+
+    private EstoqueService estoqueService;
+
+    private Map<Long, Integer> produtoNormal;
+
+    private Map<Long, Integer> produtoEmFaixas;
+
+    @Setup(Level.Trial)
+    public void setUp(CandyShopContext context) {
+        estoqueService = context.getBean(EstoqueService.class);
+        ProdutoRepository produtoRepository = context.getBean(ProdutoRepository.class);
+        Produto normal = produtoRepository.save(new Produto().nome("Normal").estoque(ESTOQUE));
+        Produto emFaixas = produtoRepository.save(new Produto().nome("Em faixas").estoque(ESTOQUE));
+        estoqueService.dividirEmFaixas(emFaixas.getId(), FAIXAS);
+        produtoNormal = Collections.singletonMap(normal.getId(), 1);
+        produtoEmFaixas = Collections.singletonMap(emFaixas.getId(), 1);
+    }
+
+    @Benchmark
+    public void singleRow() {
+        estoqueService.reservar(produtoNormal);
+    }
+
+    @Benchmark
+    public void stripes() {
+        estoqueService.reservar(produtoEmFaixas);
+    }
+}
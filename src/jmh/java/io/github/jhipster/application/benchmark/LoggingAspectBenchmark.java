@@ -0,0 +1,121 @@
+package io.github.jhipster.application.benchmark;
+
+import io.github.jhipster.application.aop.logging.LoggingAspect;
+import io.github.jhipster.application.aop.timing.TimingInterceptor;
+
+import com.codahale.metrics.MetricRegistry;
+import org.aopalliance.aop.Advice;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.AspectJAroundAdvice;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.aspectj.SingletonAspectInstanceFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.aop.interceptor.ExposeInvocationInterceptor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of LoggingAspect.logAround on a service call, when debug logging is off, against
+ * the TimingInterceptor of application.timing.
+ * <p>
+ * The aspect is only registered with the "dev" profile, so this is the cost every service,
+ * repository and REST call pays in development. The interceptor is meant for production: with the
+ * default rate of 0.01 most calls are not timed, and when it is disabled the beans are not proxied,
+ * which is the direct benchmark.
+ * <p>
+ * The echo service is outside of the packages of the application pointcuts, so they are replaced by a pointcut
+ * on the service: the advices are the ones of the application.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggingAspectBenchmark {
+
+    private BenchmarkEchoService target;
+
+    private BenchmarkEchoService proxy;
+
+    private BenchmarkEchoService advised;
+
+    private BenchmarkEchoService sampled;
+
+    private BenchmarkEchoService timed;
+
+    private Long id = 42L;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        target = new BenchmarkEchoService();
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxy = proxyFactory.getProxy();
+
+        AspectJProxyFactory advisedFactory = new AspectJProxyFactory(target);
+        advisedFactory.setProxyTargetClass(true);
+        advisedFactory.addAdvice(ExposeInvocationInterceptor.INSTANCE);
+        advisedFactory.addAdvisor(new DefaultPointcutAdvisor(echoServicePointcut(), loggingAroundAdvice()));
+        advised = advisedFactory.getProxy();
+
+        MetricRegistry metricRegistry = new MetricRegistry();
+        sampled = timingProxy(new TimingInterceptor(() -> metricRegistry, 0.01, Collections.emptyMap()));
+        timed = timingProxy(new TimingInterceptor(() -> metricRegistry, 1, Collections.emptyMap()));
+    }
+
+    private BenchmarkEchoService timingProxy(TimingInterceptor interceptor) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(echoServicePointcut(), interceptor));
+        return proxyFactory.getProxy();
+    }
+
+    private static AspectJExpressionPointcut echoServicePointcut() {
+        AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+        pointcut.setExpression("within(" + BenchmarkEchoService.class.getName() + ")");
+        return pointcut;
+    }
+
+    /**
+     * The LoggingAspect.logAround advice, applied with the pointcut of the echo service.
+     */
+    private static Advice loggingAroundAdvice() {
+        try {
+            return new AspectJAroundAdvice(LoggingAspect.class.getMethod("logAround", ProceedingJoinPoint.class),
+                echoServicePointcut(), new SingletonAspectInstanceFactory(new LoggingAspect(new StandardEnvironment())));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("LoggingAspect.logAround not found", e);
+        }
+    }
+
+    @Benchmark
+    public Long direct() {
+        return target.echo(id);
+    }
+
+    @Benchmark
+    public Long proxyWithoutAdvice() {
+        return proxy.echo(id);
+    }
+
+    @Benchmark
+    public Long loggingAspect() {
+        return advised.echo(id);
+    }
+
+    @Benchmark
+    public Long timingSampled() {
+        return sampled.echo(id);
+    }
+
+    @Benchmark
+    public Long timingEveryCall() {
+        return timed.echo(id);
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.jhipster.application.benchmark;
+
+import io.github.jhipster.application.web.rest.util.PaginationUtil;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the generation of the pagination headers of the list endpoints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PaginationUtilBenchmark {
+
+    private Page<Object> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        page = new PageImpl<>(Collections.nCopies(20, new Object()), PageRequest.of(50, 20), 100_000);
+    }
+
+    @Benchmark
+    public HttpHeaders paginationHeaders() {
+        return PaginationUtil.generatePaginationHttpHeaders(page, "/api/produtos");
+    }
+
+    @Benchmark
+    public HttpHeaders keysetPaginationHeaders() {
+        return PaginationUtil.generateKeysetPaginationHttpHeaders("/api/pedidos?eagerload=true", 1000L, 20);
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.jhipster.application.benchmark;
+
+import io.github.jhipster.application.domain.Pedido;
+import io.github.jhipster.application.domain.PedidoItem;
+import io.github.jhipster.application.domain.Produto;
+import io.github.jhipster.application.repository.PedidoRepository;
+import io.github.jhipster.application.repository.ProdutoRepository;
+import io.github.jhipster.application.service.PedidoBatchService;
+import io.github.jhipster.application.service.PedidoService;
+import io.github.jhipster.application.service.dto.BatchItemResultDTO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of the single-row path of POST /api/pedidos, one transaction per pedido,
+ * with the bulk ingestion of POST /api/pedidos/batch, using JDBC batching.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PedidoBatchBenchmark {
+
+    private static final int PEDIDOS_PER_INVOCATION = 500;
+
+    private static final int PRODUTOS_PER_PEDIDO = 3;
+
+    private PedidoRepository pedidoRepository;
+
+    private PedidoService pedidoService;
+
+    private PedidoBatchService pedidoBatchService;
+
+    private final List<Produto> produtos = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp(CandyShopContext context) {
+        pedidoRepository = context.getBean(PedidoRepository.class);
+        pedidoService = context.getBean(PedidoService.class);
+        pedidoBatchService = context.getBean(PedidoBatchService.class);
+        ProdutoRepository produtoRepository = context.getBean(ProdutoRepository.class);
+        for (int i = 0; i < PRODUTOS_PER_PEDIDO; i++) {
+            produtos.add(produtoRepository.save(new Produto().nome("Produto " + i).preco(BigDecimal.ONE).estoque(100)));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void deletePedidos() {
+        pedidoRepository.deleteAll();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PEDIDOS_PER_INVOCATION)
+    public void singleRow(Blackhole blackhole) {
+        for (Pedido pedido : newPedidos()) {
+            blackhole.consume(pedidoService.save(pedido));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PEDIDOS_PER_INVOCATION)
+    public List<BatchItemResultDTO> batch() {
+        return pedidoBatchService.saveAll(newPedidos().iterator());
+    }
+
+    private List<Pedido> newPedidos() {
+        List<Pedido> pedidos = new ArrayList<>(PEDIDOS_PER_INVOCATION);
+        for (int i = 0; i < PEDIDOS_PER_INVOCATION; i++) {
+            Pedido pedido = new Pedido().data(LocalDate.now());
+            produtos.forEach(produto -> pedido.addItem(new PedidoItem().quantidade(1).produto(produto)));
+            pedidos.add(pedido);
+        }
+        return pedidos;
+    }
+}
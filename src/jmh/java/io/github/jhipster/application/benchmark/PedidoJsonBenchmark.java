@@ -0,0 +1,73 @@
+package io.github.jhipster.application.benchmark;
+
+import io.github.jhipster.application.domain.Categoria;
+import io.github.jhipster.application.domain.Pedido;
+import io.github.jhipster.application.domain.PedidoItem;
+import io.github.jhipster.application.domain.Produto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.hibernate5.Hibernate5Module;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Jackson serialization of a pedido as returned by GET /api/pedidos/:id, with its items and produtos.
+ * <p>
+ * The ObjectMapper has the modules of JacksonConfiguration.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PedidoJsonBenchmark {
+
+    @Param({ "1", "10", "100" })
+    private int produtos;
+
+    private ObjectMapper objectMapper;
+
+    private Pedido pedido;
+
+    private byte[] json;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .modules(new JavaTimeModule(), new Jdk8Module(), new Hibernate5Module(), new AfterburnerModule())
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        Categoria categoria = new Categoria().nome("Chocolates");
+        categoria.setId(1L);
+        pedido = new Pedido().data(LocalDate.now());
+        pedido.setId(1L);
+        for (long id = 1; id <= produtos; id++) {
+            Produto produto = new Produto().nome("Produto " + id).preco(new BigDecimal("9.90")).estoque(100).categoria(categoria);
+            produto.setId(id);
+            PedidoItem item = new PedidoItem().quantidade(1).precoUnitarioCentavos(990L).produto(produto);
+            item.setId(id);
+            pedido.addItem(item);
+        }
+        json = objectMapper.writeValueAsBytes(pedido);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(pedido);
+    }
+
+    @Benchmark
+    public Pedido deserialize() throws IOException {
+        return objectMapper.readValue(json, Pedido.class);
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.jhipster.application.benchmark;
+
+import io.github.jhipster.application.domain.Pedido;
+import io.github.jhipster.application.domain.PedidoItem;
+import io.github.jhipster.application.domain.Produto;
+import io.github.jhipster.application.repository.PedidoRepository;
+import io.github.jhipster.application.repository.ProdutoRepository;
+import io.github.jhipster.application.service.PedidoBatchService;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the eager loading of the pedidos with their items and produtos against the H2 database,
+ * for several numbers of pedidos.
+ * <p>
+ * The paged variant is the one the list endpoint used to call: Hibernate cannot paginate a
+ * fetch join in SQL, so it loads every row and paginates in memory. The keyset variant is
+ * the one GET /api/pedidos?eagerload=true calls now.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PedidoRepositoryBenchmark {
+
+    private static final int PRODUTOS_PER_PEDIDO = 3;
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({ "100", "1000", "10000" })
+    private int pedidos;
+
+    private PedidoRepository pedidoRepository;
+
+    @Setup(Level.Trial)
+    public void setUp(CandyShopContext context) {
+        pedidoRepository = context.getBean(PedidoRepository.class);
+        ProdutoRepository produtoRepository = context.getBean(ProdutoRepository.class);
+        List<Produto> produtos = new ArrayList<>();
+        for (int i = 0; i < PRODUTOS_PER_PEDIDO; i++) {
+            produtos.add(produtoRepository.save(new Produto().nome("Produto " + i).preco(BigDecimal.ONE).estoque(100)));
+        }
+        List<Pedido> novos = new ArrayList<>(pedidos);
+        for (int i = 0; i < pedidos; i++) {
+            Pedido pedido = new Pedido().data(LocalDate.now());
+            produtos.forEach(produto -> pedido.addItem(new PedidoItem().quantidade(1).produto(produto)));
+            novos.add(pedido);
+        }
+        context.getBean(PedidoBatchService.class).saveAll(novos.iterator());
+    }
+
+    @Benchmark
+    public List<Pedido> findAllWithEagerRelationships() {
+        return pedidoRepository.findAllWithEagerRelationships();
+    }
+
+    @Benchmark
+    public Page<Pedido> findFirstPageWithEagerRelationships() {
+        return pedidoRepository.findAllWithEagerRelationships(PageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<Pedido> findFirstKeysetPageWithEagerRelationships() {
+        List<Long> ids = pedidoRepository.findIdsAfter(0L, PageRequest.of(0, PAGE_SIZE));
+        return pedidoRepository.findAllWithEagerRelationshipsByIdIn(ids);
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.jhipster.application.benchmark;
+
+import io.github.jhipster.application.config.ApplicationProperties;
+import io.github.jhipster.application.security.AuthoritiesConstants;
+import io.github.jhipster.application.security.jwt.TokenProvider;
+
+import com.codahale.metrics.MetricRegistry;
+import io.github.jhipster.config.JHipsterProperties;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the JWT checks done by JWTFilter on every request: the former double parsing of the token, and
+ * the cached authentication of {@link TokenProvider#resolveAuthentication}, with the cache enabled or not.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenProviderBenchmark {
+
+    @Param({ "10000", "0" })
+    private int jwtCacheMaxSize;
+
+    private TokenProvider tokenProvider;
+
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getSecurity().getAuthentication().getJwt()
+            .setBase64Secret("MjViNmY1YjYwZDExZDU3NGEwZDA0ZGU0ZWNiZjA0MWQwYTRhNGU4MDE5OTUyMTZiOWI5ZGU0NWE4ZmZmNTM5NmU2NTM1YWFkYTUzYjBhMzRlZjQ4OGFmNWZjNDBkZGI3YzZlMDhiYTJmNTA4MmNjOWI5ZTk4YzM0MzljNzc1MTE=");
+        jHipsterProperties.getSecurity().getAuthentication().getJwt().setTokenValidityInSeconds(3600);
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getJwtCache().setMaxSize(jwtCacheMaxSize);
+        tokenProvider = new TokenProvider(jHipsterProperties, applicationProperties, new MetricRegistry());
+        tokenProvider.init();
+        Authentication authentication = new UsernamePasswordAuthenticationToken("user", "",
+            Arrays.asList(new SimpleGrantedAuthority(AuthoritiesConstants.USER), new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN)));
+        token = tokenProvider.createToken(authentication, false);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public Authentication getAuthentication() {
+        return tokenProvider.getAuthentication(token);
+    }
+
+    /**
+     * What JWTFilter used to do for each request, parsing the token twice.
+     */
+    @Benchmark
+    public Authentication filter() {
+        return tokenProvider.validateToken(token) ? tokenProvider.getAuthentication(token) : null;
+    }
+
+    /**
+     * What JWTFilter does for each request, parsing the token once, if not already cached.
+     */
+    @Benchmark
+    public Authentication resolveAuthentication() {
+        return tokenProvider.resolveAuthentication(token);
+    }
+
+    /**
+     * The same, under the load of concurrent requests sharing the cache.
+     */
+    @Benchmark
+    @Threads(8)
+    public Authentication resolveAuthenticationConcurrently() {
+        return tokenProvider.resolveAuthentication(token);
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.jhipster.application.aop.timing;
+
+import com.codahale.metrics.MetricRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Times a sample of the calls of the repositories, services and REST endpoints, in a Dropwizard timer per
+ * method, e.g. "timing.PedidoRepository.findByUsuarioId".
+ * <p>
+ * Unlike an {@code @Around} advice of an {@code @Aspect}, this interceptor gets the invoked method without a
+ * join point or a signature being built, so a call that is not sampled only costs a random number. The rate
+ * of each class is resolved once, on its first call.
+ */
+public class TimingInterceptor implements MethodInterceptor {
+
+    public static final String METRIC_PREFIX = "timing";
+
+    private static final String APPLICATION_PACKAGE = "io.github.jhipster.application.";
+
+    private final Supplier<MetricRegistry> metricRegistry;
+
+    private final double defaultSampleRate;
+
+    private final Map<String, Double> packageSampleRates;
+
+    private final ClassValue<TimedType> timedTypes = new ClassValue<TimedType>() {
+        @Override
+        protected TimedType computeValue(Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    /**
+     * @param metricRegistry the registry of the timers, only looked up once a call is sampled
+     * @param defaultSampleRate the fraction of the calls timed, between 0 and 1
+     * @param packageSampleRates the rates of the classes of some packages, by package name relative to the
+     * application package (e.g. "web.rest"); the longest matching package wins
+     */
+    public TimingInterceptor(Supplier<MetricRegistry> metricRegistry, double defaultSampleRate,
+                             Map<String, Double> packageSampleRates) {
+        this.metricRegistry = metricRegistry;
+        this.defaultSampleRate = defaultSampleRate;
+        this.packageSampleRates = packageSampleRates;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        TimedType timedType = timedTypes.get(invocation.getThis().getClass());
+        if (timedType.sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= timedType.sampleRate) {
+            return invocation.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            metricRegistry.get().timer(MetricRegistry.name(METRIC_PREFIX, timedType.name, invocation.getMethod().getName()))
+                .update(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private TimedType resolve(Class<?> type) {
+        Class<?> userType = getUserType(type);
+        return new TimedType(userType.getSimpleName(), getSampleRate(userType.getName()));
+    }
+
+    /**
+     * The class of the bean, or for the JDK proxies of the Spring Data repositories, their repository interface.
+     */
+    private Class<?> getUserType(Class<?> type) {
+        if (Proxy.isProxyClass(type)) {
+            for (Class<?> proxiedInterface : ClassUtils.getAllInterfacesForClass(type)) {
+                if (proxiedInterface.getName().startsWith(APPLICATION_PACKAGE)) {
+                    return proxiedInterface;
+                }
+            }
+        }
+        return ClassUtils.getUserClass(type);
+    }
+
+    private double getSampleRate(String className) {
+        String relativeName = className.startsWith(APPLICATION_PACKAGE)
+            ? className.substring(APPLICATION_PACKAGE.length()) : className;
+        double sampleRate = defaultSampleRate;
+        int matchedLength = -1;
+        for (Map.Entry<String, Double> packageSampleRate : packageSampleRates.entrySet()) {
+            String packageName = packageSampleRate.getKey();
+            if (relativeName.startsWith(packageName + ".") && packageName.length() > matchedLength) {
+                sampleRate = packageSampleRate.getValue();
+                matchedLength = packageName.length();
+            }
+        }
+        return sampleRate;
+    }
+
+    private static final class TimedType {
+
+        private final String name;
+
+        private final double sampleRate;
+
+        private TimedType(String name, double sampleRate) {
+            this.name = name;
+            this.sampleRate = sampleRate;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Sampled timing of the repositories, services and REST endpoints.
+ */
+package io.github.jhipster.application.aop.timing;
@@ -1,7 +1,14 @@
 package io.github.jhipster.application.config;
 
+import io.github.jhipster.application.config.async.RejectionPolicy;
+
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Properties specific to Candy Shop.
  * <p>
@@ -11,4 +18,622 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
 
+    private final Batch batch = new Batch();
+
+    private final Cache cache = new Cache();
+
+    private final JwtCache jwtCache = new JwtCache();
+
+    private final Jdbc jdbc = new Jdbc();
+
+    private final Timing timing = new Timing();
+
+    private final TaskExecutors taskExecutors = new TaskExecutors();
+
+    private final Audit audit = new Audit();
+
+    private final Partitioning partitioning = new Partitioning();
+
+    private final VendasDiarias vendasDiarias = new VendasDiarias();
+
+    private final Pagination pagination = new Pagination();
+
+    public Batch getBatch() {
+        return batch;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public JwtCache getJwtCache() {
+        return jwtCache;
+    }
+
+    public Jdbc getJdbc() {
+        return jdbc;
+    }
+
+    public Timing getTiming() {
+        return timing;
+    }
+
+    public TaskExecutors getTaskExecutors() {
+        return taskExecutors;
+    }
+
+    public Audit getAudit() {
+        return audit;
+    }
+
+    public Partitioning getPartitioning() {
+        return partitioning;
+    }
+
+    public VendasDiarias getVendasDiarias() {
+        return vendasDiarias;
+    }
+
+    public Pagination getPagination() {
+        return pagination;
+    }
+
+    public static class Batch {
+
+        /**
+         * Number of entities saved in each transaction of a bulk ingestion.
+         */
+        private int chunkSize = 100;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Time to live of the cached catalog listings, in seconds.
+         */
+        private int catalogoTimeToLiveSeconds = 3600;
+
+        private final NearCache nearCache = new NearCache();
+
+        /**
+         * Hazelcast map settings of the Hibernate second level cache regions, by region name relative to the
+         * domain package (e.g. "Produto" or "Pedido.itens"). The regions not listed use the defaults of
+         * the jhipster.cache.hazelcast properties.
+         */
+        private final Map<String, Region> regions = new LinkedHashMap<>();
+
+        public int getCatalogoTimeToLiveSeconds() {
+            return catalogoTimeToLiveSeconds;
+        }
+
+        public void setCatalogoTimeToLiveSeconds(int catalogoTimeToLiveSeconds) {
+            this.catalogoTimeToLiveSeconds = catalogoTimeToLiveSeconds;
+        }
+
+        public NearCache getNearCache() {
+            return nearCache;
+        }
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public static class NearCache {
+
+            /**
+             * Keep a local copy of the entries read from the domain and catalog maps on each node.
+             */
+            private boolean enabled = true;
+
+            /**
+             * Maximum number of entries of the near cache of each map.
+             */
+            private int maxSize = 10000;
+
+            /**
+             * Maximum time an entry stays in a near cache, in seconds. 0 means forever.
+             */
+            private int timeToLiveSeconds = 0;
+
+            /**
+             * Maximum time an entry stays in a near cache without being read, in seconds. 0 means forever.
+             */
+            private int maxIdleSeconds = 0;
+
+            /**
+             * OBJECT keeps the deserialized values, so a near cache hit costs no deserialization.
+             */
+            private InMemoryFormat inMemoryFormat = InMemoryFormat.OBJECT;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(int maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            public int getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(int timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public int getMaxIdleSeconds() {
+                return maxIdleSeconds;
+            }
+
+            public void setMaxIdleSeconds(int maxIdleSeconds) {
+                this.maxIdleSeconds = maxIdleSeconds;
+            }
+
+            public InMemoryFormat getInMemoryFormat() {
+                return inMemoryFormat;
+            }
+
+            public void setInMemoryFormat(InMemoryFormat inMemoryFormat) {
+                this.inMemoryFormat = inMemoryFormat;
+            }
+        }
+
+        /**
+         * The settings of a region left empty fall back to those of the other domain maps.
+         */
+        public static class Region {
+
+            /**
+             * Maximum number of entries per node. 0 means no bound.
+             */
+            private int maxSize = 0;
+
+            /**
+             * Entries evicted once the max size is reached: LRU or LFU.
+             */
+            private EvictionPolicy evictionPolicy = EvictionPolicy.LRU;
+
+            private Integer timeToLiveSeconds;
+
+            private Integer maxIdleSeconds;
+
+            private Integer backupCount;
+
+            private InMemoryFormat inMemoryFormat;
+
+            /**
+             * Keep a near cache of the region, defaults to application.cache.near-cache.enabled.
+             */
+            private Boolean nearCache;
+
+            public int getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(int maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            public EvictionPolicy getEvictionPolicy() {
+                return evictionPolicy;
+            }
+
+            public void setEvictionPolicy(EvictionPolicy evictionPolicy) {
+                this.evictionPolicy = evictionPolicy;
+            }
+
+            public Integer getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Integer timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public Integer getMaxIdleSeconds() {
+                return maxIdleSeconds;
+            }
+
+            public void setMaxIdleSeconds(Integer maxIdleSeconds) {
+                this.maxIdleSeconds = maxIdleSeconds;
+            }
+
+            public Integer getBackupCount() {
+                return backupCount;
+            }
+
+            public void setBackupCount(Integer backupCount) {
+                this.backupCount = backupCount;
+            }
+
+            public InMemoryFormat getInMemoryFormat() {
+                return inMemoryFormat;
+            }
+
+            public void setInMemoryFormat(InMemoryFormat inMemoryFormat) {
+                this.inMemoryFormat = inMemoryFormat;
+            }
+
+            public Boolean getNearCache() {
+                return nearCache;
+            }
+
+            public void setNearCache(Boolean nearCache) {
+                this.nearCache = nearCache;
+            }
+        }
+    }
+
+    public static class JwtCache {
+
+        /**
+         * Maximum number of validated JWT tokens kept in memory, 0 to parse and verify every token.
+         */
+        private int maxSize = 10000;
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+
+    public static class Jdbc {
+
+        /**
+         * Return the number of SQL statements of each API request, and their time, in the X-DB-Queries and
+         * X-DB-Time headers. For development: the response bodies are buffered.
+         */
+        private boolean statisticsHeaders = false;
+
+        /**
+         * Duration from which a SQL statement is logged as slow, in milliseconds, 0 to log none.
+         */
+        private long slowQueryThresholdMillis = 1000;
+
+        public boolean isStatisticsHeaders() {
+            return statisticsHeaders;
+        }
+
+        public void setStatisticsHeaders(boolean statisticsHeaders) {
+            this.statisticsHeaders = statisticsHeaders;
+        }
+
+        public long getSlowQueryThresholdMillis() {
+            return slowQueryThresholdMillis;
+        }
+
+        public void setSlowQueryThresholdMillis(long slowQueryThresholdMillis) {
+            this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+        }
+    }
+
+    public static class Timing {
+
+        /**
+         * Time a sample of the calls of the repositories, services and REST endpoints, in the metrics.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Fraction of the calls timed, between 0 and 1.
+         */
+        private double sampleRate = 0.01;
+
+        /**
+         * Sample rates of the classes of some packages, by package name relative to the application package,
+         * e.g. "web.rest".
+         */
+        private final Map<String, Double> packages = new LinkedHashMap<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public Map<String, Double> getPackages() {
+            return packages;
+        }
+    }
+
+    public static class TaskExecutors {
+
+        /**
+         * The default executor of the @Async methods, for blocking work such as JDBC or HTTP calls.
+         */
+        private final Pool io = new Pool(2, 50, 10000);
+
+        /**
+         * The executor of the computations, by default one thread per processor.
+         */
+        private final Pool cpu = new Pool(0, 0, 1000);
+
+        private final Scheduler scheduler = new Scheduler();
+
+        public Pool getIo() {
+            return io;
+        }
+
+        public Pool getCpu() {
+            return cpu;
+        }
+
+        public Scheduler getScheduler() {
+            return scheduler;
+        }
+
+        public static class Pool {
+
+            /**
+             * Threads kept in the pool, 0 for the number of processors.
+             */
+            private int corePoolSize;
+
+            /**
+             * Threads started once the queue is full, 0 for the number of processors.
+             */
+            private int maxPoolSize;
+
+            private int queueCapacity;
+
+            private RejectionPolicy rejectionPolicy = RejectionPolicy.CALLER_RUNS;
+
+            /**
+             * Run each task in a new virtual thread instead of a pool, when the JVM supports them (Java 21+).
+             * The tasks are then neither queued nor rejected.
+             */
+            private boolean virtualThreads = false;
+
+            public Pool() {
+            }
+
+            Pool(int corePoolSize, int maxPoolSize, int queueCapacity) {
+                this.corePoolSize = corePoolSize;
+                this.maxPoolSize = maxPoolSize;
+                this.queueCapacity = queueCapacity;
+            }
+
+            public int getCorePoolSize() {
+                return corePoolSize;
+            }
+
+            public void setCorePoolSize(int corePoolSize) {
+                this.corePoolSize = corePoolSize;
+            }
+
+            public int getMaxPoolSize() {
+                return maxPoolSize;
+            }
+
+            public void setMaxPoolSize(int maxPoolSize) {
+                this.maxPoolSize = maxPoolSize;
+            }
+
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+
+            public RejectionPolicy getRejectionPolicy() {
+                return rejectionPolicy;
+            }
+
+            public void setRejectionPolicy(RejectionPolicy rejectionPolicy) {
+                this.rejectionPolicy = rejectionPolicy;
+            }
+
+            public boolean isVirtualThreads() {
+                return virtualThreads;
+            }
+
+            public void setVirtualThreads(boolean virtualThreads) {
+                this.virtualThreads = virtualThreads;
+            }
+        }
+
+        public static class Scheduler {
+
+            /**
+             * Threads of the @Scheduled methods.
+             */
+            private int poolSize = 2;
+
+            public int getPoolSize() {
+                return poolSize;
+            }
+
+            public void setPoolSize(int poolSize) {
+                this.poolSize = poolSize;
+            }
+        }
+    }
+
+    public static class Audit {
+
+        /**
+         * Audit events waiting to be written. Once it is full, the new events are dropped.
+         */
+        private int queueCapacity = 10000;
+
+        /**
+         * Maximum number of audit events written per transaction.
+         */
+        private int batchSize = 100;
+
+        /**
+         * Maximum time an audit event waits for its batch to fill up, in milliseconds.
+         */
+        private long flushIntervalMillis = 1000;
+
+        /**
+         * Time a new audit event waits for room in a full queue before it is dropped, in milliseconds.
+         * 0 drops it at once, so auditing never slows a request down.
+         */
+        private long offerTimeoutMillis = 0;
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getFlushIntervalMillis() {
+            return flushIntervalMillis;
+        }
+
+        public void setFlushIntervalMillis(long flushIntervalMillis) {
+            this.flushIntervalMillis = flushIntervalMillis;
+        }
+
+        public long getOfferTimeoutMillis() {
+            return offerTimeoutMillis;
+        }
+
+        public void setOfferTimeoutMillis(long offerTimeoutMillis) {
+            this.offerTimeoutMillis = offerTimeoutMillis;
+        }
+    }
+
+    public static class Partitioning {
+
+        /**
+         * When the monthly partitions of the ponto and audit event tables are maintained, on PostgreSQL.
+         */
+        private String cron = "0 0 3 * * ?";
+
+        /**
+         * Number of months ahead of the current one that have their partition.
+         */
+        private int monthsAhead = 3;
+
+        /**
+         * Months of pontos kept in the ponto table, 0 to keep them all.
+         */
+        private int pontoRetentionMonths = 0;
+
+        /**
+         * Months of audit events kept in the audit event table, 0 to keep them all.
+         */
+        private int auditRetentionMonths = 12;
+
+        /**
+         * Drop the partitions once detached, instead of leaving them as tables to be archived.
+         */
+        private boolean dropDetached = false;
+
+        public String getCron() {
+            return cron;
+        }
+
+        public void setCron(String cron) {
+            this.cron = cron;
+        }
+
+        public int getMonthsAhead() {
+            return monthsAhead;
+        }
+
+        public void setMonthsAhead(int monthsAhead) {
+            this.monthsAhead = monthsAhead;
+        }
+
+        public int getPontoRetentionMonths() {
+            return pontoRetentionMonths;
+        }
+
+        public void setPontoRetentionMonths(int pontoRetentionMonths) {
+            this.pontoRetentionMonths = pontoRetentionMonths;
+        }
+
+        public int getAuditRetentionMonths() {
+            return auditRetentionMonths;
+        }
+
+        public void setAuditRetentionMonths(int auditRetentionMonths) {
+            this.auditRetentionMonths = auditRetentionMonths;
+        }
+
+        public boolean isDropDetached() {
+            return dropDetached;
+        }
+
+        public void setDropDetached(boolean dropDetached) {
+            this.dropDetached = dropDetached;
+        }
+    }
+
+    public static class VendasDiarias {
+
+        /**
+         * Delay between two refreshes of the daily sales rollup, in milliseconds.
+         */
+        private long refreshDelayMillis = 60000;
+
+        public long getRefreshDelayMillis() {
+            return refreshDelayMillis;
+        }
+
+        public void setRefreshDelayMillis(long refreshDelayMillis) {
+            this.refreshDelayMillis = refreshDelayMillis;
+        }
+    }
+
+    public static class Pagination {
+
+        /**
+         * Delay between two refreshes of the row counts used by count=estimated, in milliseconds, on the
+         * databases other than PostgreSQL, whose estimates are read from its statistics.
+         */
+        private long countRefreshDelayMillis = 300000;
+
+        public long getCountRefreshDelayMillis() {
+            return countRefreshDelayMillis;
+        }
+
+        public void setCountRefreshDelayMillis(long countRefreshDelayMillis) {
+            this.countRefreshDelayMillis = countRefreshDelayMillis;
+        }
+    }
 }
@@ -1,59 +1,152 @@
 package io.github.jhipster.application.config;
 
+import io.github.jhipster.application.config.async.ExecutorMetrics;
 import io.github.jhipster.async.ExceptionHandlingAsyncTaskExecutor;
-import io.github.jhipster.config.JHipsterProperties;
 
+import com.codahale.metrics.MetricRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.scheduling.annotation.*;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 
+import java.lang.reflect.Method;
+import java.util.Optional;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
+/**
+ * The executors of the @Async and @Scheduled methods, set by application.task-executors:
+ * <ul>
+ * <li>"taskExecutor", for blocking work such as JDBC or HTTP calls, the default of @Async</li>
+ * <li>{@value #CPU_TASK_EXECUTOR}, for computations, with @Async(AsyncConfiguration.CPU_TASK_EXECUTOR)</li>
+ * <li>"scheduledTaskExecutor", for the @Scheduled methods</li>
+ * </ul>
+ * Their queues are bounded, and their metrics are registered under "executor.io", "executor.cpu" and
+ * "executor.scheduler", see {@link ExecutorMetrics}.
+ */
 @Configuration
 @EnableAsync
 @EnableScheduling
 public class AsyncConfiguration implements AsyncConfigurer, SchedulingConfigurer {
 
+    public static final String CPU_TASK_EXECUTOR = "cpuTaskExecutor";
+
     private final Logger log = LoggerFactory.getLogger(AsyncConfiguration.class);
 
-    private final JHipsterProperties jHipsterProperties;
+    private final ApplicationProperties applicationProperties;
+
+    private final MetricRegistry metricRegistry;
 
-    public AsyncConfiguration(JHipsterProperties jHipsterProperties) {
-        this.jHipsterProperties = jHipsterProperties;
+    public AsyncConfiguration(ApplicationProperties applicationProperties, MetricRegistry metricRegistry) {
+        this.applicationProperties = applicationProperties;
+        this.metricRegistry = metricRegistry;
     }
 
     @Override
     @Bean(name = "taskExecutor")
     public Executor getAsyncExecutor() {
         log.debug("Creating Async Task Executor");
+        return new ExceptionHandlingAsyncTaskExecutor(
+            createTaskExecutor("io", applicationProperties.getTaskExecutors().getIo()));
+    }
+
+    @Bean(name = CPU_TASK_EXECUTOR)
+    public Executor cpuTaskExecutor() {
+        log.debug("Creating CPU Task Executor");
+        return new ExceptionHandlingAsyncTaskExecutor(
+            createTaskExecutor("cpu", applicationProperties.getTaskExecutors().getCpu()));
+    }
+
+    private AsyncTaskExecutor createTaskExecutor(String name, ApplicationProperties.TaskExecutors.Pool pool) {
+        ExecutorMetrics metrics = new ExecutorMetrics(metricRegistry, name);
+        if (pool.isVirtualThreads()) {
+            Optional<ExecutorService> virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+            if (virtualThreadExecutor.isPresent()) {
+                log.info("The {} tasks run in virtual threads", name);
+                VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor(virtualThreadExecutor.get());
+                executor.setTaskDecorator(metrics);
+                metrics.registerActiveGauge();
+                return executor;
+            }
+            log.warn("Virtual threads are not supported by this JVM, the {} tasks run in a thread pool", name);
+        }
+        int processors = Runtime.getRuntime().availableProcessors();
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(jHipsterProperties.getAsync().getCorePoolSize());
-        executor.setMaxPoolSize(jHipsterProperties.getAsync().getMaxPoolSize());
-        executor.setQueueCapacity(jHipsterProperties.getAsync().getQueueCapacity());
-        executor.setThreadNamePrefix("candy-shop-Executor-");
-        return new ExceptionHandlingAsyncTaskExecutor(executor);
+        executor.setCorePoolSize(pool.getCorePoolSize() > 0 ? pool.getCorePoolSize() : processors);
+        executor.setMaxPoolSize(pool.getMaxPoolSize() > 0 ? pool.getMaxPoolSize() : processors);
+        executor.setQueueCapacity(pool.getQueueCapacity());
+        executor.setRejectedExecutionHandler(metrics.countRejections(pool.getRejectionPolicy().toHandler()));
+        executor.setTaskDecorator(metrics);
+        executor.setThreadNamePrefix("candy-shop-" + name + "-");
+        metrics.registerThreadPoolGauges(executor::getThreadPoolExecutor);
+        return executor;
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor() of Java 21, called reflectively as the application is
+     * compiled for Java 8.
+     */
+    private Optional<ExecutorService> newVirtualThreadPerTaskExecutor() {
+        Method factory;
+        try {
+            factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of((ExecutorService) factory.invoke(null));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create the virtual thread executor", e);
+        }
+    }
+
+    /**
+     * Shuts the virtual thread executor down with the context: ExceptionHandlingAsyncTaskExecutor destroys its
+     * delegate, as it does for the thread pools.
+     */
+    private static class VirtualThreadTaskExecutor extends ConcurrentTaskExecutor implements DisposableBean {
+
+        private final ExecutorService executorService;
+
+        VirtualThreadTaskExecutor(ExecutorService executorService) {
+            super(executorService);
+            this.executorService = executorService;
+        }
+
+        @Override
+        public void destroy() {
+            executorService.shutdown();
+        }
     }
 
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
     }
-    
+
     @Override
     public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
-        taskRegistrar.setScheduler(scheduledTaskExecutor());
+        taskRegistrar.setTaskScheduler(scheduledTaskExecutor());
     }
 
     @Bean
-    public Executor scheduledTaskExecutor() {
-        return Executors.newScheduledThreadPool(jHipsterProperties.getAsync().getCorePoolSize());
+    public ThreadPoolTaskScheduler scheduledTaskExecutor() {
+        ExecutorMetrics metrics = new ExecutorMetrics(metricRegistry, "scheduler");
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(applicationProperties.getTaskExecutors().getScheduler().getPoolSize());
+        scheduler.setThreadNamePrefix("candy-shop-scheduler-");
+        metrics.registerThreadPoolGauges(scheduler::getScheduledThreadPoolExecutor);
+        return scheduler;
     }
 }
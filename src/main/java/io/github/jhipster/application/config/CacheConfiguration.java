@@ -1,5 +1,6 @@
 package io.github.jhipster.application.config;
 
+import io.github.jhipster.application.config.cache.DomainSerializers;
 import io.github.jhipster.config.JHipsterConstants;
 import io.github.jhipster.config.JHipsterProperties;
 
@@ -26,6 +27,8 @@ import javax.annotation.PreDestroy;
 @EnableCaching
 public class CacheConfiguration {
 
+    private static final String DOMAIN_PACKAGE = "io.github.jhipster.application.domain";
+
     private final Logger log = LoggerFactory.getLogger(CacheConfiguration.class);
 
     private final Environment env;
@@ -61,7 +64,7 @@ public class CacheConfiguration {
     }
 
     @Bean
-    public HazelcastInstance hazelcastInstance(JHipsterProperties jHipsterProperties) {
+    public HazelcastInstance hazelcastInstance(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         log.debug("Configuring Hazelcast");
         HazelcastInstance hazelCastInstance = Hazelcast.getHazelcastInstanceByName("CandyShop");
         if (hazelCastInstance != null) {
@@ -105,7 +108,18 @@ public class CacheConfiguration {
 
         // Full reference is available at: http://docs.hazelcast.org/docs/management-center/3.9/manual/html/Deploying_and_Starting.html
         config.setManagementCenterConfig(initializeDefaultManagementCenterConfig(jHipsterProperties));
-        config.getMapConfigs().put("io.github.jhipster.application.domain.*", initializeDomainMapConfig(jHipsterProperties));
+        MapConfig domainMapConfig = initializeDomainMapConfig(jHipsterProperties, applicationProperties);
+        config.getMapConfigs().put(DOMAIN_PACKAGE + ".*", domainMapConfig);
+        // An exact map name takes precedence over the wildcard above
+        applicationProperties.getCache().getRegions().forEach((region, regionProperties) -> {
+            String name = DOMAIN_PACKAGE + "." + region;
+            log.debug("Configuring Hazelcast map of region {}", name);
+            config.getMapConfigs().put(name, initializeRegionMapConfig(name, domainMapConfig, regionProperties, applicationProperties));
+        });
+        config.getMapConfigs().put("catalogo.*", initializeCatalogoMapConfig(jHipsterProperties, applicationProperties));
+
+        // Compact serializers of the cached entities, instead of Java serialization
+        DomainSerializers.addTo(config.getSerializationConfig());
         return Hazelcast.newHazelcastInstance(config);
     }
 
@@ -147,9 +161,83 @@ public class CacheConfiguration {
         return mapConfig;
     }
 
-    private MapConfig initializeDomainMapConfig(JHipsterProperties jHipsterProperties) {
+    private MapConfig initializeDomainMapConfig(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         MapConfig mapConfig = new MapConfig();
         mapConfig.setTimeToLiveSeconds(jHipsterProperties.getCache().getHazelcast().getTimeToLiveSeconds());
+        if (applicationProperties.getCache().getNearCache().isEnabled()) {
+            mapConfig.setNearCacheConfig(initializeNearCacheConfig(applicationProperties));
+        }
+        return mapConfig;
+    }
+
+    private MapConfig initializeRegionMapConfig(String name, MapConfig domainMapConfig,
+                                                ApplicationProperties.Cache.Region region, ApplicationProperties applicationProperties) {
+        MapConfig mapConfig = new MapConfig(domainMapConfig);
+        mapConfig.setName(name);
+
+        /*
+        The max size is per node, as the regions are sized after the number of entities
+        a node needs, whatever the size of the cluster.
+        */
+        if (region.getMaxSize() > 0) {
+            mapConfig.setEvictionPolicy(region.getEvictionPolicy());
+            mapConfig.setMaxSizeConfig(new MaxSizeConfig(region.getMaxSize(), MaxSizeConfig.MaxSizePolicy.PER_NODE));
+        }
+        if (region.getTimeToLiveSeconds() != null) {
+            mapConfig.setTimeToLiveSeconds(region.getTimeToLiveSeconds());
+        }
+        if (region.getMaxIdleSeconds() != null) {
+            mapConfig.setMaxIdleSeconds(region.getMaxIdleSeconds());
+        }
+        if (region.getBackupCount() != null) {
+            mapConfig.setBackupCount(region.getBackupCount());
+        }
+        if (region.getInMemoryFormat() != null) {
+            mapConfig.setInMemoryFormat(region.getInMemoryFormat());
+        }
+        boolean nearCache = region.getNearCache() != null ? region.getNearCache() : applicationProperties.getCache().getNearCache().isEnabled();
+        if (nearCache) {
+            NearCacheConfig nearCacheConfig = initializeNearCacheConfig(applicationProperties);
+            if (region.getMaxSize() > 0 && region.getMaxSize() < nearCacheConfig.getEvictionConfig().getSize()) {
+                nearCacheConfig.getEvictionConfig().setSize(region.getMaxSize());
+            }
+            mapConfig.setNearCacheConfig(nearCacheConfig);
+        } else {
+            mapConfig.setNearCacheConfig(null);
+        }
+        return mapConfig;
+    }
+
+    private MapConfig initializeCatalogoMapConfig(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        MapConfig mapConfig = new MapConfig();
+        mapConfig.setBackupCount(jHipsterProperties.getCache().getHazelcast().getBackupCount());
+        mapConfig.setTimeToLiveSeconds(applicationProperties.getCache().getCatalogoTimeToLiveSeconds());
+        if (applicationProperties.getCache().getNearCache().isEnabled()) {
+            mapConfig.setNearCacheConfig(initializeNearCacheConfig(applicationProperties));
+        }
         return mapConfig;
     }
+
+    private NearCacheConfig initializeNearCacheConfig(ApplicationProperties applicationProperties) {
+        ApplicationProperties.Cache.NearCache nearCache = applicationProperties.getCache().getNearCache();
+        NearCacheConfig nearCacheConfig = new NearCacheConfig();
+
+        /*
+        The near cache of every node is invalidated when an entry changes anywhere
+        in the cluster, so the nodes never keep serving a stale entity.
+        */
+        nearCacheConfig.setInvalidateOnChange(true);
+
+        /*
+        Also keep the entries owned by this node, as with a single node (or a small
+        cluster) most reads are of local entries.
+        */
+        nearCacheConfig.setCacheLocalEntries(true);
+        nearCacheConfig.setInMemoryFormat(nearCache.getInMemoryFormat());
+        nearCacheConfig.setTimeToLiveSeconds(nearCache.getTimeToLiveSeconds());
+        nearCacheConfig.setMaxIdleSeconds(nearCache.getMaxIdleSeconds());
+        nearCacheConfig.setEvictionConfig(new EvictionConfig(nearCache.getMaxSize(),
+            EvictionConfig.MaxSizePolicy.ENTRY_COUNT, EvictionPolicy.LRU));
+        return nearCacheConfig;
+    }
 }
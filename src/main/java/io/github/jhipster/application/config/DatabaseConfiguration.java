@@ -1,8 +1,11 @@
 package io.github.jhipster.application.config;
 
+import io.github.jhipster.application.config.jdbc.JdbcStatisticsPostProcessor;
+
 import io.github.jhipster.config.JHipsterConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -19,4 +22,12 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 public class DatabaseConfiguration {
 
     private final Logger log = LoggerFactory.getLogger(DatabaseConfiguration.class);
+
+    /**
+     * Wrap the datasource to count the SQL statements of each request and log the slow ones.
+     */
+    @Bean
+    public static JdbcStatisticsPostProcessor jdbcStatisticsPostProcessor(ObjectProvider<ApplicationProperties> applicationProperties) {
+        return new JdbcStatisticsPostProcessor(applicationProperties);
+    }
 }
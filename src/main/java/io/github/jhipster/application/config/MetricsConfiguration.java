@@ -1,13 +1,20 @@
 package io.github.jhipster.application.config;
 
+import io.github.jhipster.application.config.jdbc.JdbcStatisticsFilter;
+import io.github.jhipster.application.domain.Categoria;
+import io.github.jhipster.application.domain.Produto;
+import io.github.jhipster.application.service.CatalogoService;
 import io.github.jhipster.config.JHipsterProperties;
 
+import com.codahale.metrics.Gauge;
 import com.codahale.metrics.JmxReporter;
 import com.codahale.metrics.JvmAttributeGaugeSet;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Slf4jReporter;
 import com.codahale.metrics.health.HealthCheckRegistry;
 import com.codahale.metrics.jvm.*;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.monitor.NearCacheStats;
 import com.ryantenney.metrics.spring.config.annotation.EnableMetrics;
 import com.ryantenney.metrics.spring.config.annotation.MetricsConfigurerAdapter;
 import com.zaxxer.hikari.HikariDataSource;
@@ -23,8 +30,16 @@ import org.springframework.boot.web.servlet.ServletContextInitializer;
 import org.springframework.context.annotation.*;
 
 import javax.annotation.PostConstruct;
+import javax.servlet.DispatcherType;
+import javax.servlet.FilterRegistration;
 import javax.servlet.ServletContext;
+import javax.sql.DataSource;
 import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
 @Configuration
@@ -37,6 +52,12 @@ public class MetricsConfiguration extends MetricsConfigurerAdapter implements Se
     private static final String PROP_METRIC_REG_JVM_FILES = "jvm.files";
     private static final String PROP_METRIC_REG_JVM_BUFFERS = "jvm.buffers";
     private static final String PROP_METRIC_REG_JVM_ATTRIBUTE_SET = "jvm.attributes";
+    private static final String PROP_METRIC_REG_HAZELCAST_NEAR_CACHE = "hazelcast.near-cache";
+
+    private static final List<String> NEAR_CACHED_MAPS = Arrays.asList(
+        Produto.class.getName(),
+        Categoria.class.getName(),
+        CatalogoService.PRODUTOS_POR_CATEGORIA_CACHE);
 
     private final Logger log = LoggerFactory.getLogger(MetricsConfiguration.class);
 
@@ -46,15 +67,28 @@ public class MetricsConfiguration extends MetricsConfigurerAdapter implements Se
 
     private final JHipsterProperties jHipsterProperties;
 
+    private final ApplicationProperties applicationProperties;
+
     private HikariDataSource hikariDataSource;
 
-    public MetricsConfiguration(JHipsterProperties jHipsterProperties) {
+    private HazelcastInstance hazelcastInstance;
+
+    public MetricsConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         this.jHipsterProperties = jHipsterProperties;
+        this.applicationProperties = applicationProperties;
+    }
+
+    @Autowired(required = false)
+    public void setDataSource(DataSource dataSource) throws SQLException {
+        // The datasource bean is wrapped by JdbcStatisticsDataSource
+        if (dataSource.isWrapperFor(HikariDataSource.class)) {
+            this.hikariDataSource = dataSource.unwrap(HikariDataSource.class);
+        }
     }
 
     @Autowired(required = false)
-    public void setHikariDataSource(HikariDataSource hikariDataSource) {
-        this.hikariDataSource = hikariDataSource;
+    public void setHazelcastInstance(HazelcastInstance hazelcastInstance) {
+        this.hazelcastInstance = hazelcastInstance;
     }
 
     @Override
@@ -84,6 +118,10 @@ public class MetricsConfiguration extends MetricsConfigurerAdapter implements Se
             hikariDataSource.setMetricsTrackerFactory(null);
             hikariDataSource.setMetricRegistry(metricRegistry);
         }
+        if (hazelcastInstance != null) {
+            log.debug("Monitoring the Hazelcast near caches");
+            NEAR_CACHED_MAPS.forEach(this::registerNearCacheGauges);
+        }
         if (jHipsterProperties.getMetrics().getJmx().isEnabled()) {
             log.debug("Initializing Metrics JMX reporting");
             JmxReporter jmxReporter = JmxReporter.forRegistry(metricRegistry).build();
@@ -102,9 +140,31 @@ public class MetricsConfiguration extends MetricsConfigurerAdapter implements Se
         }
     }
 
+    private void registerNearCacheGauges(String mapName) {
+        String prefix = PROP_METRIC_REG_HAZELCAST_NEAR_CACHE + "." + mapName;
+        metricRegistry.register(prefix + ".hits", (Gauge<Long>) () ->
+            getNearCacheStats(mapName).map(NearCacheStats::getHits).orElse(0L));
+        metricRegistry.register(prefix + ".misses", (Gauge<Long>) () ->
+            getNearCacheStats(mapName).map(NearCacheStats::getMisses).orElse(0L));
+        metricRegistry.register(prefix + ".ratio", (Gauge<Double>) () ->
+            getNearCacheStats(mapName).map(NearCacheStats::getRatio).orElse(0D));
+        metricRegistry.register(prefix + ".entries", (Gauge<Long>) () ->
+            getNearCacheStats(mapName).map(NearCacheStats::getOwnedEntryCount).orElse(0L));
+    }
+
+    private Optional<NearCacheStats> getNearCacheStats(String mapName) {
+        // Null when the near cache is disabled
+        return Optional.ofNullable(hazelcastInstance.getMap(mapName).getLocalMapStats().getNearCacheStats());
+    }
+
     @Override
     public void onStartup(ServletContext servletContext) {
 
+        log.debug("Registering the JDBC statistics filter");
+        FilterRegistration.Dynamic jdbcStatisticsFilter = servletContext.addFilter("jdbcStatisticsFilter",
+            new JdbcStatisticsFilter(metricRegistry, applicationProperties.getJdbc().isStatisticsHeaders()));
+        jdbcStatisticsFilter.addMappingForUrlPatterns(EnumSet.of(DispatcherType.REQUEST), true, "/api/*");
+
         if (jHipsterProperties.getMetrics().getPrometheus().isEnabled()) {
             String endpoint = jHipsterProperties.getMetrics().getPrometheus().getEndpoint();
 
@@ -0,0 +1,55 @@
+package io.github.jhipster.application.config;
+
+import io.github.jhipster.application.aop.timing.TimingInterceptor;
+
+import com.codahale.metrics.MetricRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+/**
+ * Sampled timing of the repositories, services and REST endpoints, enabled by application.timing.enabled.
+ * <p>
+ * When it is disabled no advisor is registered, so the beans are not proxied for it and their calls cost
+ * nothing more.
+ */
+@Configuration
+@EnableAspectJAutoProxy
+@ConditionalOnProperty(prefix = "application.timing", name = "enabled")
+public class TimingConfiguration {
+
+    /**
+     * The beans of {@link io.github.jhipster.application.aop.logging.LoggingAspect}.
+     */
+    private static final String TIMED_BEANS =
+        "(within(@org.springframework.stereotype.Repository *)" +
+        " || within(@org.springframework.stereotype.Service *)" +
+        " || within(@org.springframework.web.bind.annotation.RestController *))" +
+        " && (within(io.github.jhipster.application.repository..*)" +
+        " || within(io.github.jhipster.application.service..*)" +
+        " || within(io.github.jhipster.application.web.rest..*))";
+
+    /**
+     * The advisor is static and looks the metric registry up lazily, as it is created with the bean post
+     * processors, before the metrics configuration.
+     */
+    @Bean
+    public static Advisor timingAdvisor(ApplicationProperties applicationProperties,
+                                        ObjectProvider<MetricRegistry> metricRegistry) {
+        ApplicationProperties.Timing timing = applicationProperties.getTiming();
+        return new DefaultPointcutAdvisor(timedBeansPointcut(),
+            new TimingInterceptor(metricRegistry::getObject, timing.getSampleRate(), timing.getPackages()));
+    }
+
+    public static Pointcut timedBeansPointcut() {
+        AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+        pointcut.setExpression(TIMED_BEANS);
+        return pointcut;
+    }
+}
@@ -0,0 +1,94 @@
+package io.github.jhipster.application.config.async;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Metrics of an executor, named after it, e.g. "executor.io.queue-size":
+ * <ul>
+ * <li>wait: timer of the time the tasks spent queued, from their submission to their start</li>
+ * <li>duration: timer of the run time of the tasks</li>
+ * <li>active: gauge of the tasks running</li>
+ * <li>rejected: meter of the tasks rejected because the queue was full, see {@link #countRejections}</li>
+ * <li>queue-size and pool-size: gauges of the thread pool, when there is one</li>
+ * </ul>
+ * The timers are fed by the {@link TaskDecorator} of the executor, and so is the active gauge of the executors
+ * without a thread pool.
+ */
+public class ExecutorMetrics implements TaskDecorator {
+
+    public static final String METRIC_PREFIX = "executor";
+
+    private final MetricRegistry metricRegistry;
+
+    private final String name;
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    public ExecutorMetrics(MetricRegistry metricRegistry, String name) {
+        this.metricRegistry = metricRegistry;
+        this.name = name;
+    }
+
+    @Override
+    public Runnable decorate(Runnable task) {
+        // Looked up here rather than in the constructor, so the executors without a decorator have no timers
+        Timer wait = metricRegistry.timer(metricName("wait"));
+        Timer duration = metricRegistry.timer(metricName("duration"));
+        long submitted = System.nanoTime();
+        return () -> {
+            long start = System.nanoTime();
+            wait.update(start - submitted, TimeUnit.NANOSECONDS);
+            active.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                active.decrementAndGet();
+                duration.update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    /**
+     * Count the rejections of a policy.
+     */
+    public RejectedExecutionHandler countRejections(RejectedExecutionHandler policy) {
+        Meter rejected = metricRegistry.meter(metricName("rejected"));
+        return (task, executor) -> {
+            rejected.mark();
+            policy.rejectedExecution(task, executor);
+        };
+    }
+
+    /**
+     * Register the gauge of the running tasks, as counted by {@link #decorate(Runnable)}, for the executors
+     * without a thread pool.
+     */
+    public void registerActiveGauge() {
+        metricRegistry.register(metricName("active"), (Gauge<Integer>) active::get);
+    }
+
+    /**
+     * Register the gauges of a thread pool.
+     *
+     * @param threadPool the thread pool, looked up on each read as it is created when the executor is initialized
+     */
+    public void registerThreadPoolGauges(Supplier<ThreadPoolExecutor> threadPool) {
+        metricRegistry.register(metricName("active"), (Gauge<Integer>) () -> threadPool.get().getActiveCount());
+        metricRegistry.register(metricName("queue-size"), (Gauge<Integer>) () -> threadPool.get().getQueue().size());
+        metricRegistry.register(metricName("pool-size"), (Gauge<Integer>) () -> threadPool.get().getPoolSize());
+    }
+
+    private String metricName(String metric) {
+        return MetricRegistry.name(METRIC_PREFIX, name, metric);
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.jhipster.application.config.async;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * What an executor does with a task once its queue is full and all its threads are busy.
+ */
+public enum RejectionPolicy {
+
+    /**
+     * Throw a {@link java.util.concurrent.RejectedExecutionException} to the caller.
+     */
+    ABORT,
+
+    /**
+     * Run the task in the calling thread, which slows the producers down.
+     */
+    CALLER_RUNS,
+
+    /**
+     * Drop the task.
+     */
+    DISCARD,
+
+    /**
+     * Drop the oldest queued task, and queue this one.
+     */
+    DISCARD_OLDEST;
+
+    public RejectedExecutionHandler toHandler() {
+        switch (this) {
+            case CALLER_RUNS:
+                return new ThreadPoolExecutor.CallerRunsPolicy();
+            case DISCARD:
+                return new ThreadPoolExecutor.DiscardPolicy();
+            case DISCARD_OLDEST:
+                return new ThreadPoolExecutor.DiscardOldestPolicy();
+            default:
+                return new ThreadPoolExecutor.AbortPolicy();
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Executors of the asynchronous and scheduled tasks, and their metrics.
+ */
+package io.github.jhipster.application.config.async;
@@ -0,0 +1,214 @@
+package io.github.jhipster.application.config.audit;
+
+import io.github.jhipster.application.config.ApplicationProperties;
+import io.github.jhipster.application.domain.PersistentAuditEvent;
+import io.github.jhipster.application.repository.PersistenceAuditEventRepository;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.audit.AuditEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the audit events in the background, so they add no inserts to the requests that raise them.
+ * <p>
+ * The events are queued in a bounded queue, and a single thread writes them in batches, one transaction per
+ * batch, once application.audit.batch-size events are queued or application.audit.flush-interval-millis after
+ * the first of them. When the queue is full, a new event waits at most application.audit.offer-timeout-millis
+ * for room, then it is dropped and counted in the "audit.events.dropped" meter. The queue is drained on
+ * shutdown.
+ */
+@Component
+public class AsyncAuditEventWriter {
+
+    /**
+     * Should be the same as in Liquibase migration.
+     */
+    private static final int EVENT_DATA_COLUMN_MAX_LENGTH = 255;
+
+    private static final String METRIC_PREFIX = "audit.events";
+
+    private final Logger log = LoggerFactory.getLogger(AsyncAuditEventWriter.class);
+
+    private final PersistenceAuditEventRepository persistenceAuditEventRepository;
+
+    private final AuditEventConverter auditEventConverter;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<AuditEvent> queue;
+
+    private final int batchSize;
+
+    private final long flushIntervalMillis;
+
+    private final long offerTimeoutMillis;
+
+    private final Meter written;
+
+    private final Meter dropped;
+
+    private final Meter failed;
+
+    private volatile boolean running;
+
+    private Thread flusher;
+
+    public AsyncAuditEventWriter(PersistenceAuditEventRepository persistenceAuditEventRepository,
+                                 AuditEventConverter auditEventConverter, PlatformTransactionManager transactionManager,
+                                 ApplicationProperties applicationProperties, MetricRegistry metricRegistry) {
+        this.persistenceAuditEventRepository = persistenceAuditEventRepository;
+        this.auditEventConverter = auditEventConverter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        ApplicationProperties.Audit audit = applicationProperties.getAudit();
+        this.queue = new ArrayBlockingQueue<>(audit.getQueueCapacity());
+        this.batchSize = audit.getBatchSize();
+        this.flushIntervalMillis = audit.getFlushIntervalMillis();
+        this.offerTimeoutMillis = audit.getOfferTimeoutMillis();
+        this.written = metricRegistry.meter(MetricRegistry.name(METRIC_PREFIX, "written"));
+        this.dropped = metricRegistry.meter(MetricRegistry.name(METRIC_PREFIX, "dropped"));
+        this.failed = metricRegistry.meter(MetricRegistry.name(METRIC_PREFIX, "failed"));
+        metricRegistry.register(MetricRegistry.name(METRIC_PREFIX, "queued"), (Gauge<Integer>) queue::size);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        flusher = new Thread(this::run, "candy-shop-audit-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Stop the background thread, then write the events still queued.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        int remaining = flush();
+        log.debug("Audit event writer stopped, {} queued events written", remaining);
+    }
+
+    /**
+     * Queue an event to be written.
+     *
+     * @param event the event
+     * @return false if the queue was full and the event was dropped
+     */
+    public boolean enqueue(AuditEvent event) {
+        boolean queued;
+        try {
+            queued = offerTimeoutMillis > 0
+                ? queue.offer(event, offerTimeoutMillis, TimeUnit.MILLISECONDS)
+                : queue.offer(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            dropped.mark();
+            log.warn("Audit event queue full, dropped the {} event of {}", event.getType(), event.getPrincipal());
+        }
+        return queued;
+    }
+
+    /**
+     * Write the queued events on the calling thread.
+     *
+     * @return the number of events taken from the queue
+     */
+    public int flush() {
+        int count = 0;
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            count += batch.size();
+            write(batch);
+            batch.clear();
+        }
+        return count;
+    }
+
+    private void run() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                takeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Wait for an event, then for the batch to fill up until the flush interval has elapsed since that event.
+     * Returns with no event after a flush interval, so {@link #stop()} is noticed.
+     */
+    private void takeBatch(List<AuditEvent> batch) throws InterruptedException {
+        AuditEvent first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        while (batch.size() < batchSize && running) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            AuditEvent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void write(List<AuditEvent> batch) {
+        List<PersistentAuditEvent> persistentAuditEvents = new ArrayList<>(batch.size());
+        for (AuditEvent event : batch) {
+            persistentAuditEvents.add(toPersistentAuditEvent(event));
+        }
+        try {
+            transactionTemplate.execute(status -> persistenceAuditEventRepository.saveAll(persistentAuditEvents));
+            written.mark(batch.size());
+        } catch (RuntimeException e) {
+            failed.mark(batch.size());
+            log.error("Could not write {} audit events", batch.size(), e);
+        }
+    }
+
+    private PersistentAuditEvent toPersistentAuditEvent(AuditEvent event) {
+        PersistentAuditEvent persistentAuditEvent = new PersistentAuditEvent();
+        persistentAuditEvent.setPrincipal(event.getPrincipal());
+        persistentAuditEvent.setAuditEventType(event.getType());
+        persistentAuditEvent.setAuditEventDate(event.getTimestamp());
+        Map<String, String> eventData = auditEventConverter.convertDataToStrings(event.getData());
+        eventData.replaceAll((key, value) -> value != null && value.length() > EVENT_DATA_COLUMN_MAX_LENGTH
+            ? value.substring(0, EVENT_DATA_COLUMN_MAX_LENGTH) : value);
+        persistentAuditEvent.setData(eventData);
+        return persistentAuditEvent;
+    }
+}
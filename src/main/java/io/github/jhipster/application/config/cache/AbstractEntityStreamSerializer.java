@@ -0,0 +1,100 @@
+package io.github.jhipster.application.config.cache;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Base class of the Hazelcast serializers of the domain entities.
+ * <p>
+ * The fields are written one after the other, without any class descriptor. The associations are written
+ * as the ids of the associated entities, which are read back as entities holding only their id, except
+ * the items of a pedido, which are written whole.
+ * The inverse side of the associations is not written.
+ */
+abstract class AbstractEntityStreamSerializer<T> implements StreamSerializer<T> {
+
+    private static final int NOT_LOADED = -1;
+
+    private final int typeId;
+
+    AbstractEntityStreamSerializer(int typeId) {
+        this.typeId = typeId;
+    }
+
+    @Override
+    public int getTypeId() {
+        return typeId;
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    static void writeLong(ObjectDataOutput out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    static Long readLong(ObjectDataInput in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    static void writeInteger(ObjectDataOutput out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    static Integer readInteger(ObjectDataInput in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    static void writeLocalDate(ObjectDataOutput out, LocalDate value) throws IOException {
+        writeLong(out, value == null ? null : value.toEpochDay());
+    }
+
+    static LocalDate readLocalDate(ObjectDataInput in) throws IOException {
+        Long epochDay = readLong(in);
+        return epochDay == null ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * Write a collection of entities with all their fields, or a marker if the collection is a lazy collection
+     * that was never loaded, rather than loading it for the serialization.
+     */
+    static <E> void writeAll(ObjectDataOutput out, Collection<E> entities, StreamSerializer<E> serializer, boolean loaded) throws IOException {
+        if (!loaded) {
+            out.writeInt(NOT_LOADED);
+            return;
+        }
+        out.writeInt(entities.size());
+        for (E entity : entities) {
+            serializer.write(out, entity);
+        }
+    }
+
+    /**
+     * Read a collection written by {@link #writeAll}.
+     *
+     * @return false if the collection was not loaded when it was written: nothing is added to the entities then,
+     * and the caller must not present them as the whole collection
+     */
+    static <E> boolean readAll(ObjectDataInput in, Collection<E> entities, StreamSerializer<E> serializer) throws IOException {
+        int size = in.readInt();
+        if (size == NOT_LOADED) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            entities.add(serializer.read(in));
+        }
+        return true;
+    }
+}
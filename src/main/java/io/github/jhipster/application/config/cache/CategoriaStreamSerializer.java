@@ -0,0 +1,39 @@
+package io.github.jhipster.application.config.cache;
+
+import io.github.jhipster.application.domain.Categoria;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+
+/**
+ * Hazelcast serializer of Categoria.
+ */
+public class CategoriaStreamSerializer extends AbstractEntityStreamSerializer<Categoria> {
+
+    public static final int TYPE_ID = 1001;
+
+    public CategoriaStreamSerializer() {
+        super(TYPE_ID);
+    }
+
+    @Override
+    public void write(ObjectDataOutput out, Categoria categoria) throws IOException {
+        writeLong(out, categoria.getId());
+        out.writeUTF(categoria.getNome());
+    }
+
+    @Override
+    public Categoria read(ObjectDataInput in) throws IOException {
+        Categoria categoria = reference(readLong(in));
+        categoria.setNome(in.readUTF());
+        return categoria;
+    }
+
+    static Categoria reference(Long id) {
+        Categoria categoria = new Categoria();
+        categoria.setId(id);
+        return categoria;
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.jhipster.application.config.cache;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.StreamSerializer;
+import org.hibernate.cache.spi.entry.CollectionCacheEntry;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+
+/**
+ * Hazelcast serializer of the entries of the Hibernate second level cache collection regions,
+ * whose disassembled state is the array of the ids of the elements.
+ * <p>
+ * As for {@link StandardCacheEntryStreamSerializer}, the constructor taking the disassembled state is
+ * only visible to Hibernate, so it is called reflectively.
+ */
+public class CollectionCacheEntryStreamSerializer implements StreamSerializer<CollectionCacheEntry> {
+
+    public static final int TYPE_ID = 1021;
+
+    private final Constructor<CollectionCacheEntry> constructor;
+
+    /**
+     * @throws ReflectiveOperationException if the Hibernate version in use has no such constructor
+     */
+    public CollectionCacheEntryStreamSerializer() throws ReflectiveOperationException {
+        constructor = CollectionCacheEntry.class.getDeclaredConstructor(Serializable.class);
+        constructor.setAccessible(true);
+    }
+
+    @Override
+    public void write(ObjectDataOutput out, CollectionCacheEntry entry) throws IOException {
+        Serializable[] state = entry.getState();
+        out.writeInt(state.length);
+        for (Serializable value : state) {
+            out.writeObject(value);
+        }
+    }
+
+    @Override
+    public CollectionCacheEntry read(ObjectDataInput in) throws IOException {
+        Serializable[] state = new Serializable[in.readInt()];
+        for (int i = 0; i < state.length; i++) {
+            state[i] = in.readObject();
+        }
+        try {
+            return constructor.newInstance((Serializable) state);
+        } catch (ReflectiveOperationException e) {
+            throw new HazelcastSerializationException(e);
+        }
+    }
+
+    @Override
+    public int getTypeId() {
+        return TYPE_ID;
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
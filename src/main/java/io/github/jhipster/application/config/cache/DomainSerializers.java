@@ -0,0 +1,50 @@
+package io.github.jhipster.application.config.cache;
+
+import io.github.jhipster.application.domain.Categoria;
+import io.github.jhipster.application.domain.Pedido;
+import io.github.jhipster.application.domain.PedidoItem;
+import io.github.jhipster.application.domain.Ponto;
+import io.github.jhipster.application.domain.Produto;
+import io.github.jhipster.application.domain.Usuario;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.config.SerializerConfig;
+import com.hazelcast.nio.serialization.Serializer;
+import org.hibernate.cache.spi.entry.CollectionCacheEntry;
+import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+
+/**
+ * Registers the Hazelcast serializers of the domain entities and of the Hibernate cache entries.
+ */
+public final class DomainSerializers {
+
+    private static final Logger log = LoggerFactory.getLogger(DomainSerializers.class);
+
+    private DomainSerializers() {
+    }
+
+    public static void addTo(SerializationConfig serializationConfig) {
+        add(serializationConfig, Categoria.class, new CategoriaStreamSerializer());
+        add(serializationConfig, Produto.class, new ProdutoStreamSerializer());
+        add(serializationConfig, Pedido.class, new PedidoStreamSerializer());
+        add(serializationConfig, PedidoItem.class, new PedidoItemStreamSerializer());
+        add(serializationConfig, Usuario.class, new UsuarioStreamSerializer());
+        add(serializationConfig, Ponto.class, new PontoStreamSerializer());
+        add(serializationConfig, LocalDate.class, new LocalDateStreamSerializer());
+        try {
+            add(serializationConfig, StandardCacheEntryImpl.class, new StandardCacheEntryStreamSerializer());
+            add(serializationConfig, CollectionCacheEntry.class, new CollectionCacheEntryStreamSerializer());
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // The cache entries are then written with Java serialization, as without these serializers
+            log.warn("Could not register the serializers of the Hibernate cache entries: {}", e.toString());
+        }
+    }
+
+    private static void add(SerializationConfig serializationConfig, Class<?> type, Serializer serializer) {
+        serializationConfig.addSerializerConfig(new SerializerConfig().setTypeClass(type).setImplementation(serializer));
+    }
+}
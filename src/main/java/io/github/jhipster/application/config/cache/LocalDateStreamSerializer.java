@@ -0,0 +1,38 @@
+package io.github.jhipster.application.config.cache;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Hazelcast serializer of LocalDate, written as its epoch day.
+ * <p>
+ * Hazelcast has no built-in serializer for the java.time types, so without it the dates held in the
+ * cache entries fall back to Java serialization.
+ */
+public class LocalDateStreamSerializer implements StreamSerializer<LocalDate> {
+
+    public static final int TYPE_ID = 1010;
+
+    @Override
+    public void write(ObjectDataOutput out, LocalDate date) throws IOException {
+        out.writeLong(date.toEpochDay());
+    }
+
+    @Override
+    public LocalDate read(ObjectDataInput in) throws IOException {
+        return LocalDate.ofEpochDay(in.readLong());
+    }
+
+    @Override
+    public int getTypeId() {
+        return TYPE_ID;
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.jhipster.application.config.cache;
+
+import io.github.jhipster.application.domain.Pedido;
+import io.github.jhipster.application.domain.PedidoItem;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+
+/**
+ * Hazelcast serializer of PedidoItem, its pedido and produto are written as ids.
+ */
+public class PedidoItemStreamSerializer extends AbstractEntityStreamSerializer<PedidoItem> {
+
+    public static final int TYPE_ID = 1006;
+
+    public PedidoItemStreamSerializer() {
+        super(TYPE_ID);
+    }
+
+    @Override
+    public void write(ObjectDataOutput out, PedidoItem item) throws IOException {
+        writeLong(out, item.getId());
+        writeInteger(out, item.getQuantidade());
+        writeLong(out, item.getPrecoUnitarioCentavos());
+        writeLong(out, item.getProduto() == null ? null : item.getProduto().getId());
+        writeLong(out, item.getPedido() == null ? null : item.getPedido().getId());
+    }
+
+    @Override
+    public PedidoItem read(ObjectDataInput in) throws IOException {
+        PedidoItem item = new PedidoItem();
+        item.setId(readLong(in));
+        item.setQuantidade(readInteger(in));
+        item.setPrecoUnitarioCentavos(readLong(in));
+        Long produtoId = readLong(in);
+        if (produtoId != null) {
+            item.setProduto(ProdutoStreamSerializer.reference(produtoId));
+        }
+        Long pedidoId = readLong(in);
+        if (pedidoId != null) {
+            Pedido pedido = new Pedido();
+            pedido.setId(pedidoId);
+            item.setPedido(pedido);
+        }
+        return item;
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.jhipster.application.config.cache;
+
+import io.github.jhipster.application.domain.Pedido;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import org.hibernate.Hibernate;
+
+import java.io.IOException;
+
+/**
+ * Hazelcast serializer of Pedido, its usuario is written as an id and its items are written whole.
+ * Items that were not loaded are read back as null items.
+ */
+public class PedidoStreamSerializer extends AbstractEntityStreamSerializer<Pedido> {
+
+    public static final int TYPE_ID = 1003;
+
+    private final PedidoItemStreamSerializer itemSerializer = new PedidoItemStreamSerializer();
+
+    public PedidoStreamSerializer() {
+        super(TYPE_ID);
+    }
+
+    @Override
+    public void write(ObjectDataOutput out, Pedido pedido) throws IOException {
+        writeLong(out, pedido.getId());
+        writeLocalDate(out, pedido.getData());
+        writeLong(out, pedido.getUsuario() == null ? null : pedido.getUsuario().getId());
+        writeLong(out, pedido.getTotalCentavos());
+        writeAll(out, pedido.getItens(), itemSerializer, Hibernate.isInitialized(pedido.getItens()));
+    }
+
+    @Override
+    public Pedido read(ObjectDataInput in) throws IOException {
+        Pedido pedido = new Pedido();
+        pedido.setId(readLong(in));
+        pedido.setData(readLocalDate(in));
+        pedido.setUsuario(UsuarioStreamSerializer.reference(readLong(in)));
+        pedido.setTotalCentavos(readLong(in));
+        if (readAll(in, pedido.getItens(), itemSerializer)) {
+            pedido.getItens().forEach(item -> item.setPedido(pedido));
+        } else {
+            // The items were not loaded: unknown, rather than none
+            pedido.setItens(null);
+        }
+        return pedido;
+    }
+}
@@ -0,0 +1,38 @@
+package io.github.jhipster.application.config.cache;
+
+import io.github.jhipster.application.domain.Ponto;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+
+/**
+ * Hazelcast serializer of Ponto, its usuario is written as an id.
+ */
+public class PontoStreamSerializer extends AbstractEntityStreamSerializer<Ponto> {
+
+    public static final int TYPE_ID = 1005;
+
+    public PontoStreamSerializer() {
+        super(TYPE_ID);
+    }
+
+    @Override
+    public void write(ObjectDataOutput out, Ponto ponto) throws IOException {
+        writeLong(out, ponto.getId());
+        writeInteger(out, ponto.getQuantidade());
+        writeLocalDate(out, ponto.getData());
+        writeLong(out, ponto.getUsuario() == null ? null : ponto.getUsuario().getId());
+    }
+
+    @Override
+    public Ponto read(ObjectDataInput in) throws IOException {
+        Ponto ponto = new Ponto();
+        ponto.setId(readLong(in));
+        ponto.setQuantidade(readInteger(in));
+        ponto.setData(readLocalDate(in));
+        ponto.setUsuario(UsuarioStreamSerializer.reference(readLong(in)));
+        return ponto;
+    }
+}
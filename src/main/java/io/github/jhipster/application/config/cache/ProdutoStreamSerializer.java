@@ -0,0 +1,48 @@
+package io.github.jhipster.application.config.cache;
+
+import io.github.jhipster.application.domain.Produto;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+
+/**
+ * Hazelcast serializer of Produto, its categoria is written as an id.
+ */
+public class ProdutoStreamSerializer extends AbstractEntityStreamSerializer<Produto> {
+
+    public static final int TYPE_ID = 1002;
+
+    public ProdutoStreamSerializer() {
+        super(TYPE_ID);
+    }
+
+    @Override
+    public void write(ObjectDataOutput out, Produto produto) throws IOException {
+        writeLong(out, produto.getId());
+        out.writeUTF(produto.getNome());
+        out.writeObject(produto.getPreco());
+        writeInteger(out, produto.getEstoque());
+        writeLong(out, produto.getCategoria() == null ? null : produto.getCategoria().getId());
+    }
+
+    @Override
+    public Produto read(ObjectDataInput in) throws IOException {
+        Produto produto = reference(readLong(in));
+        produto.setNome(in.readUTF());
+        produto.setPreco(in.readObject());
+        produto.setEstoque(readInteger(in));
+        Long categoriaId = readLong(in);
+        if (categoriaId != null) {
+            produto.setCategoria(CategoriaStreamSerializer.reference(categoriaId));
+        }
+        return produto;
+    }
+
+    static Produto reference(Long id) {
+        Produto produto = new Produto();
+        produto.setId(id);
+        return produto;
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.jhipster.application.config.cache;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.StreamSerializer;
+import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+
+/**
+ * Hazelcast serializer of the entries of the Hibernate second level cache entity regions.
+ * <p>
+ * The values of the entity regions are not the entities but their disassembled state: an array holding
+ * the value of each column (ids, strings, numbers and dates). The array is written element by element
+ * with the Hazelcast serializers, instead of as a Java serialization stream carrying the class descriptor
+ * of every element.
+ * <p>
+ * Hibernate only exposes the constructor taking the disassembled state to its own package, so it is
+ * called reflectively.
+ */
+public class StandardCacheEntryStreamSerializer implements StreamSerializer<StandardCacheEntryImpl> {
+
+    public static final int TYPE_ID = 1020;
+
+    private final Constructor<StandardCacheEntryImpl> constructor;
+
+    /**
+     * @throws ReflectiveOperationException if the Hibernate version in use has no such constructor
+     */
+    public StandardCacheEntryStreamSerializer() throws ReflectiveOperationException {
+        constructor = StandardCacheEntryImpl.class.getDeclaredConstructor(Serializable[].class, String.class, Object.class);
+        constructor.setAccessible(true);
+    }
+
+    @Override
+    public void write(ObjectDataOutput out, StandardCacheEntryImpl entry) throws IOException {
+        out.writeUTF(entry.getSubclass());
+        out.writeObject(entry.getVersion());
+        Serializable[] state = entry.getDisassembledState();
+        out.writeInt(state.length);
+        for (Serializable value : state) {
+            out.writeObject(value);
+        }
+    }
+
+    @Override
+    public StandardCacheEntryImpl read(ObjectDataInput in) throws IOException {
+        String subclass = in.readUTF();
+        Object version = in.readObject();
+        Serializable[] state = new Serializable[in.readInt()];
+        for (int i = 0; i < state.length; i++) {
+            state[i] = in.readObject();
+        }
+        return newEntry(state, subclass, version);
+    }
+
+    /**
+     * Create a cache entry from a disassembled state.
+     */
+    public StandardCacheEntryImpl newEntry(Serializable[] state, String subclass, Object version) {
+        try {
+            return constructor.newInstance(state, subclass, version);
+        } catch (ReflectiveOperationException e) {
+            throw new HazelcastSerializationException(e);
+        }
+    }
+
+    @Override
+    public int getTypeId() {
+        return TYPE_ID;
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
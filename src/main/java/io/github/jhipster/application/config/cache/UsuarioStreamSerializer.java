@@ -0,0 +1,47 @@
+package io.github.jhipster.application.config.cache;
+
+import io.github.jhipster.application.domain.Usuario;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+
+/**
+ * Hazelcast serializer of Usuario.
+ */
+public class UsuarioStreamSerializer extends AbstractEntityStreamSerializer<Usuario> {
+
+    public static final int TYPE_ID = 1004;
+
+    public UsuarioStreamSerializer() {
+        super(TYPE_ID);
+    }
+
+    @Override
+    public void write(ObjectDataOutput out, Usuario usuario) throws IOException {
+        writeLong(out, usuario.getId());
+        out.writeUTF(usuario.getNome());
+        out.writeUTF(usuario.getEmail());
+        out.writeUTF(usuario.getToken());
+    }
+
+    @Override
+    public Usuario read(ObjectDataInput in) throws IOException {
+        Usuario usuario = new Usuario();
+        usuario.setId(readLong(in));
+        usuario.setNome(in.readUTF());
+        usuario.setEmail(in.readUTF());
+        usuario.setToken(in.readUTF());
+        return usuario;
+    }
+
+    static Usuario reference(Long id) {
+        if (id == null) {
+            return null;
+        }
+        Usuario usuario = new Usuario();
+        usuario.setId(id);
+        return usuario;
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Hazelcast cache specific code.
+ */
+package io.github.jhipster.application.config.cache;
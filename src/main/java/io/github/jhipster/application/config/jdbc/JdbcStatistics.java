@@ -0,0 +1,55 @@
+package io.github.jhipster.application.config.jdbc;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The SQL statements executed by the current thread while it serves a request: how many, and the time spent
+ * in the JDBC driver to execute them.
+ * <p>
+ * Statements executed outside of a request, or by another thread, are not counted.
+ */
+public final class JdbcStatistics {
+
+    private static final ThreadLocal<JdbcStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+
+    private long nanos;
+
+    private JdbcStatistics() {
+    }
+
+    /**
+     * Start counting the statements of the current thread.
+     *
+     * @return the statistics, updated until {@link #stop()} is called
+     */
+    public static JdbcStatistics start() {
+        JdbcStatistics statistics = new JdbcStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Stop counting the statements of the current thread.
+     */
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    static void record(long nanos) {
+        JdbcStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statements++;
+            statistics.nanos += nanos;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getTime(TimeUnit unit) {
+        return unit.convert(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.jhipster.application.config.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps a datasource to time each SQL statement executed through it, whether it comes from Hibernate or from
+ * a JdbcTemplate. The statements are counted in the {@link JdbcStatistics} of the current request, and the
+ * slow ones are logged with their SQL.
+ * <p>
+ * The connections and statements are JDK proxies that only add a System.nanoTime() call around the
+ * execute methods; the pool itself is unchanged and can still be reached with {@link DataSource#unwrap}.
+ */
+public final class JdbcStatisticsDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcStatisticsDataSource.class);
+
+    private JdbcStatisticsDataSource() {
+    }
+
+    /**
+     * Wrap a datasource.
+     *
+     * @param dataSource the datasource to wrap
+     * @param slowQueryThresholdMillis the duration from which a statement is logged, 0 to log none
+     * @return the wrapped datasource, implementing all the interfaces of the original one
+     */
+    public static DataSource wrap(DataSource dataSource, long slowQueryThresholdMillis) {
+        long slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryThresholdMillis);
+        return (DataSource) Proxy.newProxyInstance(JdbcStatisticsDataSource.class.getClassLoader(),
+            ClassUtils.getAllInterfaces(dataSource), new ForwardingHandler(dataSource) {
+                @Override
+                Object handle(Method method, Object[] args) throws Throwable {
+                    Object result = forward(method, args);
+                    return result instanceof Connection ? wrap((Connection) result, slowQueryThresholdNanos) : result;
+                }
+            });
+    }
+
+    private static Connection wrap(Connection connection, long slowQueryThresholdNanos) {
+        return (Connection) Proxy.newProxyInstance(JdbcStatisticsDataSource.class.getClassLoader(),
+            new Class<?>[] { Connection.class }, new ForwardingHandler(connection) {
+                @Override
+                Object handle(Method method, Object[] args) throws Throwable {
+                    Object result = forward(method, args);
+                    if (result instanceof Statement) {
+                        // The SQL of prepareStatement and prepareCall, none for createStatement
+                        String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                        return wrap((Statement) result, method.getReturnType(), sql, slowQueryThresholdNanos);
+                    }
+                    return result;
+                }
+            });
+    }
+
+    private static Statement wrap(Statement statement, Class<?> statementType, String preparedSql, long slowQueryThresholdNanos) {
+        return (Statement) Proxy.newProxyInstance(JdbcStatisticsDataSource.class.getClassLoader(),
+            new Class<?>[] { statementType }, new ForwardingHandler(statement) {
+                @Override
+                Object handle(Method method, Object[] args) throws Throwable {
+                    if (!method.getName().startsWith("execute")) {
+                        return forward(method, args);
+                    }
+                    long start = System.nanoTime();
+                    try {
+                        return forward(method, args);
+                    } finally {
+                        long elapsed = System.nanoTime() - start;
+                        JdbcStatistics.record(elapsed);
+                        if (slowQueryThresholdNanos > 0 && elapsed >= slowQueryThresholdNanos) {
+                            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+                            log.warn("Slow SQL statement, {} ms: {}", TimeUnit.NANOSECONDS.toMillis(elapsed), sql);
+                        }
+                    }
+                }
+            });
+    }
+
+    private abstract static class ForwardingHandler implements InvocationHandler {
+
+        private final Object target;
+
+        ForwardingHandler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                // The proxies are compared by identity, e.g. by the transaction synchronization of Spring
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return handle(method, args);
+            }
+        }
+
+        abstract Object handle(Method method, Object[] args) throws Throwable;
+
+        Object forward(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
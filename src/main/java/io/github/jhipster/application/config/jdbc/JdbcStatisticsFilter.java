@@ -0,0 +1,127 @@
+package io.github.jhipster.application.config.jdbc;
+
+import com.codahale.metrics.MetricRegistry;
+import io.github.jhipster.application.service.NdjsonStreamService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL statements of each request, and their JDBC time, in histograms named after the endpoint,
+ * e.g. "jdbc.requests.GET /api/produtos/{id}.statements".
+ * <p>
+ * For development, the totals can also be returned in the X-DB-Queries and X-DB-Time (milliseconds) headers.
+ * The response body is then buffered, as the headers are only known once the request has been served. The NDJSON
+ * streams are not buffered, so they are still written as they are read: their totals are logged instead.
+ */
+public class JdbcStatisticsFilter extends OncePerRequestFilter {
+
+    public static final String QUERIES_HEADER = "X-DB-Queries";
+
+    public static final String TIME_HEADER = "X-DB-Time";
+
+    private static final String METRIC_PREFIX = "jdbc.requests";
+
+    private static final String UNMAPPED_ENDPOINT = "unmapped";
+
+    private final Logger log = LoggerFactory.getLogger(JdbcStatisticsFilter.class);
+
+    private final MetricRegistry metricRegistry;
+
+    private final boolean responseHeaders;
+
+    public JdbcStatisticsFilter(MetricRegistry metricRegistry, boolean responseHeaders) {
+        this.metricRegistry = metricRegistry;
+        this.responseHeaders = responseHeaders;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        JdbcStatistics statistics = JdbcStatistics.start();
+        StatisticsResponseWrapper bufferedResponse = responseHeaders ? new StatisticsResponseWrapper(response) : null;
+        try {
+            filterChain.doFilter(request, bufferedResponse == null ? response : bufferedResponse);
+        } finally {
+            JdbcStatistics.stop();
+            String endpoint = getEndpoint(request);
+            metricRegistry.histogram(MetricRegistry.name(METRIC_PREFIX, endpoint, "statements"))
+                .update(statistics.getStatements());
+            metricRegistry.histogram(MetricRegistry.name(METRIC_PREFIX, endpoint, "time-micros"))
+                .update(statistics.getTime(TimeUnit.MICROSECONDS));
+            if (bufferedResponse != null && bufferedResponse.isStreaming()) {
+                log.debug("{} {}: {} SQL statements in {} ms", request.getMethod(), request.getRequestURI(),
+                    statistics.getStatements(), formatMillis(statistics));
+            } else if (bufferedResponse != null) {
+                bufferedResponse.setHeader(QUERIES_HEADER, Integer.toString(statistics.getStatements()));
+                bufferedResponse.setHeader(TIME_HEADER, formatMillis(statistics));
+                bufferedResponse.copyBodyToResponse();
+            }
+        }
+    }
+
+    /**
+     * The method and the path pattern of the controller method, so all the requests of an endpoint share
+     * their histograms whatever the ids in their path.
+     */
+    private String getEndpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? UNMAPPED_ENDPOINT : request.getMethod() + " " + pattern;
+    }
+
+    private static String formatMillis(JdbcStatistics statistics) {
+        return String.format(Locale.ROOT, "%.3f", statistics.getTime(TimeUnit.MICROSECONDS) / 1000d);
+    }
+
+    /**
+     * Buffers the body of the response, unless it is an NDJSON stream, which is written directly to the client.
+     * The streams set their content type before writing, so it is known when the body is opened.
+     */
+    private static class StatisticsResponseWrapper extends ContentCachingResponseWrapper {
+
+        private boolean streaming;
+
+        StatisticsResponseWrapper(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (isStreamingContent()) {
+                streaming = true;
+                return getResponse().getOutputStream();
+            }
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (isStreamingContent()) {
+                streaming = true;
+                return getResponse().getWriter();
+            }
+            return super.getWriter();
+        }
+
+        boolean isStreaming() {
+            return streaming;
+        }
+
+        private boolean isStreamingContent() {
+            String contentType = getContentType();
+            return streaming || (contentType != null && contentType.startsWith(NdjsonStreamService.APPLICATION_NDJSON_VALUE));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.jhipster.application.config.jdbc;
+
+import io.github.jhipster.application.config.ApplicationProperties;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the datasource with {@link JdbcStatisticsDataSource}.
+ * <p>
+ * It has a priority order, so it is registered before the post processors of the metrics, whose configuration
+ * needs the datasource: a post processor registered later would not see it. It runs first among them, so the
+ * statistics wrap the pool itself and count the statements sent through any other datasource proxy.
+ */
+public class JdbcStatisticsPostProcessor implements BeanPostProcessor, PriorityOrdered {
+
+    private final ObjectProvider<ApplicationProperties> applicationProperties;
+
+    public JdbcStatisticsPostProcessor(ObjectProvider<ApplicationProperties> applicationProperties) {
+        this.applicationProperties = applicationProperties;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource) {
+            long slowQueryThresholdMillis = applicationProperties.getObject().getJdbc().getSlowQueryThresholdMillis();
+            return JdbcStatisticsDataSource.wrap((DataSource) bean, slowQueryThresholdMillis);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
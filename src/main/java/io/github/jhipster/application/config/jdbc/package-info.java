@@ -0,0 +1,4 @@
+/**
+ * Instrumentation of the SQL statements run through the datasource.
+ */
+package io.github.jhipster.application.config.jdbc;
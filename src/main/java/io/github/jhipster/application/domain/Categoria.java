@@ -1,14 +1,12 @@
 package io.github.jhipster.application.domain;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
 import java.io.Serializable;
-import java.util.HashSet;
-import java.util.Set;
 import java.util.Objects;
 
 /**
@@ -16,6 +14,7 @@ import java.util.Objects;
  */
 @Entity
 @Table(name = "categoria")
+@BatchSize(size = 50)
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 public class Categoria implements Serializable {
 
@@ -29,9 +28,6 @@ public class Categoria implements Serializable {
     @Column(name = "nome")
     private String nome;
 
-    @OneToMany(mappedBy = "categoria")
-    @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
-    private Set<Produto> produtos = new HashSet<>();
     // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
     public Long getId() {
         return id;
@@ -54,30 +50,6 @@ public class Categoria implements Serializable {
         this.nome = nome;
     }
 
-    public Set<Produto> getProdutos() {
-        return produtos;
-    }
-
-    public Categoria produtos(Set<Produto> produtos) {
-        this.produtos = produtos;
-        return this;
-    }
-
-    public Categoria addProduto(Produto produto) {
-        this.produtos.add(produto);
-        produto.setCategoria(this);
-        return this;
-    }
-
-    public Categoria removeProduto(Produto produto) {
-        this.produtos.remove(produto);
-        produto.setCategoria(null);
-        return this;
-    }
-
-    public void setProdutos(Set<Produto> produtos) {
-        this.produtos = produtos;
-    }
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here, do not remove
 
     @Override
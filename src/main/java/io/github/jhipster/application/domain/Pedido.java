@@ -3,6 +3,7 @@ package io.github.jhipster.application.domain;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 
@@ -17,7 +18,9 @@ import java.util.Objects;
  */
 @Entity
 @Table(name = "pedido")
+@NamedEntityGraph(name = "Pedido.usuario", attributeNodes = @NamedAttributeNode("usuario"))
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
+@DynamicUpdate
 public class Pedido implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -30,15 +33,18 @@ public class Pedido implements Serializable {
     @Column(name = "data")
     private LocalDate data;
 
-    @ManyToMany
+    /**
+     * The sum of the items, in cents, computed by PedidoService when the pedido is saved.
+     */
+    @Column(name = "total_centavos")
+    private Long totalCentavos;
+
+    @OneToMany(mappedBy = "pedido", cascade = CascadeType.ALL, orphanRemoval = true)
     @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
-    @JoinTable(name = "pedido_produto",
-               joinColumns = @JoinColumn(name = "pedidos_id", referencedColumnName = "id"),
-               inverseJoinColumns = @JoinColumn(name = "produtos_id", referencedColumnName = "id"))
-    private Set<Produto> produtos = new HashSet<>();
+    private Set<PedidoItem> itens = new HashSet<>();
 
     @ManyToOne
-    @JsonIgnoreProperties("pedidos")
+    @JsonIgnoreProperties("")
     private Usuario usuario;
 
     // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
@@ -63,29 +69,42 @@ public class Pedido implements Serializable {
         this.data = data;
     }
 
-    public Set<Produto> getProdutos() {
-        return produtos;
+    public Long getTotalCentavos() {
+        return totalCentavos;
+    }
+
+    public Pedido totalCentavos(Long totalCentavos) {
+        this.totalCentavos = totalCentavos;
+        return this;
+    }
+
+    public void setTotalCentavos(Long totalCentavos) {
+        this.totalCentavos = totalCentavos;
+    }
+
+    public Set<PedidoItem> getItens() {
+        return itens;
     }
 
-    public Pedido produtos(Set<Produto> produtos) {
-        this.produtos = produtos;
+    public Pedido itens(Set<PedidoItem> pedidoItems) {
+        this.itens = pedidoItems;
         return this;
     }
 
-    public Pedido addProduto(Produto produto) {
-        this.produtos.add(produto);
-        produto.getPedidos().add(this);
+    public Pedido addItem(PedidoItem pedidoItem) {
+        this.itens.add(pedidoItem);
+        pedidoItem.setPedido(this);
         return this;
     }
 
-    public Pedido removeProduto(Produto produto) {
-        this.produtos.remove(produto);
-        produto.getPedidos().remove(this);
+    public Pedido removeItem(PedidoItem pedidoItem) {
+        this.itens.remove(pedidoItem);
+        pedidoItem.setPedido(null);
         return this;
     }
 
-    public void setProdutos(Set<Produto> produtos) {
-        this.produtos = produtos;
+    public void setItens(Set<PedidoItem> pedidoItems) {
+        this.itens = pedidoItems;
     }
 
     public Usuario getUsuario() {
@@ -127,6 +146,7 @@ public class Pedido implements Serializable {
         return "Pedido{" +
             "id=" + getId() +
             ", data='" + getData() + "'" +
+            ", totalCentavos=" + getTotalCentavos() +
             "}";
     }
 }
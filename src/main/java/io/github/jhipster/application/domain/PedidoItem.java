@@ -0,0 +1,139 @@
+package io.github.jhipster.application.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+
+import javax.persistence.*;
+import javax.validation.constraints.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * An item of a Pedido: a quantity of a produto, at the preco of the produto when the item was added.
+ */
+@Entity
+@Table(name = "pedido_item")
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
+@DynamicUpdate
+public class PedidoItem implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator")
+    private Long id;
+
+    @NotNull
+    @Min(value = 1)
+    @Column(name = "quantidade", nullable = false)
+    private Integer quantidade;
+
+    /**
+     * The preco of one unit when the item was added, in cents, set by PedidoService.
+     */
+    @Column(name = "preco_unitario_centavos", nullable = false)
+    private Long precoUnitarioCentavos;
+
+    @ManyToOne(optional = false)
+    @JsonIgnore
+    private Pedido pedido;
+
+    @ManyToOne(optional = false)
+    @NotNull
+    private Produto produto;
+
+    // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getQuantidade() {
+        return quantidade;
+    }
+
+    public PedidoItem quantidade(Integer quantidade) {
+        this.quantidade = quantidade;
+        return this;
+    }
+
+    public void setQuantidade(Integer quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    public Long getPrecoUnitarioCentavos() {
+        return precoUnitarioCentavos;
+    }
+
+    public PedidoItem precoUnitarioCentavos(Long precoUnitarioCentavos) {
+        this.precoUnitarioCentavos = precoUnitarioCentavos;
+        return this;
+    }
+
+    public void setPrecoUnitarioCentavos(Long precoUnitarioCentavos) {
+        this.precoUnitarioCentavos = precoUnitarioCentavos;
+    }
+
+    public Pedido getPedido() {
+        return pedido;
+    }
+
+    public PedidoItem pedido(Pedido pedido) {
+        this.pedido = pedido;
+        return this;
+    }
+
+    public void setPedido(Pedido pedido) {
+        this.pedido = pedido;
+    }
+
+    public Produto getProduto() {
+        return produto;
+    }
+
+    public PedidoItem produto(Produto produto) {
+        this.produto = produto;
+        return this;
+    }
+
+    public void setProduto(Produto produto) {
+        this.produto = produto;
+    }
+    // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here, do not remove
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        PedidoItem pedidoItem = (PedidoItem) o;
+        if (pedidoItem.getId() == null || getId() == null) {
+            return false;
+        }
+        return Objects.equals(getId(), pedidoItem.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getId());
+    }
+
+    @Override
+    public String toString() {
+        return "PedidoItem{" +
+            "id=" + getId() +
+            ", quantidade=" + getQuantidade() +
+            ", precoUnitarioCentavos=" + getPrecoUnitarioCentavos() +
+            "}";
+    }
+}
@@ -5,6 +5,7 @@ import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
+import javax.validation.constraints.*;
 
 import java.io.Serializable;
 import java.time.LocalDate;
@@ -26,9 +27,10 @@ public class Ponto implements Serializable {
     private Long id;
 
     @Column(name = "quantidade")
-    private String quantidade;
+    private Integer quantidade;
 
-    @Column(name = "data")
+    @NotNull
+    @Column(name = "data", nullable = false)
     private LocalDate data;
 
     @ManyToOne
@@ -44,16 +46,16 @@ public class Ponto implements Serializable {
         this.id = id;
     }
 
-    public String getQuantidade() {
+    public Integer getQuantidade() {
         return quantidade;
     }
 
-    public Ponto quantidade(String quantidade) {
+    public Ponto quantidade(Integer quantidade) {
         this.quantidade = quantidade;
         return this;
     }
 
-    public void setQuantidade(String quantidade) {
+    public void setQuantidade(Integer quantidade) {
         this.quantidade = quantidade;
     }
 
@@ -108,7 +110,7 @@ public class Ponto implements Serializable {
     public String toString() {
         return "Ponto{" +
             "id=" + getId() +
-            ", quantidade='" + getQuantidade() + "'" +
+            ", quantidade=" + getQuantidade() +
             ", data='" + getData() + "'" +
             "}";
     }
@@ -4,12 +4,12 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Formula;
 
 import javax.persistence.*;
 
 import java.io.Serializable;
-import java.util.HashSet;
-import java.util.Set;
+import java.math.BigDecimal;
 import java.util.Objects;
 
 /**
@@ -17,6 +17,7 @@ import java.util.Objects;
  */
 @Entity
 @Table(name = "produto")
+@NamedEntityGraph(name = "Produto.categoria", attributeNodes = @NamedAttributeNode("categoria"))
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 public class Produto implements Serializable {
 
@@ -30,21 +31,28 @@ public class Produto implements Serializable {
     @Column(name = "nome")
     private String nome;
 
-    @Column(name = "preco")
-    private String preco;
+    @Column(name = "preco", precision = 10, scale = 2)
+    private BigDecimal preco;
 
-    @Column(name = "estoque")
+    /**
+     * Only written on insert: the stock is then changed by EstoqueService alone, with conditional updates, so
+     * saving a produto read before a reservation does not write its old stock back.
+     */
+    @Column(name = "estoque", updatable = false)
     private Integer estoque;
 
+    /**
+     * The stock available, with the stock of the stripes of a produto in hot mode, for the estoque criteria of
+     * ProdutoQueryService. It is read with the produto, and is not refreshed by the reservations that follow.
+     */
+    @Formula("estoque + (select coalesce(sum(faixa.estoque), 0) from estoque_faixa faixa where faixa.produto_id = id)")
+    @JsonIgnore
+    private Integer estoqueDisponivel;
+
     @ManyToOne
-    @JsonIgnoreProperties("produtos")
+    @JsonIgnoreProperties("")
     private Categoria categoria;
 
-    @ManyToMany(mappedBy = "produtos")
-    @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
-    @JsonIgnore
-    private Set<Pedido> pedidos = new HashSet<>();
-
     // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
     public Long getId() {
         return id;
@@ -67,16 +75,16 @@ public class Produto implements Serializable {
         this.nome = nome;
     }
 
-    public String getPreco() {
+    public BigDecimal getPreco() {
         return preco;
     }
 
-    public Produto preco(String preco) {
+    public Produto preco(BigDecimal preco) {
         this.preco = preco;
         return this;
     }
 
-    public void setPreco(String preco) {
+    public void setPreco(BigDecimal preco) {
         this.preco = preco;
     }
 
@@ -93,6 +101,10 @@ public class Produto implements Serializable {
         this.estoque = estoque;
     }
 
+    public Integer getEstoqueDisponivel() {
+        return estoqueDisponivel;
+    }
+
     public Categoria getCategoria() {
         return categoria;
     }
@@ -105,31 +117,6 @@ public class Produto implements Serializable {
     public void setCategoria(Categoria categoria) {
         this.categoria = categoria;
     }
-
-    public Set<Pedido> getPedidos() {
-        return pedidos;
-    }
-
-    public Produto pedidos(Set<Pedido> pedidos) {
-        this.pedidos = pedidos;
-        return this;
-    }
-
-    public Produto addPedido(Pedido pedido) {
-        this.pedidos.add(pedido);
-        pedido.getProdutos().add(this);
-        return this;
-    }
-
-    public Produto removePedido(Pedido pedido) {
-        this.pedidos.remove(pedido);
-        pedido.getProdutos().remove(this);
-        return this;
-    }
-
-    public void setPedidos(Set<Pedido> pedidos) {
-        this.pedidos = pedidos;
-    }
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here, do not remove
 
     @Override
@@ -157,7 +144,7 @@ public class Produto implements Serializable {
         return "Produto{" +
             "id=" + getId() +
             ", nome='" + getNome() + "'" +
-            ", preco='" + getPreco() + "'" +
+            ", preco=" + getPreco() +
             ", estoque=" + getEstoque() +
             "}";
     }
@@ -1,14 +1,12 @@
 package io.github.jhipster.application.domain;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
 import java.io.Serializable;
-import java.util.HashSet;
-import java.util.Set;
 import java.util.Objects;
 
 /**
@@ -16,6 +14,7 @@ import java.util.Objects;
  */
 @Entity
 @Table(name = "usuario")
+@BatchSize(size = 50)
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 public class Usuario implements Serializable {
 
@@ -35,9 +34,6 @@ public class Usuario implements Serializable {
     @Column(name = "token")
     private String token;
 
-    @OneToMany(mappedBy = "usuario")
-    @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
-    private Set<Pedido> pedidos = new HashSet<>();
     // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
     public Long getId() {
         return id;
@@ -86,30 +82,6 @@ public class Usuario implements Serializable {
         this.token = token;
     }
 
-    public Set<Pedido> getPedidos() {
-        return pedidos;
-    }
-
-    public Usuario pedidos(Set<Pedido> pedidos) {
-        this.pedidos = pedidos;
-        return this;
-    }
-
-    public Usuario addPedido(Pedido pedido) {
-        this.pedidos.add(pedido);
-        pedido.setUsuario(this);
-        return this;
-    }
-
-    public Usuario removePedido(Pedido pedido) {
-        this.pedidos.remove(pedido);
-        pedido.setUsuario(null);
-        return this;
-    }
-
-    public void setPedidos(Set<Pedido> pedidos) {
-        this.pedidos = pedidos;
-    }
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here, do not remove
 
     @Override
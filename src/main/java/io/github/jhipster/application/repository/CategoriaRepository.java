@@ -1,10 +1,11 @@
 package io.github.jhipster.application.repository;
 
 import io.github.jhipster.application.domain.Categoria;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
-
 /**
  * Spring Data  repository for the Categoria entity.
  */
@@ -12,4 +13,6 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
 
+    @Query("select categoria from Categoria categoria")
+    Slice<Categoria> findSlice(Pageable pageable);
 }
@@ -0,0 +1,51 @@
+package io.github.jhipster.application.repository;
+
+import io.github.jhipster.application.config.Constants;
+import io.github.jhipster.application.config.audit.AsyncAuditEventWriter;
+import io.github.jhipster.application.config.audit.AuditEventConverter;
+
+import org.springframework.boot.actuate.audit.AuditEvent;
+import org.springframework.boot.actuate.audit.AuditEventRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * An implementation of Spring Boot's AuditEventRepository.
+ * <p>
+ * The events are not written on the thread that raises them, but queued for the {@link AsyncAuditEventWriter},
+ * so they only show up in {@link #find} once it has flushed them.
+ */
+@Repository
+public class CustomAuditEventRepository implements AuditEventRepository {
+
+    private static final String AUTHORIZATION_FAILURE = "AUTHORIZATION_FAILURE";
+
+    private final PersistenceAuditEventRepository persistenceAuditEventRepository;
+
+    private final AuditEventConverter auditEventConverter;
+
+    private final AsyncAuditEventWriter auditEventWriter;
+
+    public CustomAuditEventRepository(PersistenceAuditEventRepository persistenceAuditEventRepository,
+                                      AuditEventConverter auditEventConverter, AsyncAuditEventWriter auditEventWriter) {
+        this.persistenceAuditEventRepository = persistenceAuditEventRepository;
+        this.auditEventConverter = auditEventConverter;
+        this.auditEventWriter = auditEventWriter;
+    }
+
+    @Override
+    public List<AuditEvent> find(String principal, Instant after, String type) {
+        return auditEventConverter.convertToAuditEvent(
+            persistenceAuditEventRepository.findByPrincipalAndAuditEventDateAfterAndAuditEventType(principal, after, type));
+    }
+
+    @Override
+    public void add(AuditEvent event) {
+        if (!AUTHORIZATION_FAILURE.equals(event.getType()) &&
+            !Constants.ANONYMOUS_USER.equals(event.getPrincipal())) {
+            auditEventWriter.enqueue(event);
+        }
+    }
+}
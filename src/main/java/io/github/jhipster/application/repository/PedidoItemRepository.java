@@ -0,0 +1,28 @@
+package io.github.jhipster.application.repository;
+
+import io.github.jhipster.application.domain.PedidoItem;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Spring Data  repository for the PedidoItem entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface PedidoItemRepository extends JpaRepository<PedidoItem, Long> {
+
+    /**
+     * The item of a produto in a pedido, read through the idx_pedido_item_produto_id index.
+     * A pedido has at most one item of each produto.
+     */
+    Optional<PedidoItem> findOneByPedidoIdAndProdutoId(Long pedidoId, Long produtoId);
+
+    /**
+     * The items of pedidos, read through the idx_pedido_item_pedido_id index.
+     */
+    List<PedidoItem> findByPedidoIdIn(Collection<Long> pedidoIds);
+}
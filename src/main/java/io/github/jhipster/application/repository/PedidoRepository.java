@@ -3,28 +3,97 @@ package io.github.jhipster.application.repository;
 import io.github.jhipster.application.domain.Pedido;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 /**
  * Spring Data  repository for the Pedido entity.
+ * <p>
+ * The list queries load the usuario of each pedido in the same select, through the "Pedido.usuario"
+ * entity graph, instead of one select per usuario. The Slice variants read a page without counting them.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface PedidoRepository extends JpaRepository<Pedido, Long> {
+public interface PedidoRepository extends JpaRepository<Pedido, Long>, JpaSpecificationExecutor<Pedido> {
 
-    @Query(value = "select distinct pedido from Pedido pedido left join fetch pedido.produtos",
+    /**
+     * The pedido, with its row locked until the end of the transaction: the changes of its items and of its
+     * total are serialized, so none is lost and a produto is not added twice.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select pedido from Pedido pedido where pedido.id = :id")
+    Optional<Pedido> findOneForUpdate(@Param("id") Long id);
+
+    @Query(value = "select distinct pedido from Pedido pedido left join fetch pedido.itens item left join fetch item.produto",
         countQuery = "select count(distinct pedido) from Pedido pedido")
     Page<Pedido> findAllWithEagerRelationships(Pageable pageable);
 
-    @Query(value = "select distinct pedido from Pedido pedido left join fetch pedido.produtos")
+    @Query(value = "select distinct pedido from Pedido pedido left join fetch pedido.itens item left join fetch item.produto")
     List<Pedido> findAllWithEagerRelationships();
 
-    @Query("select pedido from Pedido pedido left join fetch pedido.produtos where pedido.id =:id")
+    @Query("select distinct pedido from Pedido pedido left join fetch pedido.itens item left join fetch item.produto" +
+        " where pedido.id =:id")
     Optional<Pedido> findOneWithEagerRelationships(@Param("id") Long id);
 
+    /**
+     * Keyset (seek) page of pedidos: seeks the primary key index past the cursor instead of skipping rows.
+     */
+    @EntityGraph("Pedido.usuario")
+    @Query("select pedido from Pedido pedido where pedido.id > :after order by pedido.id")
+    List<Pedido> findAllAfter(@Param("after") Long after, Pageable pageable);
+
+    @Query("select pedido.id from Pedido pedido where pedido.id > :after order by pedido.id")
+    List<Long> findIdsAfter(@Param("after") Long after, Pageable pageable);
+
+    @Query("select distinct pedido from Pedido pedido left join fetch pedido.itens item left join fetch item.produto" +
+        " left join fetch pedido.usuario where pedido.id in :ids order by pedido.id")
+    List<Pedido> findAllWithEagerRelationshipsByIdIn(@Param("ids") List<Long> ids);
+
+    @EntityGraph("Pedido.usuario")
+    Page<Pedido> findByUsuarioId(Long usuarioId, Pageable pageable);
+
+    @EntityGraph("Pedido.usuario")
+    Slice<Pedido> findSliceByUsuarioId(Long usuarioId, Pageable pageable);
+
+    /**
+     * The pedidos with an item of a produto: the items are found through the idx_pedido_item_produto_id index,
+     * which also holds their pedido, and counted from it alone.
+     */
+    @EntityGraph("Pedido.usuario")
+    @Query(value = "select pedido from Pedido pedido where pedido.id in" +
+        " (select item.pedido.id from PedidoItem item where item.produto.id = :produtoId)",
+        countQuery = "select count(distinct item.pedido.id) from PedidoItem item where item.produto.id = :produtoId")
+    Page<Pedido> findByProdutoId(@Param("produtoId") Long produtoId, Pageable pageable);
+
+    @EntityGraph("Pedido.usuario")
+    @Query("select pedido from Pedido pedido where pedido.id in" +
+        " (select item.pedido.id from PedidoItem item where item.produto.id = :produtoId)")
+    Slice<Pedido> findSliceByProdutoId(@Param("produtoId") Long produtoId, Pageable pageable);
+
+    @EntityGraph("Pedido.usuario")
+    Page<Pedido> findByDataBetween(LocalDate inicio, LocalDate fim, Pageable pageable);
+
+    @EntityGraph("Pedido.usuario")
+    Slice<Pedido> findSliceByDataBetween(LocalDate inicio, LocalDate fim, Pageable pageable);
+
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("select pedido from Pedido pedido left join fetch pedido.usuario")
+    Stream<Pedido> streamAll();
+
 }
@@ -1,15 +1,32 @@
 package io.github.jhipster.application.repository;
 
 import io.github.jhipster.application.domain.Ponto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 /**
  * Spring Data  repository for the Ponto entity.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface PontoRepository extends JpaRepository<Ponto, Long> {
+public interface PontoRepository extends JpaRepository<Ponto, Long>, JpaSpecificationExecutor<Ponto> {
+
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("select ponto from Ponto ponto left join fetch ponto.usuario")
+    Stream<Ponto> streamAll();
+
+    Page<Ponto> findByUsuarioIdAndDataBetween(Long usuarioId, LocalDate inicio, LocalDate fim, Pageable pageable);
 
 }
@@ -1,15 +1,58 @@
 package io.github.jhipster.application.repository;
 
 import io.github.jhipster.application.domain.Produto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 /**
  * Spring Data  repository for the Produto entity.
+ * <p>
+ * The list queries load the categoria of each produto in the same select, through the "Produto.categoria"
+ * entity graph, instead of one select per categoria. The Slice variants read a page without counting them.
+ * The filtered lists of produtos are read by ProdutoQueryService.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ProdutoRepository extends JpaRepository<Produto, Long> {
+public interface ProdutoRepository extends JpaRepository<Produto, Long>, JpaSpecificationExecutor<Produto> {
+
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("select produto from Produto produto left join fetch produto.categoria")
+    Stream<Produto> streamAll();
+
+    @Override
+    @EntityGraph("Produto.categoria")
+    Page<Produto> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph("Produto.categoria")
+    Page<Produto> findAll(Specification<Produto> specification, Pageable pageable);
+
+    @EntityGraph("Produto.categoria")
+    Page<Produto> findByCategoriaId(Long categoriaId, Pageable pageable);
+
+    @EntityGraph("Produto.categoria")
+    Slice<Produto> findSliceByCategoriaId(Long categoriaId, Pageable pageable);
+
+    @Query("select produto.id from Produto produto where produto.categoria.id = :categoriaId order by produto.nome, produto.id")
+    List<Long> findIdsByCategoriaId(@Param("categoriaId") Long categoriaId);
+
+    @Query("select produto.categoria.id from Produto produto where produto.id = :id")
+    Optional<Long> findCategoriaIdById(@Param("id") Long id);
 
 }
@@ -1,10 +1,11 @@
 package io.github.jhipster.application.repository;
 
 import io.github.jhipster.application.domain.Usuario;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
-
 /**
  * Spring Data  repository for the Usuario entity.
  */
@@ -12,4 +13,6 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
+    @Query("select usuario from Usuario usuario")
+    Slice<Usuario> findSlice(Pageable pageable);
 }
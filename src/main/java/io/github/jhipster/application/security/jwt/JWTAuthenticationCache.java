@@ -0,0 +1,149 @@
+package io.github.jhipster.application.security.jwt;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.RatioGauge;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache of the authentications of the valid JWT tokens, so a token is parsed and its signature checked
+ * once, rather than on every request.
+ * <p>
+ * The entries are keyed by the SHA-256 hash of the token and expire with the token. The cache is bounded:
+ * when it is full, the expired entries are purged, and if it is still full the new token is not cached.
+ * Invalid tokens are never cached.
+ */
+public class JWTAuthenticationCache {
+
+    private static final long PURGE_INTERVAL_MILLIS = 1000;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong lastPurge = new AtomicLong();
+
+    private final int maxSize;
+
+    private final Clock clock;
+
+    private final Meter hits;
+
+    private final Meter misses;
+
+    public JWTAuthenticationCache(int maxSize, Clock clock, MetricRegistry metricRegistry) {
+        this.maxSize = maxSize;
+        this.clock = clock;
+        this.hits = metricRegistry.meter("security.jwt.cache.hits");
+        this.misses = metricRegistry.meter("security.jwt.cache.misses");
+        metricRegistry.register("security.jwt.cache.size", (Gauge<Integer>) entries::size);
+        metricRegistry.register("security.jwt.cache.hit-ratio", new RatioGauge() {
+            @Override
+            protected Ratio getRatio() {
+                return Ratio.of(hits.getOneMinuteRate(), hits.getOneMinuteRate() + misses.getOneMinuteRate());
+            }
+        });
+    }
+
+    /**
+     * Get the authentication of a token, from the cache or else from the loader.
+     *
+     * @param token the JWT token
+     * @param loader parses and validates the token, returning null if the token is not valid
+     * @return the authentication, or null if the token is not valid
+     */
+    public Authentication get(String token, Function<String, Entry> loader) {
+        if (maxSize <= 0) {
+            Entry entry = loader.apply(token);
+            return entry == null ? null : entry.toAuthentication(token);
+        }
+        String key = hash(token);
+        long now = clock.millis();
+        Entry cached = entries.get(key);
+        if (cached != null && cached.expiresAt > now) {
+            hits.mark();
+            return cached.toAuthentication(token);
+        }
+        misses.mark();
+        if (cached != null) {
+            entries.remove(key, cached);
+        }
+        Entry loaded = loader.apply(token);
+        if (loaded == null) {
+            return null;
+        }
+        if (loaded.expiresAt > now) {
+            put(key, loaded, now);
+        }
+        return loaded.toAuthentication(token);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void put(String key, Entry entry, long now) {
+        if (entries.size() >= maxSize) {
+            // Scanning the whole cache at most once per interval, however many tokens are missed
+            long last = lastPurge.get();
+            if (now - last >= PURGE_INTERVAL_MILLIS && lastPurge.compareAndSet(last, now)) {
+                entries.values().removeIf(cached -> cached.expiresAt <= now);
+            }
+            if (entries.size() >= maxSize) {
+                return;
+            }
+        }
+        entries.put(key, entry);
+    }
+
+    private static String hash(String token) {
+        byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().encodeToString(digest);
+    }
+
+    /**
+     * The authentication of a valid token, without the token itself.
+     */
+    public static final class Entry {
+
+        private final User principal;
+
+        private final Collection<? extends GrantedAuthority> authorities;
+
+        private final long expiresAt;
+
+        public Entry(User principal, Collection<? extends GrantedAuthority> authorities, long expiresAt) {
+            this.principal = principal;
+            this.authorities = authorities;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * A new authentication for each request, as an authentication is mutable.
+         */
+        private Authentication toAuthentication(String token) {
+            return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package io.github.jhipster.application.security.jwt;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Clock;
 import java.util.*;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
@@ -16,6 +17,8 @@ import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import com.codahale.metrics.MetricRegistry;
+import io.github.jhipster.application.config.ApplicationProperties;
 import io.github.jhipster.config.JHipsterProperties;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
@@ -34,10 +37,19 @@ public class TokenProvider {
 
     private long tokenValidityInMillisecondsForRememberMe;
 
+    private JWTAuthenticationCache authenticationCache;
+
     private final JHipsterProperties jHipsterProperties;
 
-    public TokenProvider(JHipsterProperties jHipsterProperties) {
+    private final ApplicationProperties applicationProperties;
+
+    private final MetricRegistry metricRegistry;
+
+    public TokenProvider(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties,
+                         MetricRegistry metricRegistry) {
         this.jHipsterProperties = jHipsterProperties;
+        this.applicationProperties = applicationProperties;
+        this.metricRegistry = metricRegistry;
     }
 
     @PostConstruct
@@ -58,6 +70,8 @@ public class TokenProvider {
         this.tokenValidityInMillisecondsForRememberMe =
             1000 * jHipsterProperties.getSecurity().getAuthentication().getJwt()
                 .getTokenValidityInSecondsForRememberMe();
+        this.authenticationCache = new JWTAuthenticationCache(applicationProperties.getJwtCache().getMaxSize(),
+            Clock.systemUTC(), metricRegistry);
     }
 
     public String createToken(Authentication authentication, boolean rememberMe) {
@@ -81,16 +95,24 @@ public class TokenProvider {
             .compact();
     }
 
+    /**
+     * Get the authentication of a token if it is valid, parsing and verifying the token only the first time
+     * it is seen. This is what {@link JWTFilter} does for each request.
+     *
+     * @param token the JWT token
+     * @return the authentication, or null if the token is not valid
+     */
+    public Authentication resolveAuthentication(String token) {
+        return authenticationCache.get(token, this::toCacheEntry);
+    }
+
     public Authentication getAuthentication(String token) {
         Claims claims = Jwts.parser()
             .setSigningKey(key)
             .parseClaimsJws(token)
             .getBody();
 
-        Collection<? extends GrantedAuthority> authorities =
-            Arrays.stream(claims.get(AUTHORITIES_KEY).toString().split(","))
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
+        Collection<? extends GrantedAuthority> authorities = getAuthorities(claims);
 
         User principal = new User(claims.getSubject(), "", authorities);
 
@@ -98,9 +120,30 @@ public class TokenProvider {
     }
 
     public boolean validateToken(String authToken) {
+        return parseClaims(authToken) != null;
+    }
+
+    private JWTAuthenticationCache.Entry toCacheEntry(String token) {
+        Claims claims = parseClaims(token);
+        if (claims == null) {
+            return null;
+        }
+        Collection<? extends GrantedAuthority> authorities = getAuthorities(claims);
+        User principal = new User(claims.getSubject(), "", authorities);
+        // A token without expiration is not cached
+        long expiresAt = claims.getExpiration() == null ? 0 : claims.getExpiration().getTime();
+        return new JWTAuthenticationCache.Entry(principal, authorities, expiresAt);
+    }
+
+    private Collection<? extends GrantedAuthority> getAuthorities(Claims claims) {
+        return Arrays.stream(claims.get(AUTHORITIES_KEY).toString().split(","))
+            .map(SimpleGrantedAuthority::new)
+            .collect(Collectors.toList());
+    }
+
+    private Claims parseClaims(String authToken) {
         try {
-            Jwts.parser().setSigningKey(key).parseClaimsJws(authToken);
-            return true;
+            return Jwts.parser().setSigningKey(key).parseClaimsJws(authToken).getBody();
         } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
             log.info("Invalid JWT signature.");
             log.trace("Invalid JWT signature trace: {}", e);
@@ -114,6 +157,6 @@ public class TokenProvider {
             log.info("JWT token compact of handler are invalid.");
             log.trace("JWT token compact of handler are invalid trace: {}", e);
         }
-        return false;
+        return null;
     }
 }
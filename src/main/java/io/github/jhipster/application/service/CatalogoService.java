@@ -0,0 +1,175 @@
+package io.github.jhipster.application.service;
+
+import io.github.jhipster.application.domain.Produto;
+import io.github.jhipster.application.repository.ProdutoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for the catalog reads: the produtos of a categoria.
+ * <p>
+ * Only the ids of the produtos of each categoria are cached, in the "catalogo" Hazelcast map. The produtos
+ * themselves are read from the Hibernate second level cache, so a change to a produto (its price, its stock...)
+ * is seen without invalidating the catalog: a categoria is only evicted when a produto enters or leaves it.
+ * Both maps have a near cache, so a catalog read is usually served from the memory of the local node.
+ * <p>
+ * The Hibernate query cache is not used instead, as it is invalidated by any write to the produto table.
+ * <p>
+ * A categoria is evicted when the produto is written, and again once the transaction has committed. Each eviction
+ * also changes the version of the categoria, in the "catalogoVersoes" map: a read that missed the cache only keeps
+ * the ids it cached if the version did not change meanwhile, so the ids read before a commit are not kept after it.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CatalogoService {
+
+    public static final String PRODUTOS_POR_CATEGORIA_CACHE = "catalogo.produtosPorCategoria";
+
+    /**
+     * Not a "catalogo.*" map, as the versions must not be read from a near cache.
+     */
+    public static final String VERSOES_CACHE = "catalogoVersoes";
+
+    private final Logger log = LoggerFactory.getLogger(CatalogoService.class);
+
+    private final ProdutoRepository produtoRepository;
+
+    private final EntityManager em;
+
+    private final Cache produtosPorCategoria;
+
+    private final Cache versoes;
+
+    public CatalogoService(ProdutoRepository produtoRepository, EntityManager em, CacheManager cacheManager) {
+        this.produtoRepository = produtoRepository;
+        this.em = em;
+        this.produtosPorCategoria = cacheManager.getCache(PRODUTOS_POR_CATEGORIA_CACHE);
+        this.versoes = cacheManager.getCache(VERSOES_CACHE);
+    }
+
+    /**
+     * Get the produtos of a categoria, sorted by name.
+     *
+     * @param categoriaId the id of the categoria
+     * @return the produtos of the categoria
+     */
+    public List<Produto> findProdutosByCategoria(Long categoriaId) {
+        log.debug("Request to get the Produtos of Categoria : {}", categoriaId);
+        List<Long> ids = findIdsByCategoria(categoriaId);
+        javax.persistence.Cache secondLevelCache = em.getEntityManagerFactory().getCache();
+
+        // The produtos missing from the second level cache are read with a single query
+        List<Long> ausentes = ids.stream()
+            .filter(id -> !secondLevelCache.contains(Produto.class, id))
+            .collect(Collectors.toList());
+        Map<Long, Produto> lidos = produtoRepository.findAllById(ausentes).stream()
+            .collect(Collectors.toMap(Produto::getId, Function.identity()));
+
+        List<Produto> produtos = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Produto produto = lidos.containsKey(id) ? lidos.get(id) : em.find(Produto.class, id);
+            // A produto deleted since the ids were cached
+            if (produto != null) {
+                produtos.add(produto);
+            }
+        }
+        return produtos;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> findIdsByCategoria(Long categoriaId) {
+        List<Long> ids = produtosPorCategoria.get(categoriaId, List.class);
+        if (ids != null) {
+            return ids;
+        }
+        Object versao = getVersao(categoriaId);
+        ids = produtoRepository.findIdsByCategoriaId(categoriaId);
+        produtosPorCategoria.put(categoriaId, ids);
+        // A produto entered or left the categoria while the ids were read, they may be stale
+        if (!Objects.equals(versao, getVersao(categoriaId))) {
+            produtosPorCategoria.evict(categoriaId);
+        }
+        return ids;
+    }
+
+    private Object getVersao(Long categoriaId) {
+        Cache.ValueWrapper versao = versoes.get(categoriaId);
+        return versao == null ? null : versao.get();
+    }
+
+    /**
+     * Save a produto, and evict the categorias it left and entered. The estoque of an existing produto is kept,
+     * as it is only changed by {@link EstoqueService}.
+     *
+     * @param produto the produto to save
+     * @return the saved produto
+     */
+    @Transactional
+    public Produto save(Produto produto) {
+        Optional<Long> categoriaAnterior = Optional.empty();
+        if (produto.getId() != null) {
+            categoriaAnterior = produtoRepository.findCategoriaIdById(produto.getId());
+            produtoRepository.findById(produto.getId()).ifPresent(existente -> produto.setEstoque(existente.getEstoque()));
+        }
+        Produto result = produtoRepository.save(produto);
+        categoriaAnterior.ifPresent(this::evictCategoria);
+        evictCategoria(result.getCategoria() == null ? null : result.getCategoria().getId());
+        return result;
+    }
+
+    /**
+     * Delete a produto, and evict its categoria.
+     *
+     * @param id the id of the produto to delete
+     */
+    @Transactional
+    public void delete(Long id) {
+        Optional<Long> categoria = produtoRepository.findCategoriaIdById(id);
+        produtoRepository.deleteById(id);
+        categoria.ifPresent(this::evictCategoria);
+    }
+
+    /**
+     * Evict the cached produtos of a categoria, once a produto has entered or left it. Within a transaction, the
+     * categoria is evicted again once it has committed.
+     *
+     * @param categoriaId the id of the categoria, ignored if null
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void evictCategoria(Long categoriaId) {
+        if (categoriaId != null) {
+            evict(categoriaId);
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                    @Override
+                    public void afterCommit() {
+                        evict(categoriaId);
+                    }
+                });
+            }
+        }
+    }
+
+    private void evict(Long categoriaId) {
+        log.debug("Evicting the cached Produtos of Categoria : {}", categoriaId);
+        versoes.put(categoriaId, UUID.randomUUID().toString());
+        produtosPorCategoria.evict(categoriaId);
+    }
+}
@@ -0,0 +1,298 @@
+package io.github.jhipster.application.service;
+
+import io.github.jhipster.application.domain.Produto;
+import io.github.jhipster.application.repository.PedidoRepository;
+import io.github.jhipster.application.web.rest.errors.EstoqueInsuficienteException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Service for the stock (estoque) of Produto.
+ * <p>
+ * Stock is only decremented through conditional updates ("set estoque = estoque - ? where estoque &gt;= ?"),
+ * so concurrent reservations never oversell and never lose each other's updates. The rows are always
+ * updated in produto id order, so two reservations cannot deadlock.
+ * <p>
+ * A produto can be switched to hot mode, for instance for a flash sale: its stock is then split across
+ * several rows of the estoque_faixa table (the stripes) and each reservation takes from a random stripe,
+ * so concurrent checkouts do not all wait on the lock of the produto row. While in hot mode, the
+ * estoque column of the produto is 0 and the available stock is the sum of its stripes.
+ * <p>
+ * Once a pedido is reserved, the changes of its items reserve or release the difference of their quantities,
+ * see {@link #ajustarReserva(Long, Map)}.
+ */
+@Service
+@Transactional
+public class EstoqueService {
+
+    private static final String RESERVAR_PRODUTO =
+        "update produto set estoque = estoque - ? where id = ? and estoque >= ?";
+
+    private static final String RESERVAR_FAIXA =
+        "update estoque_faixa set estoque = estoque - ? where produto_id = ? and faixa = ? and estoque >= ?";
+
+    private static final String LIBERAR_PRODUTO = "update produto set estoque = estoque + ? where id = ?";
+
+    private static final String LIBERAR_FAIXA = "update estoque_faixa set estoque = estoque + ? where produto_id = ? and faixa = ?";
+
+    private final Logger log = LoggerFactory.getLogger(EstoqueService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private final PedidoRepository pedidoRepository;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public EstoqueService(JdbcTemplate jdbcTemplate, PedidoRepository pedidoRepository,
+                          EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.pedidoRepository = pedidoRepository;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Reserve the quantity of each item of a pedido, once: a pedido already reserved is not reserved again, so a
+     * retried request does not take the stock twice.
+     *
+     * @param pedidoId the id of the pedido
+     * @return false if the pedido does not exist
+     * @throws EstoqueInsuficienteException if a produto is out of stock, nothing is reserved then
+     */
+    public boolean reservarPedido(Long pedidoId) {
+        log.debug("Request to reserve the stock of Pedido : {}", pedidoId);
+        // Marking the pedido locks its row, so a concurrent retry waits for this reservation, then finds it marked
+        if (jdbcTemplate.update("update pedido set reservado = true where id = ? and reservado = false", pedidoId) == 0) {
+            return pedidoRepository.existsById(pedidoId);
+        }
+        Map<Long, Integer> quantidades = new HashMap<>();
+        jdbcTemplate.query("select produto_id, sum(quantidade) from pedido_item where pedido_id = ? group by produto_id",
+            rs -> {
+                quantidades.put(rs.getLong(1), rs.getInt(2));
+            }, pedidoId);
+        reservar(quantidades);
+        return true;
+    }
+
+    /**
+     * Reserve the stock of several produtos, all or nothing.
+     *
+     * @param quantidades the quantity to reserve, by produto id
+     * @throws EstoqueInsuficienteException if a produto does not have enough stock, nothing is reserved then
+     */
+    public void reservar(Map<Long, Integer> quantidades) {
+        ajustar(quantidades);
+    }
+
+    /**
+     * Reserve or release the stock of the changes of the items of a pedido, if it is reserved, so that its stock
+     * keeps backing its items. The row of the pedido is locked, so a concurrent reservation of the pedido either
+     * sees the items changed, or reserves before they change.
+     *
+     * @param pedidoId the id of the pedido
+     * @param diferencas the change of the quantity of each produto, by produto id: positive when it is raised,
+     * negative when it is lowered or removed
+     * @throws EstoqueInsuficienteException if a produto does not have enough stock for a raise, nothing is reserved then
+     */
+    public void ajustarReserva(Long pedidoId, Map<Long, Integer> diferencas) {
+        List<Boolean> reservado = jdbcTemplate.queryForList("select reservado from pedido where id = ? for update",
+            Boolean.class, pedidoId);
+        if (!reservado.isEmpty() && Boolean.TRUE.equals(reservado.get(0))) {
+            log.debug("Request to change the reservation of Pedido {} : {}", pedidoId, diferencas);
+            ajustar(diferencas);
+        }
+    }
+
+    private void ajustar(Map<Long, Integer> diferencas) {
+        SortedMap<Long, Integer> ordenadas = new TreeMap<>(diferencas);
+        ordenadas.values().removeIf(diferenca -> diferenca == 0);
+        if (ordenadas.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> faixas = contarFaixas(ordenadas.keySet());
+        List<Long> atualizados = new ArrayList<>(ordenadas.size());
+        for (Map.Entry<Long, Integer> entry : ordenadas.entrySet()) {
+            Long produtoId = entry.getKey();
+            int diferenca = entry.getValue();
+            if (diferenca < 0) {
+                liberar(produtoId, faixas.get(produtoId), -diferenca);
+            } else if (faixas.containsKey(produtoId) ? !reservarEmFaixas(produtoId, faixas.get(produtoId), diferenca)
+                : jdbcTemplate.update(RESERVAR_PRODUTO, diferenca, produtoId, diferenca) == 0) {
+                // The exception rolls back the produtos already reserved
+                throw new EstoqueInsuficienteException(produtoId);
+            }
+            if (!faixas.containsKey(produtoId)) {
+                atualizados.add(produtoId);
+            }
+        }
+        evictAfterCompletion(atualizados);
+    }
+
+    private void liberar(Long produtoId, Integer quantidadeFaixas, int quantidade) {
+        if (quantidadeFaixas == null) {
+            jdbcTemplate.update(LIBERAR_PRODUTO, quantidade, produtoId);
+        } else {
+            jdbcTemplate.update(LIBERAR_FAIXA, quantidade, produtoId, ThreadLocalRandom.current().nextInt(quantidadeFaixas));
+        }
+    }
+
+    /**
+     * Get the available stock of a produto, including its stripes when in hot mode.
+     *
+     * @param produtoId the id of the produto
+     * @return the available stock, or empty if the produto does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<Integer> getEstoqueDisponivel(Long produtoId) {
+        List<Integer> estoque = jdbcTemplate.query(
+            "select coalesce(p.estoque, 0) + coalesce((select sum(f.estoque) from estoque_faixa f where f.produto_id = p.id), 0)" +
+                " from produto p where p.id = ?",
+            (rs, rowNum) -> rs.getInt(1), produtoId);
+        return estoque.stream().findFirst();
+    }
+
+    /**
+     * Set the stock of a produto. A produto in hot mode stays in hot mode, the stock being split again across
+     * the same number of stripes.
+     *
+     * @param produtoId the id of the produto
+     * @param quantidade the stock of the produto
+     * @return the available stock, or empty if the produto does not exist
+     */
+    public Optional<Integer> definirEstoque(Long produtoId, int quantidade) {
+        log.debug("Request to set the stock of Produto {} to {}", produtoId, quantidade);
+        // The stripes are counted under the lock of the produto row, which serializes the mode changes
+        if (jdbcTemplate.queryForList("select id from produto where id = ? for update", Long.class, produtoId).isEmpty()) {
+            return Optional.empty();
+        }
+        int quantidadeFaixas = jdbcTemplate.queryForObject("select count(*) from estoque_faixa where produto_id = ?",
+            Integer.class, produtoId);
+        juntarFaixas(produtoId);
+        jdbcTemplate.update("update produto set estoque = ? where id = ?", quantidade, produtoId);
+        return quantidadeFaixas > 0 ? dividirEmFaixas(produtoId, quantidadeFaixas) : Optional.of(quantidade);
+    }
+
+    /**
+     * Switch a produto to hot mode, splitting its stock evenly across stripes.
+     * <p>
+     * If the produto is already in hot mode, its stock is split again across the new number of stripes.
+     *
+     * @param produtoId the id of the produto
+     * @param quantidadeFaixas the number of stripes
+     * @return the available stock, or empty if the produto does not exist
+     */
+    public Optional<Integer> dividirEmFaixas(Long produtoId, int quantidadeFaixas) {
+        log.debug("Request to split the stock of Produto {} in {} stripes", produtoId, quantidadeFaixas);
+        Optional<Integer> total = juntarFaixas(produtoId);
+        total.ifPresent(estoque -> {
+            List<Object[]> faixas = new ArrayList<>(quantidadeFaixas);
+            for (int faixa = 0; faixa < quantidadeFaixas; faixa++) {
+                int estoqueFaixa = estoque / quantidadeFaixas + (faixa < estoque % quantidadeFaixas ? 1 : 0);
+                faixas.add(new Object[] { produtoId, faixa, estoqueFaixa });
+            }
+            jdbcTemplate.batchUpdate("insert into estoque_faixa (produto_id, faixa, estoque) values (?, ?, ?)", faixas);
+            jdbcTemplate.update("update produto set estoque = 0 where id = ?", produtoId);
+        });
+        return total;
+    }
+
+    /**
+     * Switch a produto back to normal mode, moving the stock of its stripes back to the produto.
+     *
+     * @param produtoId the id of the produto
+     * @return the available stock, or empty if the produto does not exist
+     */
+    public Optional<Integer> juntarFaixas(Long produtoId) {
+        log.debug("Request to merge the stock stripes of Produto : {}", produtoId);
+        // Locking the produto row first serializes the mode changes of a produto
+        List<Integer> estoque = jdbcTemplate.query("select estoque from produto where id = ? for update",
+            (rs, rowNum) -> rs.getInt(1), produtoId);
+        if (estoque.isEmpty()) {
+            return Optional.empty();
+        }
+        List<Integer> faixas = jdbcTemplate.query("select estoque from estoque_faixa where produto_id = ? order by faixa for update",
+            (rs, rowNum) -> rs.getInt(1), produtoId);
+        int total = estoque.get(0) + faixas.stream().mapToInt(Integer::intValue).sum();
+        if (!faixas.isEmpty()) {
+            jdbcTemplate.update("delete from estoque_faixa where produto_id = ?", produtoId);
+        }
+        jdbcTemplate.update("update produto set estoque = ? where id = ?", total, produtoId);
+        evictAfterCompletion(Collections.singletonList(produtoId));
+        return Optional.of(total);
+    }
+
+    private Map<Long, Integer> contarFaixas(Collection<Long> produtoIds) {
+        Map<Long, Integer> faixas = new HashMap<>();
+        namedParameterJdbcTemplate.query(
+            "select produto_id, count(*) from estoque_faixa where produto_id in (:ids) group by produto_id",
+            Collections.singletonMap("ids", produtoIds),
+            rs -> {
+                faixas.put(rs.getLong(1), rs.getInt(2));
+            });
+        return faixas;
+    }
+
+    private boolean reservarEmFaixas(Long produtoId, int quantidadeFaixas, int quantidade) {
+        int inicio = ThreadLocalRandom.current().nextInt(quantidadeFaixas);
+        for (int i = 0; i < quantidadeFaixas; i++) {
+            int faixa = (inicio + i) % quantidadeFaixas;
+            if (jdbcTemplate.update(RESERVAR_FAIXA, quantidade, produtoId, faixa, quantidade) == 1) {
+                return true;
+            }
+        }
+        // No stripe holds the whole quantity on its own: take it from several stripes, under their locks
+        List<int[]> faixas = jdbcTemplate.query("select faixa, estoque from estoque_faixa where produto_id = ? order by faixa for update",
+            (rs, rowNum) -> new int[] { rs.getInt(1), rs.getInt(2) }, produtoId);
+        if (faixas.stream().mapToInt(faixa -> faixa[1]).sum() < quantidade) {
+            return false;
+        }
+        int restante = quantidade;
+        for (int[] faixa : faixas) {
+            int retirada = Math.min(faixa[1], restante);
+            if (retirada > 0) {
+                jdbcTemplate.update("update estoque_faixa set estoque = estoque - ? where produto_id = ? and faixa = ?",
+                    retirada, produtoId, faixa[0]);
+                restante -= retirada;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The updates bypass Hibernate, so the cached produtos are evicted once the transaction is over:
+     * evicting them before the commit would let a concurrent read cache the old stock again.
+     */
+    private void evictAfterCompletion(List<Long> produtoIds) {
+        if (produtoIds.isEmpty()) {
+            return;
+        }
+        Cache cache = entityManagerFactory.getCache();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCompletion(int status) {
+                produtoIds.forEach(produtoId -> cache.evict(Produto.class, produtoId));
+            }
+        });
+    }
+}
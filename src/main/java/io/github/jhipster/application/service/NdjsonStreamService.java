@@ -0,0 +1,98 @@
+package io.github.jhipster.application.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Service reading and writing streams of entities as newline-delimited JSON (NDJSON).
+ */
+@Service
+public class NdjsonStreamService {
+
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    /**
+     * Number of rows after which the output is flushed and the persistence context is cleared.
+     */
+    private static final int CLEAR_INTERVAL = 500;
+
+    private final Logger log = LoggerFactory.getLogger(NdjsonStreamService.class);
+
+    private final EntityManager entityManager;
+
+    private final ObjectWriter objectWriter;
+
+    private final ObjectReader objectReader;
+
+    public NdjsonStreamService(EntityManager entityManager, ObjectMapper objectMapper) {
+        this.entityManager = entityManager;
+        this.objectReader = objectMapper.reader();
+        this.objectWriter = objectMapper.writer()
+            .without(SerializationFeature.INDENT_OUTPUT)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Write all the entities of a repository stream, one JSON document per line.
+     * <p>
+     * The stream is opened and consumed inside a read-only transaction, as the underlying JDBC cursor
+     * is only valid there. The persistence context is cleared regularly, so the memory used does not
+     * depend on the number of rows.
+     *
+     * @param source the repository method opening the stream
+     * @param out the output stream to write to
+     * @param <T> the type of the entities
+     * @return the number of entities written
+     * @throws IOException if the output cannot be written
+     */
+    @Transactional(readOnly = true)
+    public <T> long write(Supplier<Stream<T>> source, OutputStream out) throws IOException {
+        long count = 0;
+        try (Stream<T> stream = source.get();
+             JsonGenerator generator = objectWriter.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            Iterator<T> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                objectWriter.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                if (++count % CLEAR_INTERVAL == 0) {
+                    generator.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+        log.debug("Streamed {} entities", count);
+        return count;
+    }
+
+    /**
+     * Read entities from newline-delimited JSON.
+     * <p>
+     * The entities are parsed one at a time while the returned iterator is consumed.
+     *
+     * @param in the input stream to read from
+     * @param type the type of the entities
+     * @param <T> the type of the entities
+     * @return an iterator over the parsed entities, to be closed once consumed
+     * @throws IOException if the input cannot be read
+     */
+    public <T> MappingIterator<T> read(InputStream in, Class<T> type) throws IOException {
+        return objectReader.forType(type).readValues(in);
+    }
+}
@@ -0,0 +1,170 @@
+package io.github.jhipster.application.service;
+
+import io.github.jhipster.application.config.ApplicationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+/**
+ * Service maintaining the monthly partitions of the ponto and jhi_persistent_audit_event tables on PostgreSQL.
+ * <p>
+ * It runs on the scheduler of AsyncConfiguration, at application.partitioning.cron: it creates the partitions
+ * of the coming months, so the rows never fall in the default partition, and detaches the partitions older than
+ * the retention of their table. Detached partitions are left as standalone tables, to be archived, unless
+ * application.partitioning.drop-detached is set. Detaching pontos does not change the balances of saldo_pontos.
+ * <p>
+ * On other databases, as the H2 database of development and tests, the tables are not partitioned and it does
+ * nothing. Each statement runs in its own transaction and is idempotent, so the failure of one of them, or
+ * several instances running it at the same time, only costs a logged error.
+ */
+@Service
+public class PartitionMaintenanceService {
+
+    static final String PONTO_TABLE = "ponto";
+
+    static final String AUDIT_EVENT_TABLE = "jhi_persistent_audit_event";
+
+    private static final String AUDIT_EVENT_DATA_TABLE = "jhi_persistent_audit_evt_data";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'_y'yyyy'm'MM");
+
+    private final Logger log = LoggerFactory.getLogger(PartitionMaintenanceService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Partitioning partitioning;
+
+    private final Clock clock;
+
+    private Boolean postgreSQL;
+
+    public PartitionMaintenanceService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                       ApplicationProperties applicationProperties) {
+        this(jdbcTemplate, transactionManager, applicationProperties, Clock.systemDefaultZone());
+    }
+
+    PartitionMaintenanceService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                ApplicationProperties applicationProperties, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.partitioning = applicationProperties.getPartitioning();
+        this.clock = clock;
+    }
+
+    /**
+     * Create the coming partitions and detach the expired ones.
+     */
+    @Scheduled(cron = "${application.partitioning.cron:0 0 3 * * ?}")
+    public void maintainPartitions() {
+        if (!isPostgreSQL()) {
+            log.debug("Not a PostgreSQL database, no partition to maintain");
+            return;
+        }
+        YearMonth currentMonth = YearMonth.now(clock);
+        maintainPartitions(PONTO_TABLE, currentMonth, partitioning.getPontoRetentionMonths());
+        maintainPartitions(AUDIT_EVENT_TABLE, currentMonth, partitioning.getAuditRetentionMonths());
+    }
+
+    private void maintainPartitions(String table, YearMonth currentMonth, int retentionMonths) {
+        if (!isPartitioned(table)) {
+            log.warn("The {} table is not partitioned", table);
+            return;
+        }
+        for (int i = 0; i <= partitioning.getMonthsAhead(); i++) {
+            execute(createPartitionSql(table, currentMonth.plusMonths(i)));
+        }
+        if (retentionMonths > 0) {
+            YearMonth oldestKept = currentMonth.minusMonths(retentionMonths);
+            jdbcTemplate.queryForList(
+                "select child.relname from pg_inherits" +
+                " join pg_class parent on parent.oid = pg_inherits.inhparent" +
+                " join pg_class child on child.oid = pg_inherits.inhrelid" +
+                " where parent.relname = ?", String.class, table)
+                .forEach(partition -> partitionMonth(table, partition)
+                    .filter(month -> month.isBefore(oldestKept))
+                    .ifPresent(month -> detachPartition(table, partition)));
+        }
+    }
+
+    private void detachPartition(String table, String partition) {
+        log.info("Detaching the {} partition of {}", partition, table);
+        if (!execute("alter table " + table + " detach partition " + partition) || !partitioning.isDropDetached()) {
+            return;
+        }
+        if (AUDIT_EVENT_TABLE.equals(table)) {
+            execute("delete from " + AUDIT_EVENT_DATA_TABLE + " where event_id in (select event_id from " + partition + ")");
+        }
+        execute("drop table " + partition);
+    }
+
+    private boolean isPartitioned(String table) {
+        return jdbcTemplate.queryForObject(
+            "select count(*) from pg_partitioned_table join pg_class on pg_class.oid = pg_partitioned_table.partrelid" +
+            " where pg_class.relname = ?", Integer.class, table) > 0;
+    }
+
+    private boolean isPostgreSQL() {
+        if (postgreSQL == null) {
+            postgreSQL = "PostgreSQL".equals(jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgreSQL;
+    }
+
+    private boolean execute(String sql) {
+        try {
+            transactionTemplate.execute(status -> {
+                jdbcTemplate.execute(sql);
+                return null;
+            });
+            return true;
+        } catch (DataAccessException e) {
+            log.error("Partition maintenance failed: {}", sql, e);
+            return false;
+        }
+    }
+
+    /**
+     * The name of the partition of a month, e.g. "ponto_y2018m11".
+     */
+    static String partitionName(String table, YearMonth month) {
+        return table + month.format(PARTITION_SUFFIX);
+    }
+
+    /**
+     * The month of a partition, empty for the default partition.
+     */
+    static Optional<YearMonth> partitionMonth(String table, String partition) {
+        if (!partition.startsWith(table)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(YearMonth.parse(partition.substring(table.length()), PARTITION_SUFFIX));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    static String createPartitionSql(String table, YearMonth month) {
+        LocalDate from = month.atDay(1);
+        return "create table if not exists " + partitionName(table, month) + " partition of " + table +
+            " for values from ('" + from + "') to ('" + from.plusMonths(1) + "')";
+    }
+}
@@ -0,0 +1,156 @@
+package io.github.jhipster.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import io.github.jhipster.application.config.ApplicationProperties;
+import io.github.jhipster.application.domain.Pedido;
+import io.github.jhipster.application.repository.PedidoRepository;
+import io.github.jhipster.application.service.dto.BatchItemResultDTO;
+import io.github.jhipster.application.web.rest.errors.BadRequestAlertException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Service for the bulk ingestion of Pedido.
+ * <p>
+ * Pedidos are saved in chunks, one transaction per chunk, so that Hibernate can group the inserts of a chunk
+ * in JDBC batches (see the hibernate.jdbc.batch_size and hibernate.order_inserts properties). If a chunk fails,
+ * its pedidos are retried one by one, so that a single invalid pedido does not reject the others.
+ * <p>
+ * The items of a chunk are priced by {@link PedidoService#precificar}, with one query for all their produtos.
+ * <p>
+ * When the pedidos are parsed from a stream, a malformed pedido ends the ingestion: the pedidos read before it
+ * are saved and reported as usual, and it is reported as rejected with the "invalidstream" error.
+ */
+@Service
+public class PedidoBatchService {
+
+    private final Logger log = LoggerFactory.getLogger(PedidoBatchService.class);
+
+    private final PedidoRepository pedidoRepository;
+
+    private final PedidoService pedidoService;
+
+    private final VendasDiariasService vendasDiariasService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+
+    public PedidoBatchService(PedidoRepository pedidoRepository, PedidoService pedidoService,
+                              VendasDiariasService vendasDiariasService, PlatformTransactionManager transactionManager,
+                              ApplicationProperties applicationProperties) {
+        this.pedidoRepository = pedidoRepository;
+        this.pedidoService = pedidoService;
+        this.vendasDiariasService = vendasDiariasService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = applicationProperties.getBatch().getChunkSize();
+    }
+
+    /**
+     * Save new pedidos.
+     * <p>
+     * The pedidos are consumed chunk by chunk, so they can be read lazily from a stream. If the stream has a
+     * malformed pedido, the pedidos after it are not read.
+     *
+     * @param pedidos the pedidos to save
+     * @return the outcome of each pedido, in the order they were given
+     */
+    public List<BatchItemResultDTO> saveAll(Iterator<Pedido> pedidos) {
+        List<BatchItemResultDTO> results = new ArrayList<>();
+        List<Item> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        while (true) {
+            Pedido pedido;
+            try {
+                if (!pedidos.hasNext()) {
+                    break;
+                }
+                pedido = pedidos.next();
+            } catch (RuntimeException e) {
+                // A stream iterator reports its malformed pedidos as unchecked exceptions
+                if (!isMalformed(e)) {
+                    throw e;
+                }
+                log.debug("Malformed pedido {} in stream : {}", index, e.getMessage());
+                results.add(BatchItemResultDTO.rejected(index++, "invalidstream"));
+                break;
+            }
+            if (pedido.getId() != null) {
+                results.add(BatchItemResultDTO.rejected(index++, "idexists"));
+                continue;
+            }
+            chunk.add(new Item(index++, pedido));
+            if (chunk.size() == chunkSize) {
+                saveChunk(chunk, results);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            saveChunk(chunk, results);
+        }
+        log.debug("Bulk ingestion of {} pedidos done", index);
+        results.sort(Comparator.comparingInt(BatchItemResultDTO::getIndex));
+        return results;
+    }
+
+    private void saveChunk(List<Item> chunk, List<BatchItemResultDTO> results) {
+        try {
+            transactionTemplate.execute(status -> save(chunk));
+            for (Item item : chunk) {
+                results.add(BatchItemResultDTO.created(item.index, item.pedido.getId()));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not save a chunk of {} pedidos, saving them one by one : {}", chunk.size(), e.getMessage());
+            for (Item item : chunk) {
+                // The ids were drawn by the rolled back transaction
+                item.pedido.setId(null);
+                item.pedido.getItens().forEach(pedidoItem -> pedidoItem.setId(null));
+                try {
+                    transactionTemplate.execute(status -> save(Collections.singletonList(item)));
+                    results.add(BatchItemResultDTO.created(item.index, item.pedido.getId()));
+                } catch (BadRequestAlertException itemException) {
+                    results.add(BatchItemResultDTO.rejected(item.index, itemException.getErrorKey()));
+                } catch (RuntimeException itemException) {
+                    log.debug("Could not save pedido {} : {}", item.index, itemException.getMessage());
+                    results.add(BatchItemResultDTO.failed(item.index, "persistencefailed"));
+                }
+            }
+        }
+        chunk.clear();
+    }
+
+    private static boolean isMalformed(RuntimeException e) {
+        return e instanceof RuntimeJsonMappingException || e.getCause() instanceof JsonProcessingException;
+    }
+
+    private Void save(List<Item> items) {
+        pedidoService.precificar(items.stream().map(item -> item.pedido).collect(Collectors.toList()));
+        for (Item item : items) {
+            pedidoRepository.save(item.pedido);
+        }
+        vendasDiariasService.marcarDias(items.stream().map(item -> item.pedido.getData()).collect(Collectors.toList()));
+        return null;
+    }
+
+    private static final class Item {
+
+        private final int index;
+
+        private final Pedido pedido;
+
+        private Item(int index, Pedido pedido) {
+            this.index = index;
+            this.pedido = pedido;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.jhipster.application.service;
+
+import javax.persistence.EntityManager;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.github.jhipster.application.domain.Pedido;
+import io.github.jhipster.application.domain.*; // for static metamodels
+import io.github.jhipster.application.service.dto.PedidoCriteria;
+import io.github.jhipster.service.filter.LongFilter;
+
+/**
+ * Service for executing complex queries for Pedido entities in the database.
+ * The main input is a {@link PedidoCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link Slice} of {@link Pedido} which fulfills the criteria.
+ * <p>
+ * The pedidos are read in keyset pages, as the unfiltered list of PedidoResource.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PedidoQueryService extends SliceQueryService<Pedido> {
+
+    private final Logger log = LoggerFactory.getLogger(PedidoQueryService.class);
+
+    public PedidoQueryService(EntityManager entityManager) {
+        super(entityManager, Pedido.class, "Pedido.usuario");
+    }
+
+    /**
+     * Return a keyset page of {@link Pedido} which matches the criteria from the database
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param after The id of the last pedido of the previous page.
+     * @param size The maximum number of pedidos to return.
+     * @return the matching entities, in the order of their ids.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Pedido> findByCriteriaAfter(PedidoCriteria criteria, Long after, int size) {
+        log.debug("find by criteria : {}, after: {}", criteria, after);
+        LongFilter cursor = new LongFilter();
+        cursor.setGreaterThan(after);
+        final Specification<Pedido> specification = createSpecification(criteria)
+            .and(buildRangeSpecification(cursor, Pedido_.id));
+        return findSlice(specification, PageRequest.of(0, size, Sort.by("id")));
+    }
+
+    /**
+     * Function to convert PedidoCriteria to a {@link Specification}
+     */
+    private Specification<Pedido> createSpecification(PedidoCriteria criteria) {
+        Specification<Pedido> specification = Specification.where(null);
+        if (criteria != null) {
+            if (criteria.getId() != null) {
+                specification = specification.and(buildSpecification(criteria.getId(), Pedido_.id));
+            }
+            if (criteria.getData() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getData(), Pedido_.data));
+            }
+            if (criteria.getTotalCentavos() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getTotalCentavos(), Pedido_.totalCentavos));
+            }
+            if (criteria.getUsuarioId() != null) {
+                specification = specification.and(buildReferringEntitySpecification(criteria.getUsuarioId(), Pedido_.usuario, Usuario_.id));
+            }
+        }
+        return specification;
+    }
+}
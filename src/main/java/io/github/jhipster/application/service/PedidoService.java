@@ -0,0 +1,392 @@
+package io.github.jhipster.application.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.jhipster.application.domain.Pedido;
+import io.github.jhipster.application.domain.PedidoItem;
+import io.github.jhipster.application.domain.Produto;
+import io.github.jhipster.application.domain.Usuario;
+import io.github.jhipster.application.repository.PedidoItemRepository;
+import io.github.jhipster.application.repository.PedidoRepository;
+import io.github.jhipster.application.repository.ProdutoRepository;
+import io.github.jhipster.application.repository.UsuarioRepository;
+import io.github.jhipster.application.service.dto.PatchOperationDTO;
+import io.github.jhipster.application.web.rest.errors.BadRequestAlertException;
+import io.github.jhipster.application.web.rest.errors.EstoqueInsuficienteException;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for saving and deleting Pedido.
+ * <p>
+ * The items of a pedido are priced when they are saved: a new item takes the current preco of its produto,
+ * an item already saved keeps the preco it was added at, and the total of the pedido is the sum of its items.
+ * A pedido has one item per produto.
+ * The reports and the order history read these stored numbers rather than the current prices.
+ * <p>
+ * A single item can also be added, changed or removed without reading the other items of the pedido: the item
+ * is found through its pedido and produto, and the total is updated by the difference. Pedido and PedidoItem
+ * are dynamically updated, so only the changed columns are written. The row of the pedido is locked first, so
+ * concurrent changes of a pedido are applied one after the other: none of them is lost from the total, and a
+ * produto added twice at once ends up in one item.
+ * <p>
+ * Once a pedido is reserved, the changes of its items, and its deletion, reserve or release the difference of
+ * their quantities through {@link EstoqueService#ajustarReserva(Long, Map)}, in the same transaction.
+ * <p>
+ * The days of the pedidos written are listed for the daily sales rollup in the same transaction, see
+ * {@link VendasDiariasService}.
+ */
+@Service
+@Transactional
+public class PedidoService {
+
+    private static final String ENTITY_NAME = "candyShopPedido";
+
+    private final Logger log = LoggerFactory.getLogger(PedidoService.class);
+
+    private final PedidoRepository pedidoRepository;
+
+    private final PedidoItemRepository pedidoItemRepository;
+
+    private final ProdutoRepository produtoRepository;
+
+    private final UsuarioRepository usuarioRepository;
+
+    private final VendasDiariasService vendasDiariasService;
+
+    private final EstoqueService estoqueService;
+
+    public PedidoService(PedidoRepository pedidoRepository, PedidoItemRepository pedidoItemRepository,
+                         ProdutoRepository produtoRepository, UsuarioRepository usuarioRepository,
+                         VendasDiariasService vendasDiariasService, EstoqueService estoqueService) {
+        this.pedidoRepository = pedidoRepository;
+        this.pedidoItemRepository = pedidoItemRepository;
+        this.produtoRepository = produtoRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.vendasDiariasService = vendasDiariasService;
+        this.estoqueService = estoqueService;
+    }
+
+    /**
+     * Save a pedido.
+     *
+     * @param pedido the pedido to save
+     * @return the persisted pedido
+     * @throws BadRequestAlertException if an item has no produto, an unknown produto, or no quantity
+     * @throws EstoqueInsuficienteException if the pedido is reserved
+     * and a produto does not have enough stock for the quantities raised
+     */
+    public Pedido save(Pedido pedido) {
+        log.debug("Request to save Pedido : {}", pedido);
+        Map<Long, Integer> anteriores = Collections.emptyMap();
+        if (pedido.getId() != null) {
+            // Its items are read and written below
+            pedidoRepository.findOneForUpdate(pedido.getId());
+            anteriores = quantidades(pedidoItemRepository.findByPedidoIdIn(Collections.singleton(pedido.getId())));
+            // Its day may change
+            vendasDiariasService.marcarDiaDoPedido(pedido.getId());
+        }
+        precificar(Collections.singletonList(pedido));
+        if (pedido.getId() != null) {
+            Map<Long, Integer> diferencas = quantidades(pedido.getItens());
+            anteriores.forEach((produtoId, quantidade) -> diferencas.merge(produtoId, -quantidade, Integer::sum));
+            estoqueService.ajustarReserva(pedido.getId(), diferencas);
+        }
+        Pedido result = pedidoRepository.save(pedido);
+        vendasDiariasService.marcarDias(Collections.singleton(result.getData()));
+        return result;
+    }
+
+    /**
+     * Price the items of pedidos about to be saved, and compute their totals.
+     * <p>
+     * The produtos of all the items are loaded in one query, and the items already saved of the pedidos in another.
+     * The items of the same produto in a pedido are merged into one. The item of a produto the pedido already had
+     * is saved over the stored one, and keeps its preco; any other item is saved as a new item.
+     *
+     * @param pedidos the pedidos to price
+     * @throws BadRequestAlertException if an item has no produto, an unknown produto, or no quantity
+     */
+    public void precificar(Collection<Pedido> pedidos) {
+        Set<Long> produtoIds = new HashSet<>();
+        Set<Long> pedidoIds = new HashSet<>();
+        for (Pedido pedido : pedidos) {
+            for (PedidoItem item : pedido.getItens()) {
+                if (item.getProduto() == null || item.getProduto().getId() == null) {
+                    throw new BadRequestAlertException("An item must have a produto", ENTITY_NAME, "produtonull");
+                }
+                if (item.getQuantidade() == null || item.getQuantidade() < 1) {
+                    throw new BadRequestAlertException("An item must have a quantity of at least 1", ENTITY_NAME, "invalidquantidade");
+                }
+                produtoIds.add(item.getProduto().getId());
+            }
+            if (pedido.getId() != null) {
+                pedidoIds.add(pedido.getId());
+            }
+        }
+        Map<Long, Produto> produtos = produtoRepository.findAllById(produtoIds).stream()
+            .collect(Collectors.toMap(Produto::getId, Function.identity()));
+        Map<Long, Map<Long, PedidoItem>> salvos = pedidoIds.isEmpty() ? Collections.emptyMap()
+            : pedidoItemRepository.findByPedidoIdIn(pedidoIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getPedido().getId(),
+                    Collectors.toMap(item -> item.getProduto().getId(), Function.identity())));
+        for (Pedido pedido : pedidos) {
+            Map<Long, PedidoItem> salvosDoPedido = salvos.getOrDefault(pedido.getId(), Collections.emptyMap());
+            Map<Long, PedidoItem> itens = new LinkedHashMap<>();
+            for (PedidoItem item : pedido.getItens()) {
+                Produto produto = produtos.get(item.getProduto().getId());
+                if (produto == null) {
+                    throw new BadRequestAlertException("Unknown produto " + item.getProduto().getId(), ENTITY_NAME, "produtonotfound");
+                }
+                PedidoItem mesmoProduto = itens.get(produto.getId());
+                if (mesmoProduto != null) {
+                    mesmoProduto.setQuantidade(Math.addExact(mesmoProduto.getQuantidade(), item.getQuantidade()));
+                    continue;
+                }
+                item.setPedido(pedido);
+                item.setProduto(produto);
+                PedidoItem salvo = salvosDoPedido.get(produto.getId());
+                if (salvo != null) {
+                    item.setId(salvo.getId());
+                    item.setPrecoUnitarioCentavos(salvo.getPrecoUnitarioCentavos());
+                } else {
+                    item.setId(null);
+                    item.setPrecoUnitarioCentavos(toCentavos(produto));
+                }
+                itens.put(produto.getId(), item);
+            }
+            // Added again, as the ids set above change the hash codes of the items
+            pedido.getItens().clear();
+            pedido.getItens().addAll(itens.values());
+            long total = 0;
+            for (PedidoItem item : itens.values()) {
+                total = Math.addExact(total, Math.multiplyExact(item.getPrecoUnitarioCentavos(), (long) item.getQuantidade()));
+            }
+            pedido.setTotalCentavos(total);
+        }
+    }
+
+    /**
+     * Add a quantity of a produto to a pedido.
+     * <p>
+     * If the pedido already has an item of the produto, its quantity is increased and it keeps its preco,
+     * otherwise a new item is added at the current preco of the produto.
+     *
+     * @param pedidoId the id of the pedido
+     * @param produtoId the id of the produto
+     * @param quantidade the quantity to add
+     * @return the item of the produto, or empty if the pedido does not exist
+     * @throws BadRequestAlertException if the produto does not exist, or the quantity is less than 1
+     * @throws EstoqueInsuficienteException if the pedido is reserved and a produto does not have enough stock
+     */
+    public Optional<PedidoItem> adicionarProduto(Long pedidoId, Long produtoId, int quantidade) {
+        log.debug("Request to add {} Produto {} to Pedido : {}", quantidade, produtoId, pedidoId);
+        return pedidoRepository.findOneForUpdate(pedidoId).map(pedido -> {
+            Map<Long, Integer> diferencas = new HashMap<>();
+            PedidoItem item = adicionarProduto(pedido, produtoId, quantidade, diferencas);
+            estoqueService.ajustarReserva(pedidoId, diferencas);
+            vendasDiariasService.marcarDias(Collections.singleton(pedido.getData()));
+            return item;
+        });
+    }
+
+    /**
+     * Remove the item of a produto from a pedido.
+     *
+     * @param pedidoId the id of the pedido
+     * @param produtoId the id of the produto
+     * @return false if the pedido does not exist or has no item of the produto
+     */
+    public boolean removerProduto(Long pedidoId, Long produtoId) {
+        log.debug("Request to remove Produto {} from Pedido : {}", produtoId, pedidoId);
+        Optional<Pedido> pedido = pedidoRepository.findOneForUpdate(pedidoId);
+        if (!pedido.isPresent()) {
+            return false;
+        }
+        Optional<PedidoItem> item = pedidoItemRepository.findOneByPedidoIdAndProdutoId(pedidoId, produtoId);
+        Map<Long, Integer> diferencas = new HashMap<>();
+        item.ifPresent(pedidoItem -> removerItem(pedido.get(), pedidoItem, diferencas));
+        estoqueService.ajustarReserva(pedidoId, diferencas);
+        vendasDiariasService.marcarDias(Collections.singleton(pedido.get().getData()));
+        return item.isPresent();
+    }
+
+    /**
+     * Apply a JSON Patch to a pedido, as a whole: if an operation fails, none is applied.
+     * <p>
+     * The supported operations are:
+     * <ul>
+     * <li>replace /data, with a date or null</li>
+     * <li>replace /usuario, with a usuario as {"id": 1} or null, and remove /usuario</li>
+     * <li>add /itens/-, with an item as {"produto": {"id": 1}, "quantidade": 2}, added as by
+     * {@link #adicionarProduto(Long, Long, int)}</li>
+     * <li>replace /itens/{itemId}/quantidade, with a quantity</li>
+     * <li>remove /itens/{itemId}</li>
+     * </ul>
+     * The items are addressed by their id rather than by their index, as the items of a pedido have no order.
+     *
+     * @param pedidoId the id of the pedido
+     * @param operacoes the operations of the patch, applied in order
+     * @return false if the pedido does not exist
+     * @throws BadRequestAlertException if an operation is not supported or not valid
+     * @throws EstoqueInsuficienteException if the pedido is reserved and a produto does not have enough stock
+     */
+    public boolean aplicarPatch(Long pedidoId, List<PatchOperationDTO> operacoes) {
+        log.debug("Request to patch Pedido {} : {}", pedidoId, operacoes);
+        Optional<Pedido> result = pedidoRepository.findOneForUpdate(pedidoId);
+        if (!result.isPresent()) {
+            return false;
+        }
+        Pedido pedido = result.get();
+        Set<LocalDate> dias = new HashSet<>();
+        dias.add(pedido.getData());
+        Map<Long, Integer> diferencas = new HashMap<>();
+        for (PatchOperationDTO operacao : operacoes) {
+            aplicar(pedido, operacao, diferencas);
+        }
+        estoqueService.ajustarReserva(pedidoId, diferencas);
+        dias.add(pedido.getData());
+        vendasDiariasService.marcarDias(dias);
+        return true;
+    }
+
+    private void aplicar(Pedido pedido, PatchOperationDTO operacao, Map<Long, Integer> diferencas) {
+        String op = String.valueOf(operacao.getOp());
+        String[] path = String.valueOf(operacao.getPath()).split("/", -1);
+        JsonNode value = operacao.getValue();
+        if (path.length == 2 && "/data".equals(operacao.getPath()) && "replace".equals(op)) {
+            pedido.setData(value == null || value.isNull() ? null : toData(value));
+        } else if (path.length == 2 && "/usuario".equals(operacao.getPath()) && ("replace".equals(op) || "remove".equals(op))) {
+            pedido.setUsuario("remove".equals(op) || value == null || value.isNull() ? null : toUsuario(value));
+        } else if (path.length == 3 && "/itens/-".equals(operacao.getPath()) && "add".equals(op)) {
+            if (value == null || !value.path("produto").path("id").canConvertToLong()) {
+                throw new BadRequestAlertException("An item must have a produto", ENTITY_NAME, "produtonull");
+            }
+            adicionarProduto(pedido, value.path("produto").path("id").asLong(), value.path("quantidade").asInt(), diferencas);
+        } else if (path.length == 3 && "itens".equals(path[1]) && "remove".equals(op)) {
+            removerItem(pedido, findItem(pedido, path[2]), diferencas);
+        } else if (path.length == 4 && "itens".equals(path[1]) && "quantidade".equals(path[3]) && "replace".equals(op)) {
+            PedidoItem item = findItem(pedido, path[2]);
+            int quantidade = value == null ? 0 : value.asInt();
+            validarQuantidade(quantidade);
+            somarAoTotal(pedido, item.getPrecoUnitarioCentavos(), quantidade - item.getQuantidade());
+            diferencas.merge(item.getProduto().getId(), quantidade - item.getQuantidade(), Integer::sum);
+            item.setQuantidade(quantidade);
+        } else {
+            throw new BadRequestAlertException("Unsupported patch operation " + op + " " + operacao.getPath(), ENTITY_NAME, "invalidpatch");
+        }
+    }
+
+    private PedidoItem adicionarProduto(Pedido pedido, Long produtoId, int quantidade, Map<Long, Integer> diferencas) {
+        validarQuantidade(quantidade);
+        Produto produto = produtoRepository.findById(produtoId)
+            .orElseThrow(() -> new BadRequestAlertException("Unknown produto " + produtoId, ENTITY_NAME, "produtonotfound"));
+        PedidoItem item = pedidoItemRepository.findOneByPedidoIdAndProdutoId(pedido.getId(), produtoId).orElse(null);
+        if (item != null) {
+            item.setQuantidade(Math.addExact(item.getQuantidade(), quantidade));
+        } else {
+            item = new PedidoItem().produto(produto).quantidade(quantidade).precoUnitarioCentavos(toCentavos(produto));
+            item.setPedido(pedido);
+            // The item is only added to the items of the pedido if they are loaded, not to load the whole basket
+            if (Hibernate.isInitialized(pedido.getItens())) {
+                pedido.getItens().add(item);
+            }
+            pedidoItemRepository.save(item);
+        }
+        somarAoTotal(pedido, item.getPrecoUnitarioCentavos(), quantidade);
+        diferencas.merge(produtoId, quantidade, Integer::sum);
+        return item;
+    }
+
+    private void removerItem(Pedido pedido, PedidoItem item, Map<Long, Integer> diferencas) {
+        somarAoTotal(pedido, item.getPrecoUnitarioCentavos(), -item.getQuantidade());
+        diferencas.merge(item.getProduto().getId(), -item.getQuantidade(), Integer::sum);
+        if (Hibernate.isInitialized(pedido.getItens())) {
+            pedido.getItens().remove(item);
+        }
+        pedidoItemRepository.delete(item);
+    }
+
+    private PedidoItem findItem(Pedido pedido, String itemId) {
+        Optional<PedidoItem> item;
+        try {
+            item = pedidoItemRepository.findById(Long.valueOf(itemId));
+        } catch (NumberFormatException e) {
+            item = Optional.empty();
+        }
+        return item.filter(pedidoItem -> pedido.getId().equals(pedidoItem.getPedido().getId()))
+            .orElseThrow(() -> new BadRequestAlertException("Unknown item " + itemId, ENTITY_NAME, "itemnotfound"));
+    }
+
+    private Usuario toUsuario(JsonNode value) {
+        long usuarioId = value.path("id").asLong();
+        return usuarioRepository.findById(usuarioId)
+            .orElseThrow(() -> new BadRequestAlertException("Unknown usuario " + usuarioId, ENTITY_NAME, "usuarionotfound"));
+    }
+
+    private static LocalDate toData(JsonNode value) {
+        try {
+            return LocalDate.parse(value.asText());
+        } catch (DateTimeParseException e) {
+            throw new BadRequestAlertException("Invalid date " + value, ENTITY_NAME, "invalidpatch");
+        }
+    }
+
+    private static void validarQuantidade(int quantidade) {
+        if (quantidade < 1) {
+            throw new BadRequestAlertException("An item must have a quantity of at least 1", ENTITY_NAME, "invalidquantidade");
+        }
+    }
+
+    private static void somarAoTotal(Pedido pedido, long precoUnitarioCentavos, long quantidade) {
+        long total = pedido.getTotalCentavos() == null ? 0 : pedido.getTotalCentavos();
+        pedido.setTotalCentavos(Math.addExact(total, Math.multiplyExact(precoUnitarioCentavos, quantidade)));
+    }
+
+    private static Map<Long, Integer> quantidades(Collection<PedidoItem> itens) {
+        Map<Long, Integer> quantidades = new HashMap<>();
+        for (PedidoItem item : itens) {
+            quantidades.merge(item.getProduto().getId(), item.getQuantidade(), Integer::sum);
+        }
+        return quantidades;
+    }
+
+    private static long toCentavos(Produto produto) {
+        if (produto.getPreco() == null) {
+            throw new BadRequestAlertException("The produto " + produto.getId() + " has no preco", ENTITY_NAME, "produtosempreco");
+        }
+        return produto.getPreco().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * Delete a pedido. The stock of a reserved pedido is released.
+     *
+     * @param id the id of the pedido
+     */
+    public void delete(Long id) {
+        log.debug("Request to delete Pedido : {}", id);
+        Map<Long, Integer> diferencas = new HashMap<>();
+        quantidades(pedidoItemRepository.findByPedidoIdIn(Collections.singleton(id)))
+            .forEach((produtoId, quantidade) -> diferencas.put(produtoId, -quantidade));
+        estoqueService.ajustarReserva(id, diferencas);
+        vendasDiariasService.marcarDiaDoPedido(id);
+        pedidoRepository.deleteById(id);
+    }
+}
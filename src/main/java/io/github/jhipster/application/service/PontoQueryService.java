@@ -0,0 +1,86 @@
+package io.github.jhipster.application.service;
+
+import javax.persistence.EntityManager;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.github.jhipster.application.domain.Ponto;
+import io.github.jhipster.application.domain.*; // for static metamodels
+import io.github.jhipster.application.repository.PontoRepository;
+import io.github.jhipster.application.service.dto.PontoCriteria;
+
+/**
+ * Service for executing complex queries for Ponto entities in the database.
+ * The main input is a {@link PontoCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link Page} or a {@link Slice} of {@link Ponto} which fulfills the criteria.
+ * <p>
+ * A range of data only reads the partitions of its months, see PartitionMaintenanceService.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PontoQueryService extends SliceQueryService<Ponto> {
+
+    private final Logger log = LoggerFactory.getLogger(PontoQueryService.class);
+
+    private final PontoRepository pontoRepository;
+
+    public PontoQueryService(PontoRepository pontoRepository, EntityManager entityManager) {
+        super(entityManager, Ponto.class, null);
+        this.pontoRepository = pontoRepository;
+    }
+
+    /**
+     * Return a {@link Page} of {@link Ponto} which matches the criteria from the database
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<Ponto> findByCriteria(PontoCriteria criteria, Pageable page) {
+        log.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<Ponto> specification = createSpecification(criteria);
+        return pontoRepository.findAll(specification, page);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link Ponto} which matches the criteria from the database, without counting them
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Ponto> findSliceByCriteria(PontoCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        return findSlice(createSpecification(criteria), page);
+    }
+
+    /**
+     * Function to convert PontoCriteria to a {@link Specification}
+     */
+    private Specification<Ponto> createSpecification(PontoCriteria criteria) {
+        Specification<Ponto> specification = Specification.where(null);
+        if (criteria != null) {
+            if (criteria.getId() != null) {
+                specification = specification.and(buildSpecification(criteria.getId(), Ponto_.id));
+            }
+            if (criteria.getQuantidade() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getQuantidade(), Ponto_.quantidade));
+            }
+            if (criteria.getData() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getData(), Ponto_.data));
+            }
+            if (criteria.getUsuarioId() != null) {
+                specification = specification.and(buildReferringEntitySpecification(criteria.getUsuarioId(), Ponto_.usuario, Usuario_.id));
+            }
+        }
+        return specification;
+    }
+}
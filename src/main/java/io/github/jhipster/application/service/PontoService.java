@@ -0,0 +1,114 @@
+package io.github.jhipster.application.service;
+
+import io.github.jhipster.application.domain.Ponto;
+import io.github.jhipster.application.repository.PontoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Service for the loyalty points (pontos) of Usuario.
+ * <p>
+ * The balance of each usuario is kept in the saldo_pontos table and updated in the transaction that saves or
+ * deletes a ponto, so reading a balance is a single primary key lookup, however many pontos the usuario has.
+ * The balances are only changed through "set saldo = saldo + ?" updates, so concurrent accruals of the same
+ * usuario never lose each other's points; they are applied in usuario id order, so they cannot deadlock.
+ */
+@Service
+@Transactional
+public class PontoService {
+
+    private final Logger log = LoggerFactory.getLogger(PontoService.class);
+
+    private final PontoRepository pontoRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PontoService(PontoRepository pontoRepository, JdbcTemplate jdbcTemplate) {
+        this.pontoRepository = pontoRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Save a ponto, and move its quantity to the balance of its usuario.
+     *
+     * @param ponto the ponto to save
+     * @return the persisted ponto
+     */
+    public Ponto save(Ponto ponto) {
+        log.debug("Request to save Ponto : {}", ponto);
+        SortedMap<Long, Long> variacoes = new TreeMap<>();
+        if (ponto.getId() != null) {
+            findAnterior(ponto.getId()).ifPresent(anterior -> variar(variacoes, anterior[0], -anterior[1]));
+        }
+        Ponto result = pontoRepository.save(ponto);
+        if (result.getUsuario() != null && result.getQuantidade() != null) {
+            variar(variacoes, result.getUsuario().getId(), result.getQuantidade());
+        }
+        variacoes.forEach(this::creditar);
+        return result;
+    }
+
+    /**
+     * Delete a ponto, and remove its quantity from the balance of its usuario.
+     *
+     * @param id the id of the ponto
+     */
+    public void delete(Long id) {
+        log.debug("Request to delete Ponto : {}", id);
+        Optional<long[]> anterior = findAnterior(id);
+        pontoRepository.deleteById(id);
+        anterior.ifPresent(ponto -> creditar(ponto[0], -ponto[1]));
+    }
+
+    /**
+     * Get the points balance of a usuario.
+     *
+     * @param usuarioId the id of the usuario
+     * @return the balance, or empty if the usuario does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> getSaldo(Long usuarioId) {
+        List<Long> saldo = jdbcTemplate.query(
+            "select coalesce(s.saldo, 0) from usuario u left join saldo_pontos s on s.usuario_id = u.id where u.id = ?",
+            (rs, rowNum) -> rs.getLong(1), usuarioId);
+        return saldo.stream().findFirst();
+    }
+
+    /**
+     * The usuario and quantity of a persisted ponto, read under the lock of its row so a concurrent change of
+     * the same ponto cannot be counted twice.
+     */
+    private Optional<long[]> findAnterior(Long pontoId) {
+        List<long[]> anterior = jdbcTemplate.query(
+            "select usuario_id, quantidade from ponto where id = ? and usuario_id is not null and quantidade is not null for update",
+            (rs, rowNum) -> new long[] { rs.getLong(1), rs.getLong(2) }, pontoId);
+        return anterior.stream().findFirst();
+    }
+
+    private void variar(Map<Long, Long> variacoes, Long usuarioId, long quantidade) {
+        variacoes.merge(usuarioId, quantidade, Long::sum);
+    }
+
+    private void creditar(Long usuarioId, long quantidade) {
+        if (quantidade == 0) {
+            return;
+        }
+        if (jdbcTemplate.update("update saldo_pontos set saldo = saldo + ? where usuario_id = ?", quantidade, usuarioId) == 1) {
+            return;
+        }
+        // First ponto of the usuario: locking the usuario row serializes the creation of its balance
+        jdbcTemplate.query("select id from usuario where id = ? for update", (rs, rowNum) -> rs.getLong(1), usuarioId);
+        if (jdbcTemplate.update("update saldo_pontos set saldo = saldo + ? where usuario_id = ?", quantidade, usuarioId) == 0) {
+            jdbcTemplate.update("insert into saldo_pontos (usuario_id, saldo) values (?, ?)", usuarioId, quantidade);
+        }
+    }
+}
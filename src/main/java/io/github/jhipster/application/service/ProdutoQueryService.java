@@ -0,0 +1,88 @@
+package io.github.jhipster.application.service;
+
+import javax.persistence.EntityManager;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.github.jhipster.application.domain.Produto;
+import io.github.jhipster.application.domain.*; // for static metamodels
+import io.github.jhipster.application.repository.ProdutoRepository;
+import io.github.jhipster.application.service.dto.ProdutoCriteria;
+
+/**
+ * Service for executing complex queries for Produto entities in the database.
+ * The main input is a {@link ProdutoCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link Page} or a {@link Slice} of {@link Produto} which fulfills the criteria.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ProdutoQueryService extends SliceQueryService<Produto> {
+
+    private final Logger log = LoggerFactory.getLogger(ProdutoQueryService.class);
+
+    private final ProdutoRepository produtoRepository;
+
+    public ProdutoQueryService(ProdutoRepository produtoRepository, EntityManager entityManager) {
+        super(entityManager, Produto.class, "Produto.categoria");
+        this.produtoRepository = produtoRepository;
+    }
+
+    /**
+     * Return a {@link Page} of {@link Produto} which matches the criteria from the database
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<Produto> findByCriteria(ProdutoCriteria criteria, Pageable page) {
+        log.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<Produto> specification = createSpecification(criteria);
+        return produtoRepository.findAll(specification, page);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link Produto} which matches the criteria from the database, without counting them
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Produto> findSliceByCriteria(ProdutoCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        return findSlice(createSpecification(criteria), page);
+    }
+
+    /**
+     * Function to convert ProdutoCriteria to a {@link Specification}.
+     * The estoque criteria filter on the stock available, which for a produto in hot mode is in its stripes.
+     */
+    private Specification<Produto> createSpecification(ProdutoCriteria criteria) {
+        Specification<Produto> specification = Specification.where(null);
+        if (criteria != null) {
+            if (criteria.getId() != null) {
+                specification = specification.and(buildSpecification(criteria.getId(), Produto_.id));
+            }
+            if (criteria.getNome() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getNome(), Produto_.nome));
+            }
+            if (criteria.getPreco() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getPreco(), Produto_.preco));
+            }
+            if (criteria.getEstoque() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getEstoque(), Produto_.estoqueDisponivel));
+            }
+            if (criteria.getCategoriaId() != null) {
+                specification = specification.and(buildReferringEntitySpecification(criteria.getCategoriaId(), Produto_.categoria, Categoria_.id));
+            }
+        }
+        return specification;
+    }
+}
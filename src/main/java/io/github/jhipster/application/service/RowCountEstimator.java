@@ -0,0 +1,81 @@
+package io.github.jhipster.application.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Service estimating the number of rows of a table, for the paginated responses requested with count=estimated.
+ * <p>
+ * On PostgreSQL the estimate is read from the statistics of pg_class, kept up to date by autovacuum, and summed
+ * over the partitions of a partitioned table. On other databases, as the H2 database of development and tests,
+ * the tables are counted once, then recounted in the background every
+ * application.pagination.count-refresh-delay-millis.
+ */
+@Service
+public class RowCountEstimator {
+
+    private static final Pattern TABLE_NAME = Pattern.compile("[a-z_]+");
+
+    private static final String RELTUPLES_SQL =
+        "select cast(coalesce(sum(greatest(c.reltuples, 0)), 0) as bigint) from pg_class c" +
+        " where c.relkind in ('r', 'p') and pg_table_is_visible(c.oid)" +
+        " and (c.relname = ? or c.oid in (select i.inhrelid from pg_inherits i" +
+        " join pg_class p on p.oid = i.inhparent where p.relname = ? and pg_table_is_visible(p.oid)))";
+
+    private final Logger log = LoggerFactory.getLogger(RowCountEstimator.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<String, Long> counts = new ConcurrentHashMap<>();
+
+    private Boolean postgreSQL;
+
+    public RowCountEstimator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Estimate the number of rows of a table.
+     *
+     * @param table the name of the table, e.g. "produto"
+     * @return the estimated number of rows
+     */
+    public long estimate(String table) {
+        if (!TABLE_NAME.matcher(table).matches()) {
+            throw new IllegalArgumentException("Invalid table name: " + table);
+        }
+        if (isPostgreSQL()) {
+            return jdbcTemplate.queryForObject(RELTUPLES_SQL, Long.class, table, table);
+        }
+        return counts.computeIfAbsent(table, this::count);
+    }
+
+    /**
+     * Recount the tables whose row count has been requested.
+     */
+    @Scheduled(fixedDelayString = "${application.pagination.count-refresh-delay-millis:300000}")
+    public void refreshCounts() {
+        counts.replaceAll((table, count) -> count(table));
+        log.debug("Refreshed the row counts of {} tables", counts.size());
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+    }
+
+    private boolean isPostgreSQL() {
+        if (postgreSQL == null) {
+            postgreSQL = "PostgreSQL".equals(jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgreSQL;
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.jhipster.application.service;
+
+import io.github.jhipster.service.QueryService;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCHGRAPH;
+
+/**
+ * Base service for the criteria query services, reading the pages of a Specification without counting them.
+ * <p>
+ * JpaSpecificationExecutor only reads Pages, which always run a count query: like the Slice queries of the
+ * repositories, {@link #findSlice(Specification, Pageable)} reads one more entity than the size of the page to
+ * know whether there is a next one.
+ *
+ * @param <ENTITY> the type of the entity queried
+ */
+public abstract class SliceQueryService<ENTITY> extends QueryService<ENTITY> {
+
+    private final EntityManager entityManager;
+
+    private final Class<ENTITY> domainClass;
+
+    private final String entityGraph;
+
+    /**
+     * @param entityManager the entity manager
+     * @param domainClass the class of the entity queried
+     * @param entityGraph the name of the entity graph loaded with the entities, or null
+     */
+    protected SliceQueryService(EntityManager entityManager, Class<ENTITY> domainClass, String entityGraph) {
+        this.entityManager = entityManager;
+        this.domainClass = domainClass;
+        this.entityGraph = entityGraph;
+    }
+
+    /**
+     * Read a page of the entities matching a Specification, without counting them.
+     *
+     * @param specification the specification of the entities
+     * @param pageable the pagination and sort information
+     * @return the page
+     */
+    protected Slice<ENTITY> findSlice(Specification<ENTITY> specification, Pageable pageable) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ENTITY> criteriaQuery = builder.createQuery(domainClass);
+        Root<ENTITY> root = criteriaQuery.from(domainClass);
+        Predicate predicate = specification.toPredicate(root, criteriaQuery, builder);
+        if (predicate != null) {
+            criteriaQuery.where(predicate);
+        }
+        criteriaQuery.select(root);
+        if (pageable.getSort().isSorted()) {
+            criteriaQuery.orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+        }
+        TypedQuery<ENTITY> query = entityManager.createQuery(criteriaQuery);
+        if (entityGraph != null) {
+            query.setHint(HINT_FETCHGRAPH, entityManager.getEntityGraph(entityGraph));
+        }
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(query.getResultList(), pageable, false);
+        }
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize() + 1);
+        List<ENTITY> content = query.getResultList();
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+}
@@ -0,0 +1,173 @@
+package io.github.jhipster.application.service;
+
+import io.github.jhipster.application.service.dto.VendaDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Service for the daily sales rollup: the vendas_diarias table holds the number of units of each produto
+ * ordered each day, and their value in cents, so a report over a year reads a few rows per day instead of
+ * every pedido.
+ * <p>
+ * The services writing pedidos list the days they change in vendas_diarias_pendentes, in the same
+ * transaction, and {@link #atualizar()} recomputes these days only. A day is unlisted in the transaction that
+ * recomputes it, before it is recomputed, so a pedido committed meanwhile leaves its day listed for the next
+ * run. The reports are therefore up to application.vendas-diarias.refresh-delay-millis late.
+ * <p>
+ * Every node runs {@link #atualizar()}: a day is recomputed once its listed rows are locked, so a node waits for
+ * the one recomputing the same day, and skips it if it was unlisted meanwhile. A day that still fails stays listed
+ * for the next run, and the other days are recomputed.
+ * <p>
+ * The value of the sales is computed with the preco stored in the items of the pedidos, the preco of the
+ * produtos when they were ordered.
+ */
+@Service
+public class VendasDiariasService {
+
+    /**
+     * How the sales of a report are grouped.
+     */
+    public enum Agrupamento {
+        DIA, CATEGORIA, PRODUTO
+    }
+
+    private final Logger log = LoggerFactory.getLogger(VendasDiariasService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public VendasDiariasService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * List days to recompute.
+     *
+     * @param dias the days whose pedidos change, null days are ignored
+     */
+    @Transactional
+    public void marcarDias(Collection<LocalDate> dias) {
+        List<Object[]> parametros = dias.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .map(dia -> new Object[] { Date.valueOf(dia) })
+            .collect(Collectors.toList());
+        if (!parametros.isEmpty()) {
+            jdbcTemplate.batchUpdate("insert into vendas_diarias_pendentes (dia) values (?)", parametros);
+        }
+    }
+
+    /**
+     * List the day of a pedido, as it is in the database, to recompute it.
+     * Called before the pedido is updated or deleted.
+     *
+     * @param pedidoId the id of the pedido
+     */
+    @Transactional
+    public void marcarDiaDoPedido(Long pedidoId) {
+        jdbcTemplate.update(
+            "insert into vendas_diarias_pendentes (dia) select data from pedido where id = ? and data is not null",
+            pedidoId);
+    }
+
+    /**
+     * Recompute the listed days, one transaction per day.
+     */
+    @Scheduled(fixedDelayString = "${application.vendas-diarias.refresh-delay-millis:60000}")
+    public void atualizar() {
+        List<LocalDate> dias = jdbcTemplate.queryForList(
+            "select distinct dia from vendas_diarias_pendentes", Date.class).stream()
+            .map(Date::toLocalDate)
+            .collect(Collectors.toList());
+        for (LocalDate dia : dias) {
+            try {
+                transactionTemplate.execute(status -> recalcular(dia));
+            } catch (DataAccessException e) {
+                log.warn("Could not recompute the vendas of {}, it will be retried : {}", dia, e.getMessage());
+            }
+        }
+        if (!dias.isEmpty()) {
+            log.debug("Recomputed the vendas of {} days", dias.size());
+        }
+    }
+
+    private Void recalcular(LocalDate dia) {
+        Date data = Date.valueOf(dia);
+        if (jdbcTemplate.queryForList("select dia from vendas_diarias_pendentes where dia = ? for update", Date.class, data).isEmpty()) {
+            // Recomputed by another node meanwhile
+            return null;
+        }
+        jdbcTemplate.update("delete from vendas_diarias_pendentes where dia = ?", data);
+        jdbcTemplate.update("delete from vendas_diarias where dia = ?", data);
+        jdbcTemplate.update(
+            "insert into vendas_diarias (dia, produto_id, quantidade, valor_centavos)" +
+            " select pedido.data, pedido_item.produto_id, sum(pedido_item.quantidade)," +
+            " sum(pedido_item.quantidade * pedido_item.preco_unitario_centavos)" +
+            " from pedido join pedido_item on pedido_item.pedido_id = pedido.id" +
+            " where pedido.data = ?" +
+            " group by pedido.data, pedido_item.produto_id", data);
+        return null;
+    }
+
+    /**
+     * Get the sales between two days.
+     *
+     * @param inicio the first day
+     * @param fim the last day
+     * @param agrupamento how to group the sales
+     * @return the sales of each group, in the order of the days or of the ids
+     */
+    @Transactional(readOnly = true)
+    public List<VendaDTO> getVendas(LocalDate inicio, LocalDate fim, Agrupamento agrupamento) {
+        String from = " from vendas_diarias join produto on produto.id = vendas_diarias.produto_id" +
+            " left join categoria on categoria.id = produto.categoria_id" +
+            " where vendas_diarias.dia between ? and ?";
+        String totais = "sum(vendas_diarias.quantidade) as quantidade," +
+            " sum(vendas_diarias.valor_centavos) as valor_centavos";
+        switch (agrupamento) {
+            case CATEGORIA:
+                return jdbcTemplate.query("select categoria.id, categoria.nome, " + totais + from +
+                        " group by categoria.id, categoria.nome order by categoria.id",
+                    (rs, rowNum) -> VendaDTO.porCategoria(rs.getObject(1, Long.class), rs.getString(2),
+                        rs.getLong("quantidade"), getValor(rs)),
+                    Date.valueOf(inicio), Date.valueOf(fim));
+            case PRODUTO:
+                return jdbcTemplate.query("select produto.id, produto.nome, " + totais + from +
+                        " group by produto.id, produto.nome order by produto.id",
+                    (rs, rowNum) -> VendaDTO.porProduto(rs.getLong(1), rs.getString(2),
+                        rs.getLong("quantidade"), getValor(rs)),
+                    Date.valueOf(inicio), Date.valueOf(fim));
+            default:
+                // The produtos are not needed to group by day
+                return jdbcTemplate.query("select vendas_diarias.dia, " + totais + " from vendas_diarias" +
+                        " where vendas_diarias.dia between ? and ?" +
+                        " group by vendas_diarias.dia order by vendas_diarias.dia",
+                    (rs, rowNum) -> VendaDTO.porDia(rs.getDate(1).toLocalDate(),
+                        rs.getLong("quantidade"), getValor(rs)),
+                    Date.valueOf(inicio), Date.valueOf(fim));
+        }
+    }
+
+    private BigDecimal getValor(ResultSet rs) throws SQLException {
+        return BigDecimal.valueOf(rs.getLong("valor_centavos"), 2);
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.jhipster.application.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.io.Serializable;
+
+/**
+ * A DTO giving the outcome of one item of a bulk ingestion.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int index;
+
+    private final int status;
+
+    private final Long id;
+
+    private final String error;
+
+    private BatchItemResultDTO(int index, int status, Long id, String error) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.error = error;
+    }
+
+    public static BatchItemResultDTO created(int index, Long id) {
+        return new BatchItemResultDTO(index, 201, id, null);
+    }
+
+    public static BatchItemResultDTO rejected(int index, String error) {
+        return new BatchItemResultDTO(index, 400, null, error);
+    }
+
+    public static BatchItemResultDTO failed(int index, String error) {
+        return new BatchItemResultDTO(index, 500, null, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchItemResultDTO{" +
+            "index=" + index +
+            ", status=" + status +
+            ", id=" + id +
+            ", error='" + error + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.jhipster.application.service.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A DTO for one operation of a JSON Patch document (RFC 6902).
+ */
+public class PatchOperationDTO {
+
+    public static final String APPLICATION_JSON_PATCH_VALUE = "application/json-patch+json";
+
+    private String op;
+
+    private String path;
+
+    private JsonNode value;
+
+    public PatchOperationDTO() {
+    }
+
+    public PatchOperationDTO(String op, String path, JsonNode value) {
+        this.op = op;
+        this.path = path;
+        this.value = value;
+    }
+
+    public String getOp() {
+        return op;
+    }
+
+    public void setOp(String op) {
+        this.op = op;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public JsonNode getValue() {
+        return value;
+    }
+
+    public void setValue(JsonNode value) {
+        this.value = value;
+    }
+
+    @Override
+    public String toString() {
+        return "PatchOperationDTO{" +
+            "op='" + op + "'" +
+            ", path='" + path + "'" +
+            ", value=" + value +
+            "}";
+    }
+}
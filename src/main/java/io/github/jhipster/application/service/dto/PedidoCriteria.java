@@ -0,0 +1,100 @@
+package io.github.jhipster.application.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+import io.github.jhipster.service.filter.Filter;
+import io.github.jhipster.service.filter.LocalDateFilter;
+import io.github.jhipster.service.filter.LongFilter;
+
+/**
+ * Criteria class for the Pedido entity. This class is used in PedidoResource to
+ * receive all the possible filtering options from the Http GET request parameters.
+ * For example the following could be a valid requests:
+ * <code> /pedidos?data.greaterThan=2018-11-01&amp;usuarioId.equals=1</code>
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+public class PedidoCriteria implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private LocalDateFilter data;
+
+    private LongFilter totalCentavos;
+
+    private LongFilter usuarioId;
+
+    public PedidoCriteria() {
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public LocalDateFilter getData() {
+        return data;
+    }
+
+    public void setData(LocalDateFilter data) {
+        this.data = data;
+    }
+
+    public LongFilter getTotalCentavos() {
+        return totalCentavos;
+    }
+
+    public void setTotalCentavos(LongFilter totalCentavos) {
+        this.totalCentavos = totalCentavos;
+    }
+
+    public LongFilter getUsuarioId() {
+        return usuarioId;
+    }
+
+    public void setUsuarioId(LongFilter usuarioId) {
+        this.usuarioId = usuarioId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final PedidoCriteria that = (PedidoCriteria) o;
+        return
+            Objects.equals(id, that.id) &&
+            Objects.equals(data, that.data) &&
+            Objects.equals(totalCentavos, that.totalCentavos) &&
+            Objects.equals(usuarioId, that.usuarioId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+        id,
+        data,
+        totalCentavos,
+        usuarioId
+        );
+    }
+
+    @Override
+    public String toString() {
+        return "PedidoCriteria{" +
+                (id != null ? "id=" + id + ", " : "") +
+                (data != null ? "data=" + data + ", " : "") +
+                (totalCentavos != null ? "totalCentavos=" + totalCentavos + ", " : "") +
+                (usuarioId != null ? "usuarioId=" + usuarioId + ", " : "") +
+            "}";
+    }
+
+}
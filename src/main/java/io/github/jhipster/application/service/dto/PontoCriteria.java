@@ -0,0 +1,101 @@
+package io.github.jhipster.application.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+import io.github.jhipster.service.filter.Filter;
+import io.github.jhipster.service.filter.IntegerFilter;
+import io.github.jhipster.service.filter.LocalDateFilter;
+import io.github.jhipster.service.filter.LongFilter;
+
+/**
+ * Criteria class for the Ponto entity. This class is used in PontoResource to
+ * receive all the possible filtering options from the Http GET request parameters.
+ * For example the following could be a valid requests:
+ * <code> /pontos?data.greaterThan=2018-11-01&amp;usuarioId.specified=true</code>
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+public class PontoCriteria implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private IntegerFilter quantidade;
+
+    private LocalDateFilter data;
+
+    private LongFilter usuarioId;
+
+    public PontoCriteria() {
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public IntegerFilter getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(IntegerFilter quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    public LocalDateFilter getData() {
+        return data;
+    }
+
+    public void setData(LocalDateFilter data) {
+        this.data = data;
+    }
+
+    public LongFilter getUsuarioId() {
+        return usuarioId;
+    }
+
+    public void setUsuarioId(LongFilter usuarioId) {
+        this.usuarioId = usuarioId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final PontoCriteria that = (PontoCriteria) o;
+        return
+            Objects.equals(id, that.id) &&
+            Objects.equals(quantidade, that.quantidade) &&
+            Objects.equals(data, that.data) &&
+            Objects.equals(usuarioId, that.usuarioId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+        id,
+        quantidade,
+        data,
+        usuarioId
+        );
+    }
+
+    @Override
+    public String toString() {
+        return "PontoCriteria{" +
+                (id != null ? "id=" + id + ", " : "") +
+                (quantidade != null ? "quantidade=" + quantidade + ", " : "") +
+                (data != null ? "data=" + data + ", " : "") +
+                (usuarioId != null ? "usuarioId=" + usuarioId + ", " : "") +
+            "}";
+    }
+
+}
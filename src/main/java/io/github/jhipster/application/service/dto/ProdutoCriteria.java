@@ -0,0 +1,115 @@
+package io.github.jhipster.application.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+import io.github.jhipster.service.filter.BigDecimalFilter;
+import io.github.jhipster.service.filter.Filter;
+import io.github.jhipster.service.filter.IntegerFilter;
+import io.github.jhipster.service.filter.LongFilter;
+import io.github.jhipster.service.filter.StringFilter;
+
+/**
+ * Criteria class for the Produto entity. This class is used in ProdutoResource to
+ * receive all the possible filtering options from the Http GET request parameters.
+ * For example the following could be a valid requests:
+ * <code> /produtos?nome.contains=doce&amp;estoque.lessThan=10</code>
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+public class ProdutoCriteria implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private StringFilter nome;
+
+    private BigDecimalFilter preco;
+
+    private IntegerFilter estoque;
+
+    private LongFilter categoriaId;
+
+    public ProdutoCriteria() {
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getNome() {
+        return nome;
+    }
+
+    public void setNome(StringFilter nome) {
+        this.nome = nome;
+    }
+
+    public BigDecimalFilter getPreco() {
+        return preco;
+    }
+
+    public void setPreco(BigDecimalFilter preco) {
+        this.preco = preco;
+    }
+
+    public IntegerFilter getEstoque() {
+        return estoque;
+    }
+
+    public void setEstoque(IntegerFilter estoque) {
+        this.estoque = estoque;
+    }
+
+    public LongFilter getCategoriaId() {
+        return categoriaId;
+    }
+
+    public void setCategoriaId(LongFilter categoriaId) {
+        this.categoriaId = categoriaId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final ProdutoCriteria that = (ProdutoCriteria) o;
+        return
+            Objects.equals(id, that.id) &&
+            Objects.equals(nome, that.nome) &&
+            Objects.equals(preco, that.preco) &&
+            Objects.equals(estoque, that.estoque) &&
+            Objects.equals(categoriaId, that.categoriaId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+        id,
+        nome,
+        preco,
+        estoque,
+        categoriaId
+        );
+    }
+
+    @Override
+    public String toString() {
+        return "ProdutoCriteria{" +
+                (id != null ? "id=" + id + ", " : "") +
+                (nome != null ? "nome=" + nome + ", " : "") +
+                (preco != null ? "preco=" + preco + ", " : "") +
+                (estoque != null ? "estoque=" + estoque + ", " : "") +
+                (categoriaId != null ? "categoriaId=" + categoriaId + ", " : "") +
+            "}";
+    }
+
+}
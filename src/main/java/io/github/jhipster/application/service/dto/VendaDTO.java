@@ -0,0 +1,94 @@
+package io.github.jhipster.application.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A DTO giving the sales of a day, of a categoria or of a produto: the units ordered and their value.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class VendaDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private LocalDate dia;
+
+    private Long categoriaId;
+
+    private String categoriaNome;
+
+    private Long produtoId;
+
+    private String produtoNome;
+
+    private long quantidade;
+
+    private BigDecimal valor;
+
+    public static VendaDTO porDia(LocalDate dia, long quantidade, BigDecimal valor) {
+        VendaDTO venda = new VendaDTO(quantidade, valor);
+        venda.dia = dia;
+        return venda;
+    }
+
+    public static VendaDTO porCategoria(Long categoriaId, String categoriaNome, long quantidade, BigDecimal valor) {
+        VendaDTO venda = new VendaDTO(quantidade, valor);
+        venda.categoriaId = categoriaId;
+        venda.categoriaNome = categoriaNome;
+        return venda;
+    }
+
+    public static VendaDTO porProduto(Long produtoId, String produtoNome, long quantidade, BigDecimal valor) {
+        VendaDTO venda = new VendaDTO(quantidade, valor);
+        venda.produtoId = produtoId;
+        venda.produtoNome = produtoNome;
+        return venda;
+    }
+
+    private VendaDTO(long quantidade, BigDecimal valor) {
+        this.quantidade = quantidade;
+        this.valor = valor;
+    }
+
+    public LocalDate getDia() {
+        return dia;
+    }
+
+    public Long getCategoriaId() {
+        return categoriaId;
+    }
+
+    public String getCategoriaNome() {
+        return categoriaNome;
+    }
+
+    public Long getProdutoId() {
+        return produtoId;
+    }
+
+    public String getProdutoNome() {
+        return produtoNome;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    @Override
+    public String toString() {
+        return "VendaDTO{" +
+            "dia=" + dia +
+            ", categoriaId=" + categoriaId +
+            ", produtoId=" + produtoId +
+            ", quantidade=" + quantidade +
+            ", valor=" + valor +
+            "}";
+    }
+}
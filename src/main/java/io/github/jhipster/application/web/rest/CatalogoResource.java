@@ -0,0 +1,39 @@
+package io.github.jhipster.application.web.rest;
+
+import com.codahale.metrics.annotation.Timed;
+import io.github.jhipster.application.domain.Produto;
+import io.github.jhipster.application.service.CatalogoService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for the catalog reads, served from the cache.
+ */
+@RestController
+@RequestMapping("/api")
+public class CatalogoResource {
+
+    private final Logger log = LoggerFactory.getLogger(CatalogoResource.class);
+
+    private final CatalogoService catalogoService;
+
+    public CatalogoResource(CatalogoService catalogoService) {
+        this.catalogoService = catalogoService;
+    }
+
+    /**
+     * GET  /catalogo/categorias/:id/produtos : get the produtos of the "id" categoria.
+     *
+     * @param id the id of the categoria
+     * @return the list of produtos of the categoria, sorted by name
+     */
+    @GetMapping("/catalogo/categorias/{id}/produtos")
+    @Timed
+    public List<Produto> getProdutosByCategoria(@PathVariable Long id) {
+        log.debug("REST request to get the catalog of Categoria : {}", id);
+        return catalogoService.findProdutosByCategoria(id);
+    }
+}
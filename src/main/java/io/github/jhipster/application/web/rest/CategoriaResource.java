@@ -3,11 +3,18 @@ package io.github.jhipster.application.web.rest;
 import com.codahale.metrics.annotation.Timed;
 import io.github.jhipster.application.domain.Categoria;
 import io.github.jhipster.application.repository.CategoriaRepository;
+import io.github.jhipster.application.service.RowCountEstimator;
 import io.github.jhipster.application.web.rest.errors.BadRequestAlertException;
+import io.github.jhipster.application.web.rest.util.CountStrategy;
 import io.github.jhipster.application.web.rest.util.HeaderUtil;
+import io.github.jhipster.application.web.rest.util.PaginationUtil;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -30,8 +37,11 @@ public class CategoriaResource {
 
     private CategoriaRepository categoriaRepository;
 
-    public CategoriaResource(CategoriaRepository categoriaRepository) {
+    private final RowCountEstimator rowCountEstimator;
+
+    public CategoriaResource(CategoriaRepository categoriaRepository, RowCountEstimator rowCountEstimator) {
         this.categoriaRepository = categoriaRepository;
+        this.rowCountEstimator = rowCountEstimator;
     }
 
     /**
@@ -77,15 +87,24 @@ public class CategoriaResource {
     }
 
     /**
-     * GET  /categorias : get all the categorias.
+     * GET  /categorias : get a page of the categorias.
      *
+     * @param pageable the pagination and sort information, the size is capped by spring.data.web.pageable.max-page-size
+     * @param count the count strategy: exact, estimated or none, see CountStrategy
      * @return the ResponseEntity with status 200 (OK) and the list of categorias in body
      */
     @GetMapping("/categorias")
     @Timed
-    public List<Categoria> getAllCategorias() {
-        log.debug("REST request to get all Categorias");
-        return categoriaRepository.findAll();
+    public ResponseEntity<List<Categoria>> getAllCategorias(Pageable pageable,
+                                                            @RequestParam(name = CountStrategy.PARAMETER, defaultValue = "exact") String count) {
+        log.debug("REST request to get a page of Categorias");
+        CountStrategy countStrategy = CountStrategy.fromParameter(count, ENTITY_NAME);
+        Slice<Categoria> page = countStrategy == CountStrategy.EXACT
+            ? categoriaRepository.findAll(pageable)
+            : categoriaRepository.findSlice(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/categorias", countStrategy,
+            () -> rowCountEstimator.estimate("categoria"));
+        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
     }
 
     /**
@@ -1,21 +1,46 @@
 package io.github.jhipster.application.web.rest;
 
 import com.codahale.metrics.annotation.Timed;
+import com.fasterxml.jackson.databind.MappingIterator;
 import io.github.jhipster.application.domain.Pedido;
+import io.github.jhipster.application.domain.PedidoItem;
 import io.github.jhipster.application.repository.PedidoRepository;
+import io.github.jhipster.application.service.EstoqueService;
+import io.github.jhipster.application.service.NdjsonStreamService;
+import io.github.jhipster.application.service.PedidoBatchService;
+import io.github.jhipster.application.service.PedidoQueryService;
+import io.github.jhipster.application.service.PedidoService;
+import io.github.jhipster.application.service.dto.BatchItemResultDTO;
+import io.github.jhipster.application.service.dto.PatchOperationDTO;
+import io.github.jhipster.application.service.dto.PedidoCriteria;
 import io.github.jhipster.application.web.rest.errors.BadRequestAlertException;
 import io.github.jhipster.application.web.rest.util.HeaderUtil;
+import io.github.jhipster.application.web.rest.util.CountStrategy;
+import io.github.jhipster.application.web.rest.util.PaginationUtil;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 
+import java.time.LocalDate;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * REST controller for managing Pedido.
@@ -28,10 +53,29 @@ public class PedidoResource {
 
     private static final String ENTITY_NAME = "candyShopPedido";
 
+    private static final int MAX_KEYSET_LIMIT = 1000;
+
     private PedidoRepository pedidoRepository;
 
-    public PedidoResource(PedidoRepository pedidoRepository) {
+    private final NdjsonStreamService ndjsonStreamService;
+
+    private final PedidoBatchService pedidoBatchService;
+
+    private final EstoqueService estoqueService;
+
+    private final PedidoService pedidoService;
+
+    private final PedidoQueryService pedidoQueryService;
+
+    public PedidoResource(PedidoRepository pedidoRepository, NdjsonStreamService ndjsonStreamService,
+                          PedidoBatchService pedidoBatchService, EstoqueService estoqueService,
+                          PedidoService pedidoService, PedidoQueryService pedidoQueryService) {
         this.pedidoRepository = pedidoRepository;
+        this.ndjsonStreamService = ndjsonStreamService;
+        this.pedidoBatchService = pedidoBatchService;
+        this.estoqueService = estoqueService;
+        this.pedidoService = pedidoService;
+        this.pedidoQueryService = pedidoQueryService;
     }
 
     /**
@@ -48,12 +92,66 @@ public class PedidoResource {
         if (pedido.getId() != null) {
             throw new BadRequestAlertException("A new pedido cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        Pedido result = pedidoRepository.save(pedido);
+        Pedido result = pedidoService.save(pedido);
         return ResponseEntity.created(new URI("/api/pedidos/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(ENTITY_NAME, result.getId().toString()))
             .body(result);
     }
 
+    /**
+     * POST  /pedidos/batch : Create new pedidos in bulk, from a JSON array.
+     *
+     * @param pedidos the pedidos to create
+     * @return the ResponseEntity with status 200 (OK) and with body the outcome of each pedido
+     */
+    @PostMapping(value = "/pedidos/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Timed
+    public ResponseEntity<List<BatchItemResultDTO>> createPedidos(@RequestBody List<Pedido> pedidos) {
+        log.debug("REST request to save {} Pedidos", pedidos.size());
+        return ResponseEntity.ok(pedidoBatchService.saveAll(pedidos.iterator()));
+    }
+
+    /**
+     * POST  /pedidos/batch : Create new pedidos in bulk, from newline-delimited JSON.
+     * <p>
+     * The body is parsed while the pedidos are saved, so it is never held in memory as a whole.
+     * A malformed line ends the ingestion: the pedidos before it are saved, and it is reported with
+     * the "invalidstream" error.
+     *
+     * @param request the HTTP request holding one pedido per line
+     * @return the ResponseEntity with status 200 (OK) and with body the outcome of each pedido read
+     * @throws IOException if the request cannot be read
+     */
+    @PostMapping(value = "/pedidos/batch", consumes = NdjsonStreamService.APPLICATION_NDJSON_VALUE)
+    @Timed
+    public ResponseEntity<List<BatchItemResultDTO>> createPedidosFromStream(HttpServletRequest request) throws IOException {
+        log.debug("REST request to save a stream of Pedidos");
+        try (MappingIterator<Pedido> pedidos = ndjsonStreamService.read(request.getInputStream(), Pedido.class)) {
+            return ResponseEntity.ok(pedidoBatchService.saveAll(pedidos));
+        }
+    }
+
+    /**
+     * POST  /pedidos/:id/reserva : reserve the stock of the produtos of the "id" pedido.
+     * <p>
+     * The stock of all the produtos is reserved in a single transaction: either every produto is
+     * reserved, or none is. A pedido is reserved once: reserving it again, e.g. when a client retries,
+     * does not take the stock a second time.
+     *
+     * @param id the id of the pedido to reserve
+     * @return the ResponseEntity with status 200 (OK), or with status 400 (Bad Request) if a produto is out of stock,
+     * or with status 404 (Not Found)
+     */
+    @PostMapping("/pedidos/{id}/reserva")
+    @Timed
+    public ResponseEntity<Void> reservarPedido(@PathVariable Long id) {
+        log.debug("REST request to reserve the stock of Pedido : {}", id);
+        if (!estoqueService.reservarPedido(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().headers(HeaderUtil.createAlert("candyShopApp." + ENTITY_NAME + ".reserved", id.toString())).build();
+    }
+
     /**
      * PUT  /pedidos : Updates an existing pedido.
      *
@@ -70,23 +168,211 @@ public class PedidoResource {
         if (pedido.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        Pedido result = pedidoRepository.save(pedido);
+        Pedido result = pedidoService.save(pedido);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, pedido.getId().toString()))
             .body(result);
     }
 
     /**
-     * GET  /pedidos : get all the pedidos.
+     * PATCH  /pedidos/:id : Partial update of the "id" pedido, from a JSON Patch.
+     * <p>
+     * Only the fields and items named by the patch are read and written, so the cost of a patch does not depend
+     * on the number of items of the pedido. See {@link PedidoService#aplicarPatch} for the supported operations.
+     *
+     * @param id the id of the pedido to update
+     * @param operacoes the operations of the JSON Patch
+     * @return the ResponseEntity with status 200 (OK), or with status 400 (Bad Request) if an operation is not valid,
+     * or with status 404 (Not Found)
+     */
+    @PatchMapping(value = "/pedidos/{id}", consumes = PatchOperationDTO.APPLICATION_JSON_PATCH_VALUE)
+    @Timed
+    public ResponseEntity<Void> patchPedido(@PathVariable Long id, @RequestBody List<PatchOperationDTO> operacoes) {
+        log.debug("REST request to patch Pedido : {}", id);
+        if (!pedidoService.aplicarPatch(id, operacoes)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().headers(HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, id.toString())).build();
+    }
+
+    /**
+     * POST  /pedidos/:id/produtos/:produtoId : Add a quantity of a produto to the "id" pedido.
+     *
+     * @param id the id of the pedido
+     * @param produtoId the id of the produto to add
+     * @param quantidade the quantity to add
+     * @return the ResponseEntity with status 200 (OK) and with body the item of the produto,
+     * or with status 400 (Bad Request) if the produto does not exist, or with status 404 (Not Found)
+     */
+    @PostMapping("/pedidos/{id}/produtos/{produtoId}")
+    @Timed
+    public ResponseEntity<PedidoItem> addProdutoToPedido(@PathVariable Long id, @PathVariable Long produtoId,
+                                                         @RequestParam(required = false, defaultValue = "1") int quantidade) {
+        log.debug("REST request to add {} Produto {} to Pedido : {}", quantidade, produtoId, id);
+        Optional<PedidoItem> item = pedidoService.adicionarProduto(id, produtoId, quantidade);
+        return ResponseUtil.wrapOrNotFound(item, HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, id.toString()));
+    }
+
+    /**
+     * DELETE  /pedidos/:id/produtos/:produtoId : Remove a produto from the "id" pedido.
+     *
+     * @param id the id of the pedido
+     * @param produtoId the id of the produto to remove
+     * @return the ResponseEntity with status 200 (OK), or with status 404 (Not Found) if the pedido does not exist
+     * or has not the produto
+     */
+    @DeleteMapping("/pedidos/{id}/produtos/{produtoId}")
+    @Timed
+    public ResponseEntity<Void> removeProdutoFromPedido(@PathVariable Long id, @PathVariable Long produtoId) {
+        log.debug("REST request to remove Produto {} from Pedido : {}", produtoId, id);
+        if (!pedidoService.removerProduto(id, produtoId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().headers(HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, id.toString())).build();
+    }
+
+    /**
+     * GET  /pedidos : get a keyset page of the pedidos matching the criteria, e.g. data.greaterThan=2018-11-01,
+     * usuarioId.equals=1.
+     * <p>
+     * Pages are addressed by the id of the last pedido of the previous page, so the cost of a page does not
+     * depend on its depth. The criteria are applied by the database. The "next" page is given in the Link header,
+     * which keeps the criteria.
      *
+     * @param criteria the criteria which the requested pedidos should match
+     * @param after the id of the last pedido of the previous page
+     * @param limit the maximum number of pedidos to return
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many)
+     * @param request the HTTP request, whose criteria are kept in the links
      * @return the ResponseEntity with status 200 (OK) and the list of pedidos in body
      */
     @GetMapping("/pedidos")
     @Timed
-    public List<Pedido> getAllPedidos(@RequestParam(required = false, defaultValue = "false") boolean eagerload) {
-        log.debug("REST request to get all Pedidos");
-        return pedidoRepository.findAllWithEagerRelationships();
+    public ResponseEntity<List<Pedido>> getAllPedidos(PedidoCriteria criteria,
+                                                      @RequestParam(required = false, defaultValue = "0") Long after,
+                                                      @RequestParam(required = false, defaultValue = "20") int limit,
+                                                      @RequestParam(required = false, defaultValue = "false") boolean eagerload,
+                                                      HttpServletRequest request) {
+        log.debug("REST request to get a page of Pedidos by criteria: {}, after : {}", criteria, after);
+        int size = Math.max(1, Math.min(limit, MAX_KEYSET_LIMIT));
+        // Fetch one extra row to know if there is a next page, without counting the table
+        Pageable window = PageRequest.of(0, size + 1);
+        List<Pedido> pedidos;
+        boolean hasNext;
+        if (!criteria.equals(new PedidoCriteria())) {
+            Slice<Pedido> page = pedidoQueryService.findByCriteriaAfter(criteria, after, size);
+            hasNext = page.hasNext();
+            pedidos = page.getContent();
+            if (eagerload && !pedidos.isEmpty()) {
+                pedidos = pedidoRepository.findAllWithEagerRelationshipsByIdIn(
+                    pedidos.stream().map(Pedido::getId).collect(Collectors.toList()));
+            }
+        } else if (eagerload) {
+            List<Long> ids = pedidoRepository.findIdsAfter(after, window);
+            hasNext = ids.size() > size;
+            if (hasNext) {
+                ids = ids.subList(0, size);
+            }
+            pedidos = ids.isEmpty() ? Collections.emptyList() : pedidoRepository.findAllWithEagerRelationshipsByIdIn(ids);
+        } else {
+            pedidos = pedidoRepository.findAllAfter(after, window);
+            hasNext = pedidos.size() > size;
+            if (hasNext) {
+                pedidos = pedidos.subList(0, size);
+            }
+        }
+        Long nextCursor = hasNext ? pedidos.get(pedidos.size() - 1).getId() : null;
+        String baseUrl = PaginationUtil.generateFilteredBaseUrl(request, "after", "limit");
+        HttpHeaders headers = PaginationUtil.generateKeysetPaginationHttpHeaders(baseUrl, nextCursor, size);
+        return ResponseEntity.ok().headers(headers).body(pedidos);
+    }
+
+    /**
+     * GET  /usuarios/:id/pedidos : get a page of the pedidos of the "id" usuario.
+     *
+     * @param id the id of the usuario
+     * @param pageable the pagination and sort information, e.g. sort=data,desc
+     * @param count the count strategy: exact or none, estimated is read as none
+     * @return the ResponseEntity with status 200 (OK) and the list of pedidos in body
+     */
+    @GetMapping("/usuarios/{id}/pedidos")
+    @Timed
+    public ResponseEntity<List<Pedido>> getPedidosByUsuario(@PathVariable Long id, Pageable pageable,
+                                                            @RequestParam(name = CountStrategy.PARAMETER, defaultValue = "exact") String count) {
+        log.debug("REST request to get a page of the Pedidos of Usuario : {}", id);
+        CountStrategy countStrategy = CountStrategy.fromParameter(count, ENTITY_NAME);
+        Slice<Pedido> page = countStrategy == CountStrategy.EXACT
+            ? pedidoRepository.findByUsuarioId(id, pageable)
+            : pedidoRepository.findSliceByUsuarioId(id, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/usuarios/" + id + "/pedidos",
+            countStrategy, null);
+        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * GET  /produtos/:id/pedidos : get a page of the pedidos with the "id" produto.
+     *
+     * @param id the id of the produto
+     * @param pageable the pagination and sort information, e.g. sort=data,desc
+     * @param count the count strategy: exact or none, estimated is read as none
+     * @return the ResponseEntity with status 200 (OK) and the list of pedidos in body
+     */
+    @GetMapping("/produtos/{id}/pedidos")
+    @Timed
+    public ResponseEntity<List<Pedido>> getPedidosByProduto(@PathVariable Long id, Pageable pageable,
+                                                            @RequestParam(name = CountStrategy.PARAMETER, defaultValue = "exact") String count) {
+        log.debug("REST request to get a page of the Pedidos of Produto : {}", id);
+        CountStrategy countStrategy = CountStrategy.fromParameter(count, ENTITY_NAME);
+        Slice<Pedido> page = countStrategy == CountStrategy.EXACT
+            ? pedidoRepository.findByProdutoId(id, pageable)
+            : pedidoRepository.findSliceByProdutoId(id, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/produtos/" + id + "/pedidos",
+            countStrategy, null);
+        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * GET  /pedidos/periodo : get a page of the pedidos made between two dates.
+     *
+     * @param inicio the first day of the period
+     * @param fim the last day of the period
+     * @param pageable the pagination and sort information
+     * @param count the count strategy: exact or none, estimated is read as none
+     * @return the ResponseEntity with status 200 (OK) and the list of pedidos in body
+     */
+    @GetMapping("/pedidos/periodo")
+    @Timed
+    public ResponseEntity<List<Pedido>> getPedidosByPeriodo(@RequestParam LocalDate inicio, @RequestParam LocalDate fim,
+                                                            Pageable pageable,
+                                                            @RequestParam(name = CountStrategy.PARAMETER, defaultValue = "exact") String count) {
+        log.debug("REST request to get a page of the Pedidos from {} to {}", inicio, fim);
+        CountStrategy countStrategy = CountStrategy.fromParameter(count, ENTITY_NAME);
+        Slice<Pedido> page = countStrategy == CountStrategy.EXACT
+            ? pedidoRepository.findByDataBetween(inicio, fim, pageable)
+            : pedidoRepository.findSliceByDataBetween(inicio, fim, pageable);
+        String baseUrl = UriComponentsBuilder.fromPath("/api/pedidos/periodo")
+            .queryParam("inicio", inicio)
+            .queryParam("fim", fim)
+            .toUriString();
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, baseUrl, countStrategy, null);
+        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * GET  /pedidos/stream : stream all the pedidos as newline-delimited JSON.
+     * <p>
+     * The pedidos are read through a database cursor and written one by one to the response,
+     * so the memory used does not depend on the size of the table.
+     *
+     * @param response the HTTP response the pedidos are written to
+     * @throws IOException if the response cannot be written
+     */
+    @GetMapping("/pedidos/stream")
+    @Timed
+    public void streamPedidos(HttpServletResponse response) throws IOException {
+        log.debug("REST request to stream all Pedidos");
+        response.setContentType(NdjsonStreamService.APPLICATION_NDJSON_VALUE);
+        ndjsonStreamService.write(pedidoRepository::streamAll, response.getOutputStream());
     }
 
     /**
@@ -114,7 +400,7 @@ public class PedidoResource {
     public ResponseEntity<Void> deletePedido(@PathVariable Long id) {
         log.debug("REST request to delete Pedido : {}", id);
 
-        pedidoRepository.deleteById(id);
+        pedidoService.delete(id);
         return ResponseEntity.ok().headers(HeaderUtil.createEntityDeletionAlert(ENTITY_NAME, id.toString())).build();
     }
 }
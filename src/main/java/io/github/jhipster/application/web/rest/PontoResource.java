@@ -3,17 +3,35 @@ package io.github.jhipster.application.web.rest;
 import com.codahale.metrics.annotation.Timed;
 import io.github.jhipster.application.domain.Ponto;
 import io.github.jhipster.application.repository.PontoRepository;
+import io.github.jhipster.application.service.NdjsonStreamService;
+import io.github.jhipster.application.service.PontoQueryService;
+import io.github.jhipster.application.service.PontoService;
+import io.github.jhipster.application.service.RowCountEstimator;
+import io.github.jhipster.application.service.dto.PontoCriteria;
 import io.github.jhipster.application.web.rest.errors.BadRequestAlertException;
+import io.github.jhipster.application.web.rest.util.CountStrategy;
 import io.github.jhipster.application.web.rest.util.HeaderUtil;
+import io.github.jhipster.application.web.rest.util.PaginationUtil;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.Valid;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,8 +48,21 @@ public class PontoResource {
 
     private PontoRepository pontoRepository;
 
-    public PontoResource(PontoRepository pontoRepository) {
+    private final NdjsonStreamService ndjsonStreamService;
+
+    private final PontoService pontoService;
+
+    private final RowCountEstimator rowCountEstimator;
+
+    private final PontoQueryService pontoQueryService;
+
+    public PontoResource(PontoRepository pontoRepository, NdjsonStreamService ndjsonStreamService, PontoService pontoService,
+                         RowCountEstimator rowCountEstimator, PontoQueryService pontoQueryService) {
         this.pontoRepository = pontoRepository;
+        this.ndjsonStreamService = ndjsonStreamService;
+        this.pontoService = pontoService;
+        this.rowCountEstimator = rowCountEstimator;
+        this.pontoQueryService = pontoQueryService;
     }
 
     /**
@@ -43,12 +74,12 @@ public class PontoResource {
      */
     @PostMapping("/pontos")
     @Timed
-    public ResponseEntity<Ponto> createPonto(@RequestBody Ponto ponto) throws URISyntaxException {
+    public ResponseEntity<Ponto> createPonto(@Valid @RequestBody Ponto ponto) throws URISyntaxException {
         log.debug("REST request to save Ponto : {}", ponto);
         if (ponto.getId() != null) {
             throw new BadRequestAlertException("A new ponto cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        Ponto result = pontoRepository.save(ponto);
+        Ponto result = pontoService.save(ponto);
         return ResponseEntity.created(new URI("/api/pontos/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(ENTITY_NAME, result.getId().toString()))
             .body(result);
@@ -65,27 +96,84 @@ public class PontoResource {
      */
     @PutMapping("/pontos")
     @Timed
-    public ResponseEntity<Ponto> updatePonto(@RequestBody Ponto ponto) throws URISyntaxException {
+    public ResponseEntity<Ponto> updatePonto(@Valid @RequestBody Ponto ponto) throws URISyntaxException {
         log.debug("REST request to update Ponto : {}", ponto);
         if (ponto.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        Ponto result = pontoRepository.save(ponto);
+        Ponto result = pontoService.save(ponto);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, ponto.getId().toString()))
             .body(result);
     }
 
     /**
-     * GET  /pontos : get all the pontos.
+     * GET  /pontos : get a page of the pontos matching the criteria, e.g. data.greaterThan=2018-11-01.
+     * <p>
+     * The criteria are applied by the database, and a range of data only reads the partitions of its months.
+     * A filtered list has no estimated count, count=estimated is read as count=none. The links of the other
+     * pages keep the criteria.
      *
+     * @param criteria the criteria which the requested pontos should match
+     * @param pageable the pagination and sort information, the size is capped by spring.data.web.pageable.max-page-size
+     * @param count the count strategy: exact, estimated or none, see CountStrategy
+     * @param request the HTTP request, whose criteria are kept in the links
      * @return the ResponseEntity with status 200 (OK) and the list of pontos in body
      */
     @GetMapping("/pontos")
     @Timed
-    public List<Ponto> getAllPontos() {
-        log.debug("REST request to get all Pontos");
-        return pontoRepository.findAll();
+    public ResponseEntity<List<Ponto>> getAllPontos(PontoCriteria criteria, Pageable pageable,
+                                                    @RequestParam(name = CountStrategy.PARAMETER, defaultValue = "exact") String count,
+                                                    HttpServletRequest request) {
+        log.debug("REST request to get a page of Pontos by criteria: {}", criteria);
+        CountStrategy countStrategy = CountStrategy.fromParameter(count, ENTITY_NAME);
+        Slice<Ponto> page = countStrategy == CountStrategy.EXACT
+            ? pontoQueryService.findByCriteria(criteria, pageable)
+            : pontoQueryService.findSliceByCriteria(criteria, pageable);
+        boolean filtered = !criteria.equals(new PontoCriteria());
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, PaginationUtil.generateFilteredBaseUrl(request),
+            countStrategy, filtered ? null : () -> rowCountEstimator.estimate("ponto"));
+        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * GET  /usuarios/:id/pontos : get a page of the pontos earned by the "id" usuario between two dates.
+     *
+     * @param id the id of the usuario
+     * @param inicio the first day of the period
+     * @param fim the last day of the period
+     * @param pageable the pagination and sort information
+     * @return the ResponseEntity with status 200 (OK) and the list of pontos in body
+     */
+    @GetMapping("/usuarios/{id}/pontos")
+    @Timed
+    public ResponseEntity<List<Ponto>> getPontosByUsuario(@PathVariable Long id, @RequestParam LocalDate inicio,
+                                                          @RequestParam LocalDate fim, Pageable pageable) {
+        log.debug("REST request to get a page of the Pontos of Usuario {} from {} to {}", id, inicio, fim);
+        Page<Ponto> page = pontoRepository.findByUsuarioIdAndDataBetween(id, inicio, fim, pageable);
+        String baseUrl = UriComponentsBuilder.fromPath("/api/usuarios/" + id + "/pontos")
+            .queryParam("inicio", inicio)
+            .queryParam("fim", fim)
+            .toUriString();
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, baseUrl);
+        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * GET  /pontos/stream : stream all the pontos as newline-delimited JSON.
+     * <p>
+     * The pontos are read through a database cursor and written one by one to the response,
+     * so the memory used does not depend on the size of the table.
+     *
+     * @param response the HTTP response the pontos are written to
+     * @throws IOException if the response cannot be written
+     */
+    @GetMapping("/pontos/stream")
+    @Timed
+    public void streamPontos(HttpServletResponse response) throws IOException {
+        log.debug("REST request to stream all Pontos");
+        response.setContentType(NdjsonStreamService.APPLICATION_NDJSON_VALUE);
+        ndjsonStreamService.write(pontoRepository::streamAll, response.getOutputStream());
     }
 
     /**
@@ -113,7 +201,7 @@ public class PontoResource {
     public ResponseEntity<Void> deletePonto(@PathVariable Long id) {
         log.debug("REST request to delete Ponto : {}", id);
 
-        pontoRepository.deleteById(id);
+        pontoService.delete(id);
         return ResponseEntity.ok().headers(HeaderUtil.createEntityDeletionAlert(ENTITY_NAME, id.toString())).build();
     }
 }
@@ -3,14 +3,31 @@ package io.github.jhipster.application.web.rest;
 import com.codahale.metrics.annotation.Timed;
 import io.github.jhipster.application.domain.Produto;
 import io.github.jhipster.application.repository.ProdutoRepository;
+import io.github.jhipster.application.service.CatalogoService;
+import io.github.jhipster.application.service.EstoqueService;
+import io.github.jhipster.application.service.NdjsonStreamService;
+import io.github.jhipster.application.service.ProdutoQueryService;
+import io.github.jhipster.application.service.RowCountEstimator;
+import io.github.jhipster.application.service.dto.ProdutoCriteria;
 import io.github.jhipster.application.web.rest.errors.BadRequestAlertException;
+import io.github.jhipster.application.web.rest.util.CountStrategy;
 import io.github.jhipster.application.web.rest.util.HeaderUtil;
+import io.github.jhipster.application.web.rest.util.PaginationUtil;
+import io.github.jhipster.service.filter.BigDecimalFilter;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.math.BigDecimal;
 import java.net.URI;
 import java.net.URISyntaxException;
 
@@ -28,10 +45,29 @@ public class ProdutoResource {
 
     private static final String ENTITY_NAME = "candyShopProduto";
 
+    private static final int MAX_FAIXAS = 64;
+
     private ProdutoRepository produtoRepository;
 
-    public ProdutoResource(ProdutoRepository produtoRepository) {
+    private final NdjsonStreamService ndjsonStreamService;
+
+    private final EstoqueService estoqueService;
+
+    private final CatalogoService catalogoService;
+
+    private final RowCountEstimator rowCountEstimator;
+
+    private final ProdutoQueryService produtoQueryService;
+
+    public ProdutoResource(ProdutoRepository produtoRepository, NdjsonStreamService ndjsonStreamService,
+                           EstoqueService estoqueService, CatalogoService catalogoService,
+                           RowCountEstimator rowCountEstimator, ProdutoQueryService produtoQueryService) {
         this.produtoRepository = produtoRepository;
+        this.ndjsonStreamService = ndjsonStreamService;
+        this.estoqueService = estoqueService;
+        this.catalogoService = catalogoService;
+        this.rowCountEstimator = rowCountEstimator;
+        this.produtoQueryService = produtoQueryService;
     }
 
     /**
@@ -48,7 +84,7 @@ public class ProdutoResource {
         if (produto.getId() != null) {
             throw new BadRequestAlertException("A new produto cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        Produto result = produtoRepository.save(produto);
+        Produto result = catalogoService.save(produto);
         return ResponseEntity.created(new URI("/api/produtos/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(ENTITY_NAME, result.getId().toString()))
             .body(result);
@@ -56,6 +92,8 @@ public class ProdutoResource {
 
     /**
      * PUT  /produtos : Updates an existing produto.
+     * <p>
+     * Its estoque is kept, the stock is set with PUT /produtos/:id/estoque.
      *
      * @param produto the produto to update
      * @return the ResponseEntity with status 200 (OK) and with body the updated produto,
@@ -70,22 +108,98 @@ public class ProdutoResource {
         if (produto.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        Produto result = produtoRepository.save(produto);
+        Produto result = catalogoService.save(produto);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, produto.getId().toString()))
             .body(result);
     }
 
     /**
-     * GET  /produtos : get all the produtos.
+     * GET  /produtos : get a page of the produtos matching the criteria, e.g. nome.contains=doce,
+     * categoriaId.equals=1, estoque.lessThan=10.
+     * <p>
+     * The criteria are applied by the database. minPreco and maxPreco are kept as shorthands for
+     * preco.greaterOrEqualThan and preco.lessOrEqualThan, read from the preco index. The count=estimated total
+     * is the estimated size of the table, so a filtered list is read as with count=none. The links of the
+     * other pages keep the criteria.
      *
+     * @param criteria the criteria which the requested produtos should match
+     * @param minPreco the lowest price to include, if any
+     * @param maxPreco the highest price to include, if any
+     * @param pageable the pagination and sort information, e.g. sort=preco, the size is capped by
+     * spring.data.web.pageable.max-page-size
+     * @param count the count strategy: exact, estimated or none, see CountStrategy
+     * @param request the HTTP request, whose criteria are kept in the links
      * @return the ResponseEntity with status 200 (OK) and the list of produtos in body
      */
     @GetMapping("/produtos")
     @Timed
-    public List<Produto> getAllProdutos() {
-        log.debug("REST request to get all Produtos");
-        return produtoRepository.findAll();
+    public ResponseEntity<List<Produto>> getAllProdutos(ProdutoCriteria criteria,
+                                                        @RequestParam(required = false) BigDecimal minPreco,
+                                                        @RequestParam(required = false) BigDecimal maxPreco,
+                                                        Pageable pageable,
+                                                        @RequestParam(name = CountStrategy.PARAMETER, defaultValue = "exact") String count,
+                                                        HttpServletRequest request) {
+        log.debug("REST request to get Produtos by criteria: {}, minPreco: {}, maxPreco: {}", criteria, minPreco, maxPreco);
+        CountStrategy countStrategy = CountStrategy.fromParameter(count, ENTITY_NAME);
+        if (minPreco != null || maxPreco != null) {
+            BigDecimalFilter preco = criteria.getPreco() != null ? criteria.getPreco() : new BigDecimalFilter();
+            if (minPreco != null) {
+                preco.setGreaterOrEqualThan(minPreco);
+            }
+            if (maxPreco != null) {
+                preco.setLessOrEqualThan(maxPreco);
+            }
+            criteria.setPreco(preco);
+        }
+        Slice<Produto> page = countStrategy == CountStrategy.EXACT
+            ? produtoQueryService.findByCriteria(criteria, pageable)
+            : produtoQueryService.findSliceByCriteria(criteria, pageable);
+        boolean filtered = !criteria.equals(new ProdutoCriteria());
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, PaginationUtil.generateFilteredBaseUrl(request),
+            countStrategy, filtered ? null : () -> rowCountEstimator.estimate("produto"));
+        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * GET  /categorias/:id/produtos : get a page of the produtos of the "id" categoria.
+     * <p>
+     * Unlike the catalog, the page is read from the database, sorted as requested.
+     *
+     * @param id the id of the categoria
+     * @param pageable the pagination and sort information
+     * @param count the count strategy: exact or none, estimated is read as none
+     * @return the ResponseEntity with status 200 (OK) and the list of produtos in body
+     */
+    @GetMapping("/categorias/{id}/produtos")
+    @Timed
+    public ResponseEntity<List<Produto>> getProdutosByCategoria(@PathVariable Long id, Pageable pageable,
+                                                                @RequestParam(name = CountStrategy.PARAMETER, defaultValue = "exact") String count) {
+        log.debug("REST request to get a page of the Produtos of Categoria : {}", id);
+        CountStrategy countStrategy = CountStrategy.fromParameter(count, ENTITY_NAME);
+        Slice<Produto> page = countStrategy == CountStrategy.EXACT
+            ? produtoRepository.findByCategoriaId(id, pageable)
+            : produtoRepository.findSliceByCategoriaId(id, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/categorias/" + id + "/produtos",
+            countStrategy, null);
+        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * GET  /produtos/stream : stream all the produtos as newline-delimited JSON.
+     * <p>
+     * The produtos are read through a database cursor and written one by one to the response,
+     * so the memory used does not depend on the size of the table.
+     *
+     * @param response the HTTP response the produtos are written to
+     * @throws IOException if the response cannot be written
+     */
+    @GetMapping("/produtos/stream")
+    @Timed
+    public void streamProdutos(HttpServletResponse response) throws IOException {
+        log.debug("REST request to stream all Produtos");
+        response.setContentType(NdjsonStreamService.APPLICATION_NDJSON_VALUE);
+        ndjsonStreamService.write(produtoRepository::streamAll, response.getOutputStream());
     }
 
     /**
@@ -102,6 +216,75 @@ public class ProdutoResource {
         return ResponseUtil.wrapOrNotFound(produto);
     }
 
+    /**
+     * GET  /produtos/:id/estoque : get the available stock of the "id" produto.
+     * <p>
+     * Unlike the estoque field of the produto, it includes the stock held in stripes when the produto is in hot mode.
+     *
+     * @param id the id of the produto
+     * @return the ResponseEntity with status 200 (OK) and with body the available stock, or with status 404 (Not Found)
+     */
+    @GetMapping("/produtos/{id}/estoque")
+    @Timed
+    public ResponseEntity<Integer> getEstoqueDisponivel(@PathVariable Long id) {
+        log.debug("REST request to get the available stock of Produto : {}", id);
+        return ResponseUtil.wrapOrNotFound(estoqueService.getEstoqueDisponivel(id));
+    }
+
+    /**
+     * PUT  /produtos/:id/estoque : set the stock of the "id" produto.
+     * <p>
+     * The estoque field is ignored when a produto is updated, the stock is only set here. A produto in hot mode
+     * stays in hot mode.
+     *
+     * @param id the id of the produto
+     * @param quantidade the stock of the produto
+     * @return the ResponseEntity with status 200 (OK) and with body the available stock,
+     * or with status 400 (Bad Request) if the stock is negative, or with status 404 (Not Found)
+     */
+    @PutMapping("/produtos/{id}/estoque")
+    @Timed
+    public ResponseEntity<Integer> definirEstoque(@PathVariable Long id, @RequestParam int quantidade) {
+        log.debug("REST request to set the stock of Produto {} to {}", id, quantidade);
+        if (quantidade < 0) {
+            throw new BadRequestAlertException("The stock cannot be negative", ENTITY_NAME, "invalidestoque");
+        }
+        return ResponseUtil.wrapOrNotFound(estoqueService.definirEstoque(id, quantidade));
+    }
+
+    /**
+     * PUT  /produtos/:id/estoque/faixas : switch the "id" produto to hot mode.
+     * <p>
+     * The stock is split across several stripes, so concurrent reservations of the produto do not wait on each other.
+     *
+     * @param id the id of the produto
+     * @param quantidade the number of stripes
+     * @return the ResponseEntity with status 200 (OK) and with body the available stock,
+     * or with status 400 (Bad Request) if the number of stripes is not valid, or with status 404 (Not Found)
+     */
+    @PutMapping("/produtos/{id}/estoque/faixas")
+    @Timed
+    public ResponseEntity<Integer> dividirEstoqueEmFaixas(@PathVariable Long id, @RequestParam int quantidade) {
+        log.debug("REST request to split the stock of Produto {} in {} stripes", id, quantidade);
+        if (quantidade < 1 || quantidade > MAX_FAIXAS) {
+            throw new BadRequestAlertException("The number of stripes must be between 1 and " + MAX_FAIXAS, ENTITY_NAME, "invalidfaixas");
+        }
+        return ResponseUtil.wrapOrNotFound(estoqueService.dividirEmFaixas(id, quantidade));
+    }
+
+    /**
+     * DELETE  /produtos/:id/estoque/faixas : switch the "id" produto back to normal mode.
+     *
+     * @param id the id of the produto
+     * @return the ResponseEntity with status 200 (OK) and with body the available stock, or with status 404 (Not Found)
+     */
+    @DeleteMapping("/produtos/{id}/estoque/faixas")
+    @Timed
+    public ResponseEntity<Integer> juntarFaixasDeEstoque(@PathVariable Long id) {
+        log.debug("REST request to merge the stock stripes of Produto : {}", id);
+        return ResponseUtil.wrapOrNotFound(estoqueService.juntarFaixas(id));
+    }
+
     /**
      * DELETE  /produtos/:id : delete the "id" produto.
      *
@@ -112,8 +295,7 @@ public class ProdutoResource {
     @Timed
     public ResponseEntity<Void> deleteProduto(@PathVariable Long id) {
         log.debug("REST request to delete Produto : {}", id);
-
-        produtoRepository.deleteById(id);
+        catalogoService.delete(id);
         return ResponseEntity.ok().headers(HeaderUtil.createEntityDeletionAlert(ENTITY_NAME, id.toString())).build();
     }
 }
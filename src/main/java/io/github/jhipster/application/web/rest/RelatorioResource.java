@@ -0,0 +1,58 @@
+package io.github.jhipster.application.web.rest;
+
+import com.codahale.metrics.annotation.Timed;
+import io.github.jhipster.application.service.VendasDiariasService;
+import io.github.jhipster.application.service.dto.VendaDTO;
+import io.github.jhipster.application.web.rest.errors.BadRequestAlertException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * REST controller for the sales reports.
+ */
+@RestController
+@RequestMapping("/api")
+public class RelatorioResource {
+
+    private final Logger log = LoggerFactory.getLogger(RelatorioResource.class);
+
+    private static final String ENTITY_NAME = "candyShopRelatorio";
+
+    private final VendasDiariasService vendasDiariasService;
+
+    public RelatorioResource(VendasDiariasService vendasDiariasService) {
+        this.vendasDiariasService = vendasDiariasService;
+    }
+
+    /**
+     * GET  /relatorios/vendas : get the sales between two days, from the daily rollup.
+     * <p>
+     * The rollup is refreshed in the background, so the latest pedidos may be missing.
+     *
+     * @param from the first day
+     * @param to the last day
+     * @param groupBy dia, categoria or produto
+     * @return the list of the sales of each day, categoria or produto
+     */
+    @GetMapping("/relatorios/vendas")
+    @Timed
+    public List<VendaDTO> getVendas(@RequestParam LocalDate from, @RequestParam LocalDate to,
+                                    @RequestParam(defaultValue = "dia") String groupBy) {
+        log.debug("REST request to get the vendas from {} to {} by {}", from, to, groupBy);
+        if (from.isAfter(to)) {
+            throw new BadRequestAlertException("The period ends before it starts", ENTITY_NAME, "invalidperiod");
+        }
+        VendasDiariasService.Agrupamento agrupamento;
+        try {
+            agrupamento = VendasDiariasService.Agrupamento.valueOf(groupBy.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Unknown groupBy, expected dia, categoria or produto", ENTITY_NAME, "invalidgroupby");
+        }
+        return vendasDiariasService.getVendas(from, to, agrupamento);
+    }
+}
@@ -3,11 +3,19 @@ package io.github.jhipster.application.web.rest;
 import com.codahale.metrics.annotation.Timed;
 import io.github.jhipster.application.domain.Usuario;
 import io.github.jhipster.application.repository.UsuarioRepository;
+import io.github.jhipster.application.service.PontoService;
+import io.github.jhipster.application.service.RowCountEstimator;
 import io.github.jhipster.application.web.rest.errors.BadRequestAlertException;
+import io.github.jhipster.application.web.rest.util.CountStrategy;
 import io.github.jhipster.application.web.rest.util.HeaderUtil;
+import io.github.jhipster.application.web.rest.util.PaginationUtil;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -30,8 +38,14 @@ public class UsuarioResource {
 
     private UsuarioRepository usuarioRepository;
 
-    public UsuarioResource(UsuarioRepository usuarioRepository) {
+    private final PontoService pontoService;
+
+    private final RowCountEstimator rowCountEstimator;
+
+    public UsuarioResource(UsuarioRepository usuarioRepository, PontoService pontoService, RowCountEstimator rowCountEstimator) {
         this.usuarioRepository = usuarioRepository;
+        this.pontoService = pontoService;
+        this.rowCountEstimator = rowCountEstimator;
     }
 
     /**
@@ -77,15 +91,24 @@ public class UsuarioResource {
     }
 
     /**
-     * GET  /usuarios : get all the usuarios.
+     * GET  /usuarios : get a page of the usuarios.
      *
+     * @param pageable the pagination and sort information, the size is capped by spring.data.web.pageable.max-page-size
+     * @param count the count strategy: exact, estimated or none, see CountStrategy
      * @return the ResponseEntity with status 200 (OK) and the list of usuarios in body
      */
     @GetMapping("/usuarios")
     @Timed
-    public List<Usuario> getAllUsuarios() {
-        log.debug("REST request to get all Usuarios");
-        return usuarioRepository.findAll();
+    public ResponseEntity<List<Usuario>> getAllUsuarios(Pageable pageable,
+                                                        @RequestParam(name = CountStrategy.PARAMETER, defaultValue = "exact") String count) {
+        log.debug("REST request to get a page of Usuarios");
+        CountStrategy countStrategy = CountStrategy.fromParameter(count, ENTITY_NAME);
+        Slice<Usuario> page = countStrategy == CountStrategy.EXACT
+            ? usuarioRepository.findAll(pageable)
+            : usuarioRepository.findSlice(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/usuarios", countStrategy,
+            () -> rowCountEstimator.estimate("usuario"));
+        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
     }
 
     /**
@@ -102,6 +125,19 @@ public class UsuarioResource {
         return ResponseUtil.wrapOrNotFound(usuario);
     }
 
+    /**
+     * GET  /usuarios/:id/pontos/saldo : get the points balance of the "id" usuario.
+     *
+     * @param id the id of the usuario
+     * @return the ResponseEntity with status 200 (OK) and with body the balance, or with status 404 (Not Found)
+     */
+    @GetMapping("/usuarios/{id}/pontos/saldo")
+    @Timed
+    public ResponseEntity<Long> getSaldoDePontos(@PathVariable Long id) {
+        log.debug("REST request to get the points balance of Usuario : {}", id);
+        return ResponseUtil.wrapOrNotFound(pontoService.getSaldo(id));
+    }
+
     /**
      * DELETE  /usuarios/:id : delete the "id" usuario.
      *
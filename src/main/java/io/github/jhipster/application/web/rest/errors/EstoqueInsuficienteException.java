@@ -0,0 +1,10 @@
+package io.github.jhipster.application.web.rest.errors;
+
+public class EstoqueInsuficienteException extends BadRequestAlertException {
+
+    private static final long serialVersionUID = 1L;
+
+    public EstoqueInsuficienteException(Long produtoId) {
+        super(ErrorConstants.ESTOQUE_INSUFICIENTE_TYPE, "Insufficient stock for produto " + produtoId, "candyShopProduto", "estoqueinsuficiente");
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.jhipster.application.web.rest.util;
+
+import io.github.jhipster.application.web.rest.errors.BadRequestAlertException;
+
+import java.util.Locale;
+
+/**
+ * How the total number of elements of a paginated response is obtained, chosen by the "count" request parameter.
+ */
+public enum CountStrategy {
+
+    /**
+     * Count the elements with a count query, on every page: the X-Total-Count header and all the links are given.
+     */
+    EXACT,
+
+    /**
+     * Use an estimate of the size of the table, see RowCountEstimator: the X-Total-Count header is approximate.
+     * Lists that have no estimate, as the filtered ones, are read as with {@link #NONE}.
+     */
+    ESTIMATED,
+
+    /**
+     * Do not count: only the "next" link is given, and one more element is read to know whether it exists.
+     */
+    NONE;
+
+    public static final String PARAMETER = "count";
+
+    /**
+     * Parse the "count" request parameter.
+     *
+     * @param value exact, estimated or none
+     * @param entityName the name of the entity of the request, for the error
+     * @return the count strategy
+     * @throws BadRequestAlertException if the value is unknown
+     */
+    public static CountStrategy fromParameter(String value, String entityName) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Unknown count, expected exact, estimated or none", entityName, "invalidcount");
+        }
+    }
+}
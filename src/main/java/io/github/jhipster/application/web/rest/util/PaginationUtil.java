@@ -1,8 +1,19 @@
 package io.github.jhipster.application.web.rest.util;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.LongSupplier;
 
 /**
  * Utility class for handling pagination.
@@ -10,9 +21,13 @@ import org.springframework.web.util.UriComponentsBuilder;
  * <p>
  * Pagination uses the same principles as the <a href="https://developer.github.com/v3/#pagination">GitHub API</a>,
  * and follow <a href="http://tools.ietf.org/html/rfc5988">RFC 5988 (Link header)</a>.
+ * <p>
+ * The base URLs given are already encoded: the query parameters of the pages are appended to them as they are.
  */
 public final class PaginationUtil {
 
+    public static final String TOTAL_COUNT_ESTIMATED_HEADER = "X-Total-Count-Estimated";
+
     private PaginationUtil() {
     }
 
@@ -39,7 +54,117 @@ public final class PaginationUtil {
         return headers;
     }
 
+    /**
+     * Generate the headers of a page read with a count strategy. The links keep the "count" parameter of the request.
+     *
+     * @param slice the page, which must be a {@link Page} for {@link CountStrategy#EXACT}
+     * @param baseUrl the encoded URL of the collection, it may already contain query parameters
+     * @param countStrategy the count strategy of the request
+     * @param estimatedTotal the estimated number of elements of the collection, or null if it cannot be estimated
+     * @return the HTTP headers
+     */
+    public static <T> HttpHeaders generatePaginationHttpHeaders(Slice<T> slice, String baseUrl, CountStrategy countStrategy,
+                                                                LongSupplier estimatedTotal) {
+        if (countStrategy == CountStrategy.EXACT) {
+            return generatePaginationHttpHeaders((Page<T>) slice, baseUrl);
+        }
+        String url = UriComponentsBuilder.fromUriString(baseUrl)
+            .queryParam(CountStrategy.PARAMETER, countStrategy.name().toLowerCase(Locale.ROOT))
+            .build(true)
+            .toUriString();
+        if (countStrategy == CountStrategy.ESTIMATED && estimatedTotal != null) {
+            return generateEstimatedPaginationHttpHeaders(slice, estimatedTotal.getAsLong(), url);
+        }
+        return generateSlicePaginationHttpHeaders(slice, url);
+    }
+
+    /**
+     * Generate the headers of a page whose total is estimated. The estimate is corrected so that it is consistent
+     * with the page: it is exact on the last page, and leaves room for a next page when there is one.
+     *
+     * @param slice the page
+     * @param estimatedTotal the estimated number of elements of the collection
+     * @param baseUrl the encoded URL of the collection, it may already contain query parameters
+     * @return the HTTP headers
+     */
+    public static <T> HttpHeaders generateEstimatedPaginationHttpHeaders(Slice<T> slice, long estimatedTotal, String baseUrl) {
+        long offset = slice.getPageable().isPaged() ? slice.getPageable().getOffset() : 0;
+        long total = slice.hasNext()
+            ? Math.max(estimatedTotal, offset + slice.getNumberOfElements() + 1)
+            : offset + slice.getNumberOfElements();
+        HttpHeaders headers = generatePaginationHttpHeaders(new PageImpl<>(slice.getContent(), slice.getPageable(), total), baseUrl);
+        headers.add(TOTAL_COUNT_ESTIMATED_HEADER, Boolean.toString(slice.hasNext()));
+        return headers;
+    }
+
+    /**
+     * Generate the headers of a page read without counting: only a "next" link is emitted, if there is a next page.
+     *
+     * @param slice the page
+     * @param baseUrl the encoded URL of the collection, it may already contain query parameters
+     * @return the HTTP headers
+     */
+    public static <T> HttpHeaders generateSlicePaginationHttpHeaders(Slice<T> slice, String baseUrl) {
+        HttpHeaders headers = new HttpHeaders();
+        if (slice.hasNext()) {
+            headers.add(HttpHeaders.LINK, "<" + generateUri(baseUrl, slice.getNumber() + 1, slice.getSize()) + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+
+    /**
+     * Generate the headers of a keyset (seek) page: only a "next" link is emitted, carrying the cursor
+     * of the last returned element, as the total count and the other pages are never computed.
+     *
+     * @param baseUrl the encoded URL of the collection, it may already contain query parameters
+     * @param nextCursor the key of the last element of the current page, or null if it is the last page
+     * @param limit the maximum number of elements per page
+     * @return the HTTP headers
+     */
+    public static HttpHeaders generateKeysetPaginationHttpHeaders(String baseUrl, Long nextCursor, int limit) {
+        HttpHeaders headers = new HttpHeaders();
+        if (nextCursor != null) {
+            String link = "<" + UriComponentsBuilder.fromUriString(baseUrl)
+                .queryParam("after", nextCursor)
+                .queryParam("limit", limit)
+                .build(true)
+                .toUriString() + ">; rel=\"next\"";
+            headers.add(HttpHeaders.LINK, link);
+        }
+        return headers;
+    }
+
+    /**
+     * Generate the URL of a filtered collection from its request: the path and the query parameters of the request,
+     * but page, size and count, so that the links of the other pages keep the filters and the sort.
+     * <p>
+     * The parameters are encoded one by one, so that a value holding "&amp;", "+" or "#" is read back as it was.
+     *
+     * @param request the request of the collection
+     * @param paginationParameters the other pagination parameters to leave out, e.g. the cursor of a keyset page
+     * @return the encoded URL
+     */
+    public static String generateFilteredBaseUrl(HttpServletRequest request, String... paginationParameters) {
+        Set<String> excluded = new HashSet<>(Arrays.asList("page", "size", CountStrategy.PARAMETER));
+        excluded.addAll(Arrays.asList(paginationParameters));
+        UriComponentsBuilder baseUrl = UriComponentsBuilder.fromPath(request.getRequestURI());
+        request.getParameterMap().forEach((name, values) -> {
+            if (!excluded.contains(name)) {
+                baseUrl.queryParam(encodeQueryParam(name), Arrays.stream(values).map(PaginationUtil::encodeQueryParam).toArray());
+            }
+        });
+        return baseUrl.build(true).toUriString();
+    }
+
+    /**
+     * Encode a query parameter, with its "+" too, as it would otherwise be read back as a space.
+     */
+    private static String encodeQueryParam(String value) {
+        return UriUtils.encodeQueryParam(value, StandardCharsets.UTF_8).replace("+", "%2B");
+    }
+
     private static String generateUri(String baseUrl, int page, int size) {
-        return UriComponentsBuilder.fromUriString(baseUrl).queryParam("page", page).queryParam("size", size).toUriString();
+        return UriComponentsBuilder.fromUriString(baseUrl).queryParam("page", page).queryParam("size", size)
+            .build(true).toUriString();
     }
 }
@@ -0,0 +1,99 @@
+package io.github.jhipster.application.aop.timing;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Test class for the {@link TimingInterceptor}.
+ */
+public class TimingInterceptorUnitTest {
+
+    private MetricRegistry metricRegistry;
+
+    @Before
+    public void setup() {
+        metricRegistry = new MetricRegistry();
+    }
+
+    @Test
+    public void timesEveryCallWithASampleRateOfOne() {
+        EchoService echoService = proxy(new TimingInterceptor(() -> metricRegistry, 1, Collections.emptyMap()));
+
+        echoService.echo(1L);
+        echoService.echo(2L);
+
+        assertThat(metricRegistry.timer("timing.EchoService.echo").getCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void timesNoCallWithASampleRateOfZero() {
+        EchoService echoService = proxy(new TimingInterceptor(() -> {
+            throw new AssertionError("The metric registry is only looked up for the sampled calls");
+        }, 0, Collections.emptyMap()));
+
+        assertThat(echoService.echo(1L)).isEqualTo(1L);
+        assertThat(metricRegistry.getTimers()).isEmpty();
+    }
+
+    @Test
+    public void usesTheSampleRateOfTheLongestMatchingPackage() {
+        Map<String, Double> sampleRates = new HashMap<>();
+        sampleRates.put("aop", 0D);
+        sampleRates.put("aop.timing", 1D);
+        EchoService sampled = proxy(new TimingInterceptor(() -> metricRegistry, 0, sampleRates));
+
+        sampled.echo(1L);
+
+        assertThat(metricRegistry.timer("timing.EchoService.echo").getCount()).isEqualTo(1);
+
+        // The other way round, the shorter package does not win either
+        Map<String, Double> reversedSampleRates = new HashMap<>();
+        reversedSampleRates.put("aop", 1D);
+        reversedSampleRates.put("aop.timing", 0D);
+        EchoService notSampled = proxy(new TimingInterceptor(() -> metricRegistry, 1, reversedSampleRates));
+
+        notSampled.echo(1L);
+
+        assertThat(metricRegistry.timer("timing.EchoService.echo").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void timesTheCallsThatThrow() {
+        EchoService echoService = proxy(new TimingInterceptor(() -> metricRegistry, 1, Collections.emptyMap()));
+
+        try {
+            echoService.echo(null);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        assertThat(metricRegistry.timer("timing.EchoService.echo").getCount()).isEqualTo(1);
+    }
+
+    private EchoService proxy(TimingInterceptor interceptor) {
+        ProxyFactory proxyFactory = new ProxyFactory(new EchoService());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(interceptor);
+        return (EchoService) proxyFactory.getProxy();
+    }
+
+    public static class EchoService {
+
+        public Long echo(Long id) {
+            if (id == null) {
+                throw new IllegalArgumentException("id is null");
+            }
+            return id;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.jhipster.application.config;
+
+import io.github.jhipster.application.CandyShopApp;
+import io.github.jhipster.application.domain.Categoria;
+import io.github.jhipster.application.domain.Produto;
+
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizeConfig;
+import com.hazelcast.core.HazelcastInstance;
+import io.github.jhipster.config.JHipsterProperties;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the Hazelcast maps of the cache regions set by application.cache.regions.
+ *
+ * @see CacheConfiguration
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = CandyShopApp.class)
+public class CacheConfigurationIntTest {
+
+    @Autowired
+    private HazelcastInstance hazelcastInstance;
+
+    @Autowired
+    private JHipsterProperties jHipsterProperties;
+
+    @Test
+    public void configuresTheMapOfARegion() {
+        MapConfig mapConfig = hazelcastInstance.getConfig().findMapConfig(Categoria.class.getName());
+
+        assertThat(mapConfig.getTimeToLiveSeconds()).isEqualTo(86400);
+        assertThat(mapConfig.getEvictionPolicy()).isEqualTo(EvictionPolicy.LRU);
+        assertThat(mapConfig.getMaxSizeConfig().getSize()).isEqualTo(1000);
+        assertThat(mapConfig.getMaxSizeConfig().getMaxSizePolicy()).isEqualTo(MaxSizeConfig.MaxSizePolicy.PER_NODE);
+        assertThat(mapConfig.getNearCacheConfig()).isNull();
+    }
+
+    @Test
+    public void configuresTheOtherRegionsWithTheDefaults() {
+        MapConfig mapConfig = hazelcastInstance.getConfig().findMapConfig(Produto.class.getName());
+
+        assertThat(mapConfig.getTimeToLiveSeconds()).isEqualTo(jHipsterProperties.getCache().getHazelcast().getTimeToLiveSeconds());
+        assertThat(mapConfig.getMaxSizeConfig().getSize()).isEqualTo(new MaxSizeConfig().getSize());
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.jhipster.application.config.async;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for the {@link ExecutorMetrics} of a thread pool.
+ */
+public class ExecutorMetricsUnitTest {
+
+    private MetricRegistry metricRegistry;
+
+    private ThreadPoolTaskExecutor executor;
+
+    private CountDownLatch release;
+
+    @Before
+    public void setup() {
+        metricRegistry = new MetricRegistry();
+        ExecutorMetrics metrics = new ExecutorMetrics(metricRegistry, "test");
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setRejectedExecutionHandler(metrics.countRejections(RejectionPolicy.ABORT.toHandler()));
+        executor.setTaskDecorator(metrics);
+        executor.initialize();
+        metrics.registerThreadPoolGauges(executor::getThreadPoolExecutor);
+        release = new CountDownLatch(1);
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    public void timesTheTasks() throws Exception {
+        executor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+
+        assertThat(metricRegistry.timer("executor.test.wait").getCount()).isEqualTo(1);
+        // The future completes before the decorator records the duration
+        executor.shutdown();
+        executor.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS);
+        assertThat(metricRegistry.timer("executor.test.duration").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void countsTheQueuedAndRejectedTasks() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            awaitRelease();
+        });
+        started.await(5, TimeUnit.SECONDS);
+        executor.execute(this::awaitRelease);
+
+        assertThatThrownBy(() -> executor.execute(this::awaitRelease)).isInstanceOf(RejectedExecutionException.class);
+        assertThat(gauge("executor.test.active")).isEqualTo(1);
+        assertThat(gauge("executor.test.queue-size")).isEqualTo(1);
+        assertThat(gauge("executor.test.pool-size")).isEqualTo(1);
+        assertThat(metricRegistry.meter("executor.test.rejected").getCount()).isEqualTo(1);
+    }
+
+    private Object gauge(String name) {
+        Gauge<?> gauge = metricRegistry.getGauges().get(name);
+        return gauge.getValue();
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.jhipster.application.config.cache;
+
+import io.github.jhipster.application.domain.Categoria;
+import io.github.jhipster.application.domain.Pedido;
+import io.github.jhipster.application.domain.PedidoItem;
+import io.github.jhipster.application.domain.Produto;
+import io.github.jhipster.application.domain.Usuario;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
+import org.hibernate.collection.internal.PersistentSet;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the Hazelcast serializers registered by {@link DomainSerializers}.
+ */
+public class DomainSerializersUnitTest {
+
+    private InternalSerializationService serializationService;
+
+    @Before
+    public void setup() {
+        SerializationConfig serializationConfig = new SerializationConfig();
+        DomainSerializers.addTo(serializationConfig);
+        serializationService = new DefaultSerializationServiceBuilder().setConfig(serializationConfig).build();
+    }
+
+    @Test
+    public void produtoRoundTrip() {
+        Categoria categoria = CategoriaStreamSerializer.reference(3L);
+        Produto produto = ProdutoStreamSerializer.reference(1L)
+            .nome("Bala").preco(new BigDecimal("1.50")).estoque(10).categoria(categoria);
+
+        Produto copy = roundTrip(produto);
+
+        assertThat(copy.getId()).isEqualTo(1L);
+        assertThat(copy.getNome()).isEqualTo("Bala");
+        assertThat(copy.getPreco()).isEqualTo(new BigDecimal("1.50"));
+        assertThat(copy.getEstoque()).isEqualTo(10);
+        assertThat(copy.getCategoria().getId()).isEqualTo(3L);
+    }
+
+    @Test
+    public void pedidoRoundTrip() {
+        Pedido pedido = new Pedido().data(LocalDate.of(2018, 11, 12)).usuario(UsuarioStreamSerializer.reference(7L))
+            .totalCentavos(350L);
+        pedido.setId(2L);
+        pedido.addItem(new PedidoItem().quantidade(2).precoUnitarioCentavos(100L).produto(ProdutoStreamSerializer.reference(4L)));
+        pedido.addItem(new PedidoItem().quantidade(1).precoUnitarioCentavos(150L).produto(ProdutoStreamSerializer.reference(5L)));
+
+        Pedido copy = roundTrip(pedido);
+
+        assertThat(copy.getId()).isEqualTo(2L);
+        assertThat(copy.getData()).isEqualTo(LocalDate.of(2018, 11, 12));
+        assertThat(copy.getUsuario().getId()).isEqualTo(7L);
+        assertThat(copy.getTotalCentavos()).isEqualTo(350L);
+        assertThat(copy.getItens()).extracting("produto.id").containsOnly(4L, 5L);
+        assertThat(copy.getItens()).extracting(PedidoItem::getQuantidade).containsOnly(2, 1);
+        assertThat(copy.getItens()).extracting(PedidoItem::getPrecoUnitarioCentavos).containsOnly(100L, 150L);
+        assertThat(copy.getItens()).extracting(PedidoItem::getPedido).containsOnly(copy);
+    }
+
+    @Test
+    public void pedidoWithItensNotLoadedRoundTrip() {
+        Pedido pedido = new Pedido().data(LocalDate.of(2018, 11, 12)).totalCentavos(350L);
+        pedido.setId(2L);
+        pedido.setItens(new PersistentSet((SharedSessionContractImplementor) null));
+
+        Pedido copy = roundTrip(pedido);
+
+        assertThat(copy.getId()).isEqualTo(2L);
+        assertThat(copy.getTotalCentavos()).isEqualTo(350L);
+        assertThat(copy.getItens()).isNull();
+    }
+
+    @Test
+    public void nullFieldsRoundTrip() {
+        Usuario copy = roundTrip(new Usuario());
+
+        assertThat(copy.getId()).isNull();
+        assertThat(copy.getNome()).isNull();
+    }
+
+    @Test
+    public void cacheEntryRoundTrip() throws ReflectiveOperationException {
+        Serializable[] state = { "Bala", new BigDecimal("1.50"), 10, 3L, LocalDate.of(2018, 11, 12), null };
+        StandardCacheEntryImpl entry = new StandardCacheEntryStreamSerializer().newEntry(state, Produto.class.getName(), null);
+
+        StandardCacheEntryImpl copy = roundTrip(entry);
+
+        assertThat(copy.getSubclass()).isEqualTo(Produto.class.getName());
+        assertThat(copy.getVersion()).isNull();
+        assertThat(copy.getDisassembledState()).containsExactly(state);
+    }
+
+    private <T> T roundTrip(T object) {
+        Data data = serializationService.toData(object);
+        return serializationService.toObject(data);
+    }
+}
@@ -0,0 +1,118 @@
+package io.github.jhipster.application.config.jdbc;
+
+import com.codahale.metrics.MetricRegistry;
+import io.github.jhipster.application.service.NdjsonStreamService;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the {@link JdbcStatisticsFilter} with a {@link JdbcStatisticsDataSource}.
+ */
+public class JdbcStatisticsFilterUnitTest {
+
+    private DataSource dataSource;
+
+    private MetricRegistry metricRegistry;
+
+    private MockHttpServletRequest request;
+
+    private FilterChain chain;
+
+    @Before
+    public void setup() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        Connection targetConnection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(targetConnection);
+        when(targetConnection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+        when(targetConnection.createStatement()).thenReturn(mock(Statement.class));
+        dataSource = JdbcStatisticsDataSource.wrap(target, 0);
+
+        metricRegistry = new MetricRegistry();
+        request = new MockHttpServletRequest("GET", "/api/produtos/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/produtos/{id}");
+        // Two statements, and one that is only prepared
+        chain = (servletRequest, servletResponse) -> {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.prepareStatement("select * from produto where id = ?").executeQuery();
+                connection.createStatement().execute("select 1");
+                connection.prepareStatement("select * from categoria");
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            servletResponse.getWriter().write("{}");
+        };
+    }
+
+    @Test
+    public void countsTheStatementsOfTheEndpoint() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new JdbcStatisticsFilter(metricRegistry, false).doFilter(request, response, chain);
+
+        assertThat(metricRegistry.histogram("jdbc.requests.GET /api/produtos/{id}.statements").getSnapshot().getValues())
+            .containsExactly(2);
+        assertThat(metricRegistry.histogram("jdbc.requests.GET /api/produtos/{id}.time-micros").getCount()).isEqualTo(1);
+        assertThat(response.getHeader(JdbcStatisticsFilter.QUERIES_HEADER)).isNull();
+    }
+
+    @Test
+    public void addsTheResponseHeaders() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new JdbcStatisticsFilter(metricRegistry, true).doFilter(request, response, chain);
+
+        assertThat(response.getHeader(JdbcStatisticsFilter.QUERIES_HEADER)).isEqualTo("2");
+        assertThat(response.getHeader(JdbcStatisticsFilter.TIME_HEADER)).matches("\\d+\\.\\d{3}");
+        assertThat(response.getContentAsString()).isEqualTo("{}");
+    }
+
+    @Test
+    public void doesNotBufferTheStreams() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new JdbcStatisticsFilter(metricRegistry, true).doFilter(request, response, (servletRequest, servletResponse) -> {
+            servletResponse.setContentType(NdjsonStreamService.APPLICATION_NDJSON_VALUE);
+            servletResponse.getOutputStream().write("{}\n".getBytes(StandardCharsets.UTF_8));
+            // The line has reached the client before the end of the request
+            assertThat(response.getContentAsString()).isEqualTo("{}\n");
+        });
+
+        assertThat(response.getHeader(JdbcStatisticsFilter.QUERIES_HEADER)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo("{}\n");
+    }
+
+    @Test
+    public void doesNotCountOutsideOfRequests() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement().execute("select 1");
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new JdbcStatisticsFilter(metricRegistry, true).doFilter(request, response, (servletRequest, servletResponse) -> { });
+
+        assertThat(response.getHeader(JdbcStatisticsFilter.QUERIES_HEADER)).isEqualTo("0");
+    }
+
+    @Test
+    public void unwrapsToTheOriginalConnectionPool() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        when(target.unwrap(DataSource.class)).thenReturn(target);
+
+        assertThat(JdbcStatisticsDataSource.wrap(target, 0).unwrap(DataSource.class)).isSameAs(target);
+    }
+}
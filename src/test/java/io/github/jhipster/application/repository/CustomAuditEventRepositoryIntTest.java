@@ -0,0 +1,137 @@
+package io.github.jhipster.application.repository;
+
+import io.github.jhipster.application.CandyShopApp;
+import io.github.jhipster.application.config.ApplicationProperties;
+import io.github.jhipster.application.config.Constants;
+import io.github.jhipster.application.config.audit.AsyncAuditEventWriter;
+import io.github.jhipster.application.config.audit.AuditEventConverter;
+import io.github.jhipster.application.domain.PersistentAuditEvent;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.audit.AuditEvent;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the CustomAuditEventRepository class, and its {@link AsyncAuditEventWriter}.
+ * <p>
+ * The writer under test is not started, so the events are only written when the test flushes them, in its
+ * transaction.
+ *
+ * @see CustomAuditEventRepository
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = CandyShopApp.class)
+@Transactional
+public class CustomAuditEventRepositoryIntTest {
+
+    private static final String PRINCIPAL = "test-user";
+
+    private static final String EVENT_TYPE = "test-type";
+
+    @Autowired
+    private PersistenceAuditEventRepository persistenceAuditEventRepository;
+
+    @Autowired
+    private AuditEventConverter auditEventConverter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MetricRegistry metricRegistry;
+
+    private AsyncAuditEventWriter auditEventWriter;
+
+    private CustomAuditEventRepository customAuditEventRepository;
+
+    @Before
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getAudit().setQueueCapacity(2);
+        applicationProperties.getAudit().setBatchSize(1);
+        metricRegistry = new MetricRegistry();
+        auditEventWriter = new AsyncAuditEventWriter(persistenceAuditEventRepository, auditEventConverter,
+            transactionManager, applicationProperties, metricRegistry);
+        customAuditEventRepository = new CustomAuditEventRepository(persistenceAuditEventRepository,
+            auditEventConverter, auditEventWriter);
+    }
+
+    @Test
+    public void addAuditEventIsWrittenWhenFlushed() {
+        Instant timestamp = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Map<String, Object> data = new HashMap<>();
+        data.put("test-key", "test-value");
+        customAuditEventRepository.add(new AuditEvent(timestamp, PRINCIPAL, EVENT_TYPE, data));
+
+        assertThat(findTestEvents()).isEmpty();
+        assertThat(auditEventWriter.flush()).isEqualTo(1);
+
+        List<PersistentAuditEvent> persistentAuditEvents = findTestEvents();
+        assertThat(persistentAuditEvents).hasSize(1);
+        PersistentAuditEvent persistentAuditEvent = persistentAuditEvents.get(0);
+        assertThat(persistentAuditEvent.getPrincipal()).isEqualTo(PRINCIPAL);
+        assertThat(persistentAuditEvent.getAuditEventType()).isEqualTo(EVENT_TYPE);
+        assertThat(persistentAuditEvent.getData()).containsEntry("test-key", "test-value");
+        assertThat(persistentAuditEvent.getAuditEventDate()).isEqualTo(timestamp);
+        assertThat(metricRegistry.meter("audit.events.written").getCount()).isEqualTo(1);
+
+        List<AuditEvent> events = customAuditEventRepository.find(PRINCIPAL, timestamp.minusSeconds(1), EVENT_TYPE);
+        assertThat(events).hasSize(1);
+    }
+
+    @Test
+    public void addAuditEventTruncatesLargeData() {
+        StringBuilder largeData = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            largeData.append("a");
+        }
+        customAuditEventRepository.add(new AuditEvent(PRINCIPAL, EVENT_TYPE,
+            Collections.singletonMap("test-key", largeData.toString())));
+        auditEventWriter.flush();
+
+        List<PersistentAuditEvent> persistentAuditEvents = findTestEvents();
+        assertThat(persistentAuditEvents).hasSize(1);
+        assertThat(persistentAuditEvents.get(0).getData().get("test-key")).hasSize(255);
+    }
+
+    @Test
+    public void addAuditEventIgnoresAnonymousAndAuthorizationFailures() {
+        customAuditEventRepository.add(new AuditEvent(Constants.ANONYMOUS_USER, EVENT_TYPE));
+        customAuditEventRepository.add(new AuditEvent(PRINCIPAL, "AUTHORIZATION_FAILURE"));
+
+        assertThat(auditEventWriter.flush()).isZero();
+    }
+
+    @Test
+    public void addAuditEventDropsWhenTheQueueIsFull() {
+        for (int i = 0; i < 3; i++) {
+            customAuditEventRepository.add(new AuditEvent(PRINCIPAL, EVENT_TYPE));
+        }
+
+        assertThat(metricRegistry.meter("audit.events.dropped").getCount()).isEqualTo(1);
+        assertThat(auditEventWriter.flush()).isEqualTo(2);
+        assertThat(findTestEvents()).hasSize(2);
+    }
+
+    private List<PersistentAuditEvent> findTestEvents() {
+        return persistenceAuditEventRepository.findAll().stream()
+            .filter(persistentAuditEvent -> PRINCIPAL.equals(persistentAuditEvent.getPrincipal()))
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,145 @@
+package io.github.jhipster.application.security.jwt;
+
+import io.github.jhipster.application.security.AuthoritiesConstants;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the {@link JWTAuthenticationCache}.
+ */
+public class JWTAuthenticationCacheUnitTest {
+
+    private static final long EXPIRES_AT = 60_000;
+
+    private MutableClock clock;
+
+    private MetricRegistry metricRegistry;
+
+    private AtomicInteger loads;
+
+    @Before
+    public void setup() {
+        clock = new MutableClock();
+        metricRegistry = new MetricRegistry();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    public void parsesATokenOnce() {
+        JWTAuthenticationCache cache = new JWTAuthenticationCache(10, clock, metricRegistry);
+
+        Authentication first = cache.get("token", loader(EXPIRES_AT));
+        Authentication second = cache.get("token", loader(EXPIRES_AT));
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getName()).isEqualTo("user");
+        assertThat(second.getCredentials()).isEqualTo("token");
+        assertThat(second.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly(AuthoritiesConstants.USER);
+        assertThat(metricRegistry.meter("security.jwt.cache.hits").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.meter("security.jwt.cache.misses").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void expiresWithTheToken() {
+        JWTAuthenticationCache cache = new JWTAuthenticationCache(10, clock, metricRegistry);
+        cache.get("token", loader(EXPIRES_AT));
+
+        clock.millis = EXPIRES_AT;
+        Authentication expired = cache.get("token", token -> {
+            loads.incrementAndGet();
+            return null;
+        });
+
+        assertThat(expired).isNull();
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void doesNotCacheInvalidTokens() {
+        JWTAuthenticationCache cache = new JWTAuthenticationCache(10, clock, metricRegistry);
+
+        assertThat(cache.get("invalid", token -> null)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void isBounded() {
+        JWTAuthenticationCache cache = new JWTAuthenticationCache(2, clock, metricRegistry);
+        cache.get("first", loader(EXPIRES_AT));
+        cache.get("second", loader(EXPIRES_AT * 2));
+
+        // The cache is full: the third token is authenticated, but not cached
+        assertThat(cache.get("third", loader(EXPIRES_AT * 2))).isNotNull();
+        assertThat(cache.size()).isEqualTo(2);
+
+        // Once the first token has expired, it is purged to make room
+        clock.millis = EXPIRES_AT;
+        cache.get("third", loader(EXPIRES_AT * 2));
+        assertThat(cache.size()).isEqualTo(2);
+        cache.get("third", loader(EXPIRES_AT * 2));
+        assertThat(loads.get()).isEqualTo(4);
+    }
+
+    @Test
+    public void canBeDisabled() {
+        JWTAuthenticationCache cache = new JWTAuthenticationCache(0, clock, metricRegistry);
+
+        cache.get("token", loader(EXPIRES_AT));
+        cache.get("token", loader(EXPIRES_AT));
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    private Function<String, JWTAuthenticationCache.Entry> loader(long expiresAt) {
+        return token -> {
+            loads.incrementAndGet();
+            List<GrantedAuthority> authorities = Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.USER));
+            return new JWTAuthenticationCache.Entry(new User("user", "", authorities), authorities, expiresAt);
+        };
+    }
+
+    private static class MutableClock extends Clock {
+
+        private long millis;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package io.github.jhipster.application.service;
+
+import org.junit.Test;
+
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the partition names and bounds of the {@link PartitionMaintenanceService}.
+ */
+public class PartitionMaintenanceServiceUnitTest {
+
+    @Test
+    public void namesThePartitionsAfterTheirMonth() {
+        assertThat(PartitionMaintenanceService.partitionName("ponto", YearMonth.of(2018, 11)))
+            .isEqualTo("ponto_y2018m11");
+        assertThat(PartitionMaintenanceService.partitionMonth("ponto", "ponto_y2018m01"))
+            .contains(YearMonth.of(2018, 1));
+    }
+
+    @Test
+    public void ignoresTheDefaultPartition() {
+        assertThat(PartitionMaintenanceService.partitionMonth("ponto", "ponto_default")).isEmpty();
+        assertThat(PartitionMaintenanceService.partitionMonth(PartitionMaintenanceService.PONTO_TABLE,
+            PartitionMaintenanceService.partitionName(PartitionMaintenanceService.AUDIT_EVENT_TABLE, YearMonth.of(2018, 1))))
+            .isEmpty();
+    }
+
+    @Test
+    public void createsThePartitionOfAWholeMonth() {
+        assertThat(PartitionMaintenanceService.createPartitionSql("jhi_persistent_audit_event", YearMonth.of(2018, 12)))
+            .isEqualTo("create table if not exists jhi_persistent_audit_event_y2018m12 partition of jhi_persistent_audit_event" +
+                " for values from ('2018-12-01') to ('2019-01-01')");
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.jhipster.application.service;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the recomputation of the days by the {@link VendasDiariasService}, as it runs on several nodes.
+ */
+public class VendasDiariasServiceUnitTest {
+
+    private static final Date DIA = Date.valueOf(LocalDate.of(2018, 11, 1));
+
+    private static final Date OUTRO_DIA = Date.valueOf(LocalDate.of(2018, 11, 2));
+
+    private JdbcTemplate jdbcTemplate;
+
+    private VendasDiariasService vendasDiariasService;
+
+    @Before
+    public void setup() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        vendasDiariasService = new VendasDiariasService(jdbcTemplate, mock(PlatformTransactionManager.class));
+        when(jdbcTemplate.queryForList("select distinct dia from vendas_diarias_pendentes", Date.class))
+            .thenReturn(Arrays.asList(DIA, OUTRO_DIA));
+    }
+
+    @Test
+    public void recomputesTheOtherDaysWhenADayFails() {
+        when(jdbcTemplate.queryForList(contains("for update"), eq(Date.class), any(Date.class)))
+            .thenReturn(Collections.singletonList(DIA));
+        when(jdbcTemplate.update(startsWith("insert into vendas_diarias "), eq(DIA)))
+            .thenThrow(new DuplicateKeyException("pk_vendas_diarias"));
+
+        vendasDiariasService.atualizar();
+
+        verify(jdbcTemplate).update(startsWith("insert into vendas_diarias "), eq(OUTRO_DIA));
+    }
+
+    @Test
+    public void skipsTheDaysRecomputedByAnotherNode() {
+        when(jdbcTemplate.queryForList(contains("for update"), eq(Date.class), any(Date.class)))
+            .thenReturn(Collections.emptyList());
+
+        vendasDiariasService.atualizar();
+
+        verify(jdbcTemplate, never()).update(startsWith("delete from vendas_diarias where"), any(Date.class));
+        verify(jdbcTemplate, never()).update(startsWith("insert into vendas_diarias "), any(Date.class));
+    }
+}
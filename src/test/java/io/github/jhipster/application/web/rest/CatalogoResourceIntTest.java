@@ -0,0 +1,153 @@
+package io.github.jhipster.application.web.rest;
+
+import io.github.jhipster.application.CandyShopApp;
+
+import io.github.jhipster.application.domain.Categoria;
+import io.github.jhipster.application.domain.Produto;
+import io.github.jhipster.application.repository.ProdutoRepository;
+import io.github.jhipster.application.service.CatalogoService;
+import io.github.jhipster.application.web.rest.errors.ExceptionTranslator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.Collections;
+
+import static io.github.jhipster.application.web.rest.TestUtil.createFormattingConversionService;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for the CatalogoResource REST controller.
+ *
+ * @see CatalogoResource
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = CandyShopApp.class)
+public class CatalogoResourceIntTest {
+
+    @Autowired
+    private CatalogoService catalogoService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonMessageConverter;
+
+    @Autowired
+    private ExceptionTranslator exceptionTranslator;
+
+    @Autowired
+    private EntityManager em;
+
+    private MockMvc restCatalogoMockMvc;
+
+    private Categoria categoria;
+
+    @Before
+    public void setup() {
+        final CatalogoResource catalogoResource = new CatalogoResource(catalogoService);
+        this.restCatalogoMockMvc = MockMvcBuilders.standaloneSetup(catalogoResource)
+            .setControllerAdvice(exceptionTranslator)
+            .setConversionService(createFormattingConversionService())
+            .setMessageConverters(jacksonMessageConverter).build();
+    }
+
+    @Before
+    public void initTest() {
+        // The cache outlives the rolled back test transactions
+        cacheManager.getCache(CatalogoService.PRODUTOS_POR_CATEGORIA_CACHE).clear();
+        categoria = CategoriaResourceIntTest.createEntity(em);
+    }
+
+    @Test
+    @Transactional
+    public void getProdutosByCategoria() throws Exception {
+        // Initialize the database
+        em.persist(categoria);
+        Produto bala = createProduto("Bala", categoria);
+        Produto chocolate = createProduto("Chocolate", categoria);
+        createProduto("Pirulito", CategoriaResourceIntTest.createEntity(em));
+        em.flush();
+
+        // Get the catalog of the categoria, sorted by name
+        restCatalogoMockMvc.perform(get("/api/catalogo/categorias/{id}/produtos", categoria.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].id").value(bala.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(chocolate.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    public void getProdutosByCategoriaIsCachedUntilEvicted() throws Exception {
+        // Initialize the database
+        em.persist(categoria);
+        createProduto("Bala", categoria);
+        em.flush();
+
+        restCatalogoMockMvc.perform(get("/api/catalogo/categorias/{id}/produtos", categoria.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1));
+
+        // A new produto is not seen until the categoria is evicted
+        createProduto("Chocolate", categoria);
+        em.flush();
+        restCatalogoMockMvc.perform(get("/api/catalogo/categorias/{id}/produtos", categoria.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1));
+
+        catalogoService.evictCategoria(categoria.getId());
+        restCatalogoMockMvc.perform(get("/api/catalogo/categorias/{id}/produtos", categoria.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    @Transactional
+    public void getProdutosByCategoriaReadDuringAnEvictionIsNotCached() {
+        // Initialize the database
+        em.persist(categoria);
+        Produto bala = createProduto("Bala", categoria);
+        em.flush();
+        ProdutoRepository produtoRepository = mock(ProdutoRepository.class);
+        CatalogoService service = new CatalogoService(produtoRepository, em, cacheManager);
+        // A produto enters the categoria while its ids are read
+        when(produtoRepository.findIdsByCategoriaId(categoria.getId())).thenAnswer(invocation -> {
+            catalogoService.evictCategoria(categoria.getId());
+            return Collections.singletonList(bala.getId());
+        });
+        when(produtoRepository.findAllById(anyIterable())).thenReturn(Collections.singletonList(bala));
+
+        assertThat(service.findProdutosByCategoria(categoria.getId())).containsExactly(bala);
+
+        // The ids may miss the new produto, so they are not kept
+        assertThat(cacheManager.getCache(CatalogoService.PRODUTOS_POR_CATEGORIA_CACHE).get(categoria.getId())).isNull();
+    }
+
+    private Produto createProduto(String nome, Categoria categoria) {
+        if (categoria.getId() == null) {
+            em.persist(categoria);
+        }
+        Produto produto = ProdutoResourceIntTest.createEntity(em).nome(nome).categoria(categoria);
+        em.persist(produto);
+        return produto;
+    }
+}
@@ -4,6 +4,7 @@ import io.github.jhipster.application.CandyShopApp;
 
 import io.github.jhipster.application.domain.Categoria;
 import io.github.jhipster.application.repository.CategoriaRepository;
+import io.github.jhipster.application.service.RowCountEstimator;
 import io.github.jhipster.application.web.rest.errors.ExceptionTranslator;
 
 import org.junit.Before;
@@ -26,6 +27,7 @@ import java.util.List;
 
 import static io.github.jhipster.application.web.rest.TestUtil.createFormattingConversionService;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -45,6 +47,9 @@ public class CategoriaResourceIntTest {
     @Autowired
     private CategoriaRepository categoriaRepository;
 
+    @Autowired
+    private RowCountEstimator rowCountEstimator;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -64,7 +69,7 @@ public class CategoriaResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final CategoriaResource categoriaResource = new CategoriaResource(categoriaRepository);
+        final CategoriaResource categoriaResource = new CategoriaResource(categoriaRepository, rowCountEstimator);
         this.restCategoriaMockMvc = MockMvcBuilders.standaloneSetup(categoriaResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -136,10 +141,24 @@ public class CategoriaResourceIntTest {
         restCategoriaMockMvc.perform(get("/api/categorias?sort=id,desc"))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(header().exists("Link"))
             .andExpect(jsonPath("$.[*].id").value(hasItem(categoria.getId().intValue())))
             .andExpect(jsonPath("$.[*].nome").value(hasItem(DEFAULT_NOME.toString())));
     }
     
+    @Test
+    @Transactional
+    public void getAllCategoriasCapsThePageSize() throws Exception {
+        // Initialize the database
+        categoriaRepository.saveAndFlush(categoria);
+
+        // A page larger than spring.data.web.pageable.max-page-size is reduced to it
+        restCategoriaMockMvc.perform(get("/api/categorias?size=100000"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Link", containsString("page=0&size=100>; rel=\"first\"")));
+    }
+
     @Test
     @Transactional
     public void getCategoria() throws Exception {
@@ -2,10 +2,23 @@ package io.github.jhipster.application.web.rest;
 
 import io.github.jhipster.application.CandyShopApp;
 
+import io.github.jhipster.application.config.ApplicationProperties;
+import io.github.jhipster.application.domain.Categoria;
 import io.github.jhipster.application.domain.Pedido;
+import io.github.jhipster.application.domain.PedidoItem;
+import io.github.jhipster.application.domain.Produto;
+import io.github.jhipster.application.domain.Usuario;
 import io.github.jhipster.application.repository.PedidoRepository;
+import io.github.jhipster.application.service.EstoqueService;
+import io.github.jhipster.application.service.NdjsonStreamService;
+import io.github.jhipster.application.service.PedidoBatchService;
+import io.github.jhipster.application.service.PedidoQueryService;
+import io.github.jhipster.application.service.PedidoService;
+import io.github.jhipster.application.service.VendasDiariasService;
+import io.github.jhipster.application.service.dto.PatchOperationDTO;
 import io.github.jhipster.application.web.rest.errors.ExceptionTranslator;
 
+import com.jayway.jsonpath.JsonPath;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -16,23 +29,35 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 
 import static io.github.jhipster.application.web.rest.TestUtil.createFormattingConversionService;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -55,6 +80,30 @@ public class PedidoResourceIntTest {
     @Mock
     private PedidoRepository pedidoRepositoryMock;
 
+    @Autowired
+    private NdjsonStreamService ndjsonStreamService;
+
+    @Autowired
+    private PedidoBatchService pedidoBatchService;
+
+    @Autowired
+    private EstoqueService estoqueService;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private PedidoQueryService pedidoQueryService;
+
+    @Autowired
+    private VendasDiariasService vendasDiariasService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -67,14 +116,21 @@ public class PedidoResourceIntTest {
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private ProdutoResource produtoResource;
+
     private MockMvc restPedidoMockMvc;
 
+    private MockMvc restProdutoMockMvc;
+
     private Pedido pedido;
 
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final PedidoResource pedidoResource = new PedidoResource(pedidoRepository);
+        final PedidoResource pedidoResource = new PedidoResource(pedidoRepository, ndjsonStreamService, pedidoBatchService, estoqueService, pedidoService, pedidoQueryService);
+        this.restProdutoMockMvc = MockMvcBuilders.standaloneSetup(produtoResource)
+            .setMessageConverters(jacksonMessageConverter).build();
         this.restPedidoMockMvc = MockMvcBuilders.standaloneSetup(pedidoResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -94,6 +150,15 @@ public class PedidoResourceIntTest {
         return pedido;
     }
 
+    /**
+     * Create an item of a pedido, without its preco which is set by PedidoService.
+     */
+    public static PedidoItem createItem(Produto produto, int quantidade) {
+        return new PedidoItem()
+            .quantidade(quantidade)
+            .produto(produto);
+    }
+
     @Before
     public void initTest() {
         pedido = createEntity(em);
@@ -117,6 +182,58 @@ public class PedidoResourceIntTest {
         assertThat(testPedido.getData()).isEqualTo(DEFAULT_DATA);
     }
 
+    @Test
+    @Transactional
+    public void createPedidoWithItens() throws Exception {
+        // Initialize the database, with a produto at 1.00
+        Produto produto = ProdutoResourceIntTest.createEntity(em);
+        em.persist(produto);
+        pedido.addItem(createItem(produto, 2)).addItem(createItem(produto, 1));
+
+        // Create the Pedido, the items of the same produto are merged into one
+        restPedidoMockMvc.perform(post("/api/pedidos")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(pedido)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.totalCentavos").value(300))
+            .andExpect(jsonPath("$.itens.length()").value(1))
+            .andExpect(jsonPath("$.itens[*].precoUnitarioCentavos").value(contains(100)));
+
+        // Validate the Pedido in the database
+        List<Pedido> pedidoList = pedidoRepository.findAll();
+        Pedido testPedido = pedidoList.get(pedidoList.size() - 1);
+        assertThat(testPedido.getTotalCentavos()).isEqualTo(300L);
+        assertThat(testPedido.getItens()).extracting(PedidoItem::getQuantidade).containsOnly(3);
+    }
+
+    @Test
+    @Transactional
+    public void createPedidoWithInvalidItens() throws Exception {
+        int databaseSizeBeforeCreate = pedidoRepository.findAll().size();
+        Produto produto = ProdutoResourceIntTest.createEntity(em);
+        em.persist(produto);
+
+        // An item needs a quantity
+        restPedidoMockMvc.perform(post("/api/pedidos")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(createEntity(em).addItem(createItem(produto, 0)))))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.invalidquantidade"));
+
+        // An item needs an existing produto
+        Produto unknown = ProdutoResourceIntTest.createEntity(em);
+        unknown.setId(Long.MAX_VALUE);
+        restPedidoMockMvc.perform(post("/api/pedidos")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(createEntity(em).addItem(createItem(unknown, 1)))))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.produtonotfound"));
+
+        // Validate the Pedido in the database
+        List<Pedido> pedidoList = pedidoRepository.findAll();
+        assertThat(pedidoList).hasSize(databaseSizeBeforeCreate);
+    }
+
     @Test
     @Transactional
     public void createPedidoWithExistingId() throws Exception {
@@ -136,6 +253,208 @@ public class PedidoResourceIntTest {
         assertThat(pedidoList).hasSize(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    public void createPedidosInBatch() throws Exception {
+        int databaseSizeBeforeCreate = pedidoRepository.findAll().size();
+
+        // The second pedido already has an ID, so only the first and the last ones can be created
+        Pedido pedidoWithId = createEntity(em);
+        pedidoWithId.setId(1L);
+        List<Pedido> pedidos = Arrays.asList(createEntity(em), pedidoWithId, createEntity(em));
+
+        restPedidoMockMvc.perform(post("/api/pedidos/batch")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(pedidos)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$.[0].index").value(0))
+            .andExpect(jsonPath("$.[0].status").value(201))
+            .andExpect(jsonPath("$.[0].id").isNumber())
+            .andExpect(jsonPath("$.[1].status").value(400))
+            .andExpect(jsonPath("$.[1].error").value("idexists"))
+            .andExpect(jsonPath("$.[2].status").value(201));
+
+        // Validate the Pedidos in the database
+        List<Pedido> pedidoList = pedidoRepository.findAll();
+        assertThat(pedidoList).hasSize(databaseSizeBeforeCreate + 2);
+        assertThat(pedidoList.get(pedidoList.size() - 1).getData()).isEqualTo(DEFAULT_DATA);
+    }
+
+    @Test
+    @Transactional
+    public void createPedidosInBatchWithInvalidItens() throws Exception {
+        int databaseSizeBeforeCreate = pedidoRepository.findAll().size();
+        Produto produto = ProdutoResourceIntTest.createEntity(em);
+        em.persist(produto);
+
+        // The second pedido has an item without quantity, it fails its chunk and is then rejected alone
+        List<Pedido> pedidos = Arrays.asList(createEntity(em).addItem(createItem(produto, 2)),
+            createEntity(em).addItem(createItem(produto, 0)));
+
+        restPedidoMockMvc.perform(post("/api/pedidos/batch")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(pedidos)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value(201))
+            .andExpect(jsonPath("$.[1].status").value(400))
+            .andExpect(jsonPath("$.[1].error").value("invalidquantidade"));
+
+        // Validate the Pedidos in the database
+        List<Pedido> pedidoList = pedidoRepository.findAll();
+        assertThat(pedidoList).hasSize(databaseSizeBeforeCreate + 1);
+        assertThat(pedidoList.get(pedidoList.size() - 1).getTotalCentavos()).isEqualTo(200L);
+    }
+
+    @Test
+    @Transactional
+    public void createPedidosFromStream() throws Exception {
+        int databaseSizeBeforeCreate = pedidoRepository.findAll().size();
+
+        String ndjson = new String(TestUtil.convertObjectToJsonBytes(pedido), StandardCharsets.UTF_8) + "\n"
+            + new String(TestUtil.convertObjectToJsonBytes(createEntity(em)), StandardCharsets.UTF_8) + "\n";
+
+        restPedidoMockMvc.perform(post("/api/pedidos/batch")
+            .contentType(NdjsonStreamService.APPLICATION_NDJSON_VALUE)
+            .content(ndjson))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].status").value(contains(201, 201)));
+
+        // Validate the Pedidos in the database
+        List<Pedido> pedidoList = pedidoRepository.findAll();
+        assertThat(pedidoList).hasSize(databaseSizeBeforeCreate + 2);
+    }
+
+    @Test
+    @Transactional
+    public void createPedidosFromInvalidStream() throws Exception {
+        restPedidoMockMvc.perform(post("/api/pedidos/batch")
+            .contentType(NdjsonStreamService.APPLICATION_NDJSON_VALUE)
+            .content("{\"data\": \"not a date\"}\n"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].status").value(400))
+            .andExpect(jsonPath("$.[0].error").value("invalidstream"));
+    }
+
+    @Test
+    public void createPedidosFromStreamInChunks() throws Exception {
+        // Not transactional, so that each chunk is committed in its own transaction: chunks of 2 pedidos
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getBatch().setChunkSize(2);
+        PedidoBatchService chunkedBatchService = new PedidoBatchService(pedidoRepository, pedidoService,
+            vendasDiariasService, transactionManager, applicationProperties);
+        MockMvc restMockMvc = MockMvcBuilders.standaloneSetup(new PedidoResource(pedidoRepository, ndjsonStreamService,
+            chunkedBatchService, estoqueService, pedidoService, pedidoQueryService))
+            .setControllerAdvice(exceptionTranslator)
+            .setMessageConverters(jacksonMessageConverter).build();
+
+        // The fourth line is malformed, after a committed chunk and a pedido of the next chunk
+        String line = new String(TestUtil.convertObjectToJsonBytes(createEntity(em)), StandardCharsets.UTF_8) + "\n";
+        String ndjson = line + line + line + "{\"data\": \"not a date\"}\n" + line;
+
+        List<Long> ids = new ArrayList<>();
+        try {
+            String response = restMockMvc.perform(post("/api/pedidos/batch")
+                .contentType(NdjsonStreamService.APPLICATION_NDJSON_VALUE)
+                .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].status").value(contains(201, 201, 201, 400)))
+                .andExpect(jsonPath("$.[3].index").value(3))
+                .andExpect(jsonPath("$.[3].error").value("invalidstream"))
+                .andReturn().getResponse().getContentAsString();
+            List<Number> createdIds = JsonPath.read(response, "$.[*].id");
+            createdIds.forEach(id -> ids.add(id.longValue()));
+
+            // Validate the Pedidos in the database: the pending chunk was saved, the line after the malformed one was not read
+            assertThat(ids).hasSize(3);
+            assertThat(pedidoRepository.findAllById(ids)).hasSize(3);
+        } finally {
+            pedidoRepository.deleteAll(pedidoRepository.findAllById(ids));
+            jdbcTemplate.update("delete from vendas_diarias_pendentes where dia = ?", Date.valueOf(DEFAULT_DATA));
+        }
+    }
+
+    @Test
+    @Transactional
+    public void getPedidosByUsuario() throws Exception {
+        // Initialize the database
+        Usuario usuario = UsuarioResourceIntTest.createEntity(em);
+        em.persist(usuario);
+        Pedido antigo = pedidoRepository.saveAndFlush(createEntity(em).usuario(usuario));
+        Pedido recente = pedidoRepository.saveAndFlush(createEntity(em).data(UPDATED_DATA).usuario(usuario));
+        Pedido outro = pedidoRepository.saveAndFlush(createEntity(em));
+
+        // Get the pedidos of the usuario, most recent first
+        restPedidoMockMvc.perform(get("/api/usuarios/{id}/pedidos?sort=data,desc", usuario.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(jsonPath("$.[0].id").value(recente.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(antigo.getId().intValue()))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(outro.getId().intValue()))));
+    }
+
+    @Test
+    @Transactional
+    public void getPedidosByProduto() throws Exception {
+        // Initialize the database, with the produto in two items of the same pedido
+        Produto produto = ProdutoResourceIntTest.createEntity(em);
+        em.persist(produto);
+        Produto outroProduto = ProdutoResourceIntTest.createEntity(em);
+        em.persist(outroProduto);
+        Pedido antigo = pedidoService.save(createEntity(em).addItem(createItem(produto, 1)).addItem(createItem(produto, 2)));
+        Pedido recente = pedidoService.save(createEntity(em).data(UPDATED_DATA).addItem(createItem(produto, 1)));
+        Pedido outro = pedidoService.save(createEntity(em).addItem(createItem(outroProduto, 1)));
+        em.flush();
+
+        // Get the pedidos of the produto, most recent first
+        restPedidoMockMvc.perform(get("/api/produtos/{id}/pedidos?sort=data,desc", produto.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(jsonPath("$.[0].id").value(recente.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(antigo.getId().intValue()))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(outro.getId().intValue()))));
+
+        // Without their count
+        restPedidoMockMvc.perform(get("/api/produtos/{id}/pedidos?sort=data,desc&count=none&size=1", produto.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[0].id").value(recente.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    public void getPedidosByPeriodo() throws Exception {
+        // Initialize the database
+        Pedido antigo = pedidoRepository.saveAndFlush(createEntity(em));
+        Pedido recente = pedidoRepository.saveAndFlush(createEntity(em).data(UPDATED_DATA));
+
+        // Get the pedidos of the period, which excludes the older one
+        restPedidoMockMvc.perform(get("/api/pedidos/periodo?inicio={inicio}&fim={fim}",
+            DEFAULT_DATA.plusDays(1), UPDATED_DATA))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(header().string("Link", containsString("/api/pedidos/periodo?inicio=" + DEFAULT_DATA.plusDays(1))))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(recente.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(antigo.getId().intValue()))));
+    }
+
+    @Test
+    @Transactional
+    public void lookupsUseTheIndexes() {
+        assertThat(TestUtil.explain(em, "select id from pedido where usuario_id = 1 order by data desc"))
+            .containsIgnoringCase("idx_pedido_usuario_id_data");
+        assertThat(TestUtil.explain(em, "select id from pedido where data between date '2018-01-01' and date '2018-01-31'"))
+            .containsIgnoringCase("idx_pedido_data");
+        assertThat(TestUtil.explain(em, "select id from pedido_item where pedido_id = 1"))
+            .containsIgnoringCase("idx_pedido_item_pedido_id");
+        // The pedidos of a produto
+        assertThat(TestUtil.explain(em, "select pedido_id from pedido_item where produto_id = 1"))
+            .containsIgnoringCase("idx_pedido_item_produto_id");
+    }
+
     @Test
     @Transactional
     public void getAllPedidos() throws Exception {
@@ -150,8 +469,105 @@ public class PedidoResourceIntTest {
             .andExpect(jsonPath("$.[*].data").value(hasItem(DEFAULT_DATA.toString())));
     }
     
+    @Test
+    @Transactional
+    public void getAllPedidosLoadsTheUsuariosInTheSameSelect() throws Exception {
+        // Initialize the database, with a usuario and a produto of its own categoria per pedido
+        List<Pedido> pedidos = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Usuario usuario = UsuarioResourceIntTest.createEntity(em);
+            em.persist(usuario);
+            Categoria categoria = CategoriaResourceIntTest.createEntity(em);
+            em.persist(categoria);
+            Produto produto = ProdutoResourceIntTest.createEntity(em).categoria(categoria);
+            em.persist(produto);
+            Pedido pedido = createEntity(em).usuario(usuario).addItem(createItem(produto, 1).precoUnitarioCentavos(100L));
+            em.persist(pedido);
+            pedidos.add(pedido);
+        }
+        em.flush();
+        em.clear();
+        long after = pedidos.get(0).getId() - 1;
+        SqlStatementCounter statements = new SqlStatementCounter(em);
+
+        statements.reset();
+        restPedidoMockMvc.perform(get("/api/pedidos?after={after}", after))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].usuario.id").isNumber());
+        statements.assertAtMost(1);
+
+        // The ids of the page, the pedidos with their items and produtos, and the categorias of the produtos in a batch
+        statements.reset();
+        restPedidoMockMvc.perform(get("/api/pedidos?after={after}&eagerload=true", after))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].itens[0].produto.categoria.id").isNumber());
+        statements.assertAtMost(3);
+
+        // A page of the pedidos of a period, and its count
+        statements.reset();
+        restPedidoMockMvc.perform(get("/api/pedidos/periodo?inicio={inicio}&fim={fim}&size=2", DEFAULT_DATA, DEFAULT_DATA))
+            .andExpect(status().isOk());
+        statements.assertAtMost(2);
+    }
+
+    @Test
+    @Transactional
+    public void getAllPedidosByKeysetPages() throws Exception {
+        // Initialize the database
+        Pedido first = pedidoRepository.saveAndFlush(createEntity(em));
+        Pedido second = pedidoRepository.saveAndFlush(createEntity(em));
+        Pedido third = pedidoRepository.saveAndFlush(createEntity(em));
+        Long cursor = first.getId() - 1;
+
+        // The first page holds two pedidos and links to the next one
+        restPedidoMockMvc.perform(get("/api/pedidos?after={after}&limit=2", cursor))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].id").value(first.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(second.getId().intValue()))
+            .andExpect(header().string(HttpHeaders.LINK,
+                "</api/pedidos?after=" + second.getId() + "&limit=2>; rel=\"next\""));
+
+        // The last page has no next link
+        restPedidoMockMvc.perform(get("/api/pedidos?after={after}&limit=2&eagerload=true", second.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(third.getId().intValue()))
+            .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
+    @Test
+    @Transactional
+    public void getAllPedidosByCriteria() throws Exception {
+        // Initialize the database
+        Usuario usuario = UsuarioResourceIntTest.createEntity(em);
+        em.persist(usuario);
+        Pedido antigo = pedidoRepository.saveAndFlush(createEntity(em).usuario(usuario));
+        Pedido first = pedidoRepository.saveAndFlush(createEntity(em).data(UPDATED_DATA).usuario(usuario));
+        Pedido outro = pedidoRepository.saveAndFlush(createEntity(em).data(UPDATED_DATA));
+        Pedido second = pedidoRepository.saveAndFlush(createEntity(em).data(UPDATED_DATA).usuario(usuario));
+
+        // The keyset pages of the recent pedidos of the usuario link to the next one with the criteria
+        restPedidoMockMvc.perform(get("/api/pedidos?usuarioId.equals={id}&data.greaterThan={data}&limit=1",
+                usuario.getId(), DEFAULT_DATA))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(first.getId().intValue()))
+            .andExpect(header().string(HttpHeaders.LINK, "</api/pedidos?usuarioId.equals=" + usuario.getId()
+                + "&data.greaterThan=" + DEFAULT_DATA + "&after=" + first.getId() + "&limit=1>; rel=\"next\""));
+
+        restPedidoMockMvc.perform(get("/api/pedidos?usuarioId.equals={id}&data.greaterThan={data}&after={after}&eagerload=true",
+                usuario.getId(), DEFAULT_DATA, first.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(second.getId().intValue()))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(antigo.getId().intValue()))))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(outro.getId().intValue()))))
+            .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+    
     public void getAllPedidosWithEagerRelationshipsIsEnabled() throws Exception {
-        PedidoResource pedidoResource = new PedidoResource(pedidoRepositoryMock);
+        PedidoResource pedidoResource = new PedidoResource(pedidoRepositoryMock, ndjsonStreamService, pedidoBatchService, estoqueService, pedidoService, pedidoQueryService);
         when(pedidoRepositoryMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
 
         MockMvc restPedidoMockMvc = MockMvcBuilders.standaloneSetup(pedidoResource)
@@ -167,7 +583,7 @@ public class PedidoResourceIntTest {
     }
 
     public void getAllPedidosWithEagerRelationshipsIsNotEnabled() throws Exception {
-        PedidoResource pedidoResource = new PedidoResource(pedidoRepositoryMock);
+        PedidoResource pedidoResource = new PedidoResource(pedidoRepositoryMock, ndjsonStreamService, pedidoBatchService, estoqueService, pedidoService, pedidoQueryService);
             when(pedidoRepositoryMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
             MockMvc restPedidoMockMvc = MockMvcBuilders.standaloneSetup(pedidoResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
@@ -181,6 +597,197 @@ public class PedidoResourceIntTest {
             verify(pedidoRepositoryMock, times(1)).findAllWithEagerRelationships(any());
     }
 
+    @Test
+    @Transactional
+    public void streamPedidos() throws Exception {
+        // Initialize the database
+        pedidoRepository.saveAndFlush(pedido);
+
+        // Stream all the pedidos, one JSON document per line
+        restPedidoMockMvc.perform(get("/api/pedidos/stream"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(NdjsonStreamService.APPLICATION_NDJSON_VALUE))
+            .andExpect(content().string(containsString("\"id\":" + pedido.getId())))
+            .andExpect(content().string(endsWith("}\n")));
+    }
+
+    @Test
+    @Transactional
+    public void reservarPedido() throws Exception {
+        // Initialize the database
+        Produto produto = ProdutoResourceIntTest.createEntity(em).estoque(2);
+        em.persist(produto);
+        pedidoService.save(pedido.addItem(createItem(produto, 1)));
+        em.flush();
+
+        // Reserve the pedido
+        restPedidoMockMvc.perform(post("/api/pedidos/{id}/reserva", pedido.getId()))
+            .andExpect(status().isOk());
+
+        // Validate the stock in the database
+        em.refresh(produto);
+        assertThat(produto.getEstoque()).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional
+    public void reservarPedidoTwice() throws Exception {
+        // Initialize the database
+        Produto produto = ProdutoResourceIntTest.createEntity(em).estoque(2);
+        em.persist(produto);
+        pedidoService.save(pedido.addItem(createItem(produto, 1)));
+        em.flush();
+
+        // A retried reservation does not take the stock again
+        for (int i = 0; i < 2; i++) {
+            restPedidoMockMvc.perform(post("/api/pedidos/{id}/reserva", pedido.getId()))
+                .andExpect(status().isOk());
+        }
+
+        // Validate the stock in the database
+        em.refresh(produto);
+        assertThat(produto.getEstoque()).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional
+    public void reservarPedidoWithQuantidades() throws Exception {
+        // Initialize the database, with the same produto added twice
+        Produto produto = ProdutoResourceIntTest.createEntity(em).estoque(4);
+        em.persist(produto);
+        pedidoService.save(pedido.addItem(createItem(produto, 2)).addItem(createItem(produto, 1)));
+        em.flush();
+
+        // Reserve the pedido
+        restPedidoMockMvc.perform(post("/api/pedidos/{id}/reserva", pedido.getId()))
+            .andExpect(status().isOk());
+
+        // Validate the stock in the database
+        em.refresh(produto);
+        assertThat(produto.getEstoque()).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional
+    public void reservarPedidoWithoutEstoque() throws Exception {
+        // Initialize the database
+        Produto produto = ProdutoResourceIntTest.createEntity(em).estoque(0);
+        em.persist(produto);
+        pedidoService.save(pedido.addItem(createItem(produto, 1)));
+        em.flush();
+
+        // Reserve the pedido
+        restPedidoMockMvc.perform(post("/api/pedidos/{id}/reserva", pedido.getId()))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.estoqueinsuficiente"));
+
+        // Validate the stock in the database
+        em.refresh(produto);
+        assertThat(produto.getEstoque()).isEqualTo(0);
+    }
+
+    @Test
+    @Transactional
+    public void reservarPedidoInFaixas() throws Exception {
+        // Initialize the database with a produto in hot mode, 3 units in 2 stripes, and 4 pedidos of 1 unit
+        Produto produto = ProdutoResourceIntTest.createEntity(em).estoque(3);
+        em.persist(produto);
+        List<Pedido> pedidos = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            pedidos.add(pedidoService.save(createEntity(em).addItem(createItem(produto, 1))));
+        }
+        em.flush();
+        estoqueService.dividirEmFaixas(produto.getId(), 2);
+
+        // Reserve the pedidos until the stock runs out
+        for (int i = 0; i < 3; i++) {
+            restPedidoMockMvc.perform(post("/api/pedidos/{id}/reserva", pedidos.get(i).getId()))
+                .andExpect(status().isOk());
+        }
+        restPedidoMockMvc.perform(post("/api/pedidos/{id}/reserva", pedidos.get(3).getId()))
+            .andExpect(status().isBadRequest());
+
+        // Validate the stock in the database
+        assertThat(estoqueService.getEstoqueDisponivel(produto.getId())).contains(0);
+    }
+
+    @Test
+    @Transactional
+    public void changeReservedPedido() throws Exception {
+        // Initialize the database with a reserved pedido of 2 units
+        Produto produto = ProdutoResourceIntTest.createEntity(em).estoque(10);
+        em.persist(produto);
+        pedidoService.save(pedido.addItem(createItem(produto, 2)));
+        em.flush();
+        Long itemId = pedido.getItens().iterator().next().getId();
+        restPedidoMockMvc.perform(post("/api/pedidos/{id}/reserva", pedido.getId()))
+            .andExpect(status().isOk());
+        assertEstoque(produto, 8);
+
+        // The units added are reserved
+        restPedidoMockMvc.perform(post("/api/pedidos/{id}/produtos/{produtoId}?quantidade=3", pedido.getId(), produto.getId()))
+            .andExpect(status().isOk());
+        assertEstoque(produto, 5);
+
+        // The units taken off are released
+        restPedidoMockMvc.perform(patch("/api/pedidos/{id}", pedido.getId())
+            .contentType(PatchOperationDTO.APPLICATION_JSON_PATCH_VALUE)
+            .content("[{\"op\": \"replace\", \"path\": \"/itens/" + itemId + "/quantidade\", \"value\": 1}]"))
+            .andExpect(status().isOk());
+        assertEstoque(produto, 9);
+        restPedidoMockMvc.perform(delete("/api/pedidos/{id}/produtos/{produtoId}", pedido.getId(), produto.getId()))
+            .andExpect(status().isOk());
+        assertEstoque(produto, 10);
+
+        // The units of a deleted pedido are released
+        restPedidoMockMvc.perform(post("/api/pedidos/{id}/produtos/{produtoId}?quantidade=4", pedido.getId(), produto.getId()))
+            .andExpect(status().isOk());
+        assertEstoque(produto, 6);
+        restPedidoMockMvc.perform(delete("/api/pedidos/{id}", pedido.getId()))
+            .andExpect(status().isOk());
+        assertEstoque(produto, 10);
+    }
+
+    @Test
+    @Transactional
+    public void changeReservedPedidoWithoutEstoque() throws Exception {
+        // Initialize the database with a produto in hot mode, 3 units in 2 stripes, and a reserved pedido of 1 unit
+        Produto produto = ProdutoResourceIntTest.createEntity(em).estoque(3);
+        em.persist(produto);
+        Produto outro = ProdutoResourceIntTest.createEntity(em).estoque(1);
+        em.persist(outro);
+        pedidoService.save(pedido.addItem(createItem(produto, 1)).addItem(createItem(outro, 1)));
+        em.flush();
+        estoqueService.dividirEmFaixas(produto.getId(), 2);
+        restPedidoMockMvc.perform(post("/api/pedidos/{id}/reserva", pedido.getId()))
+            .andExpect(status().isOk());
+        assertEstoque(produto, 2);
+
+        // The unit removed goes back to the stripes
+        restPedidoMockMvc.perform(delete("/api/pedidos/{id}/produtos/{produtoId}", pedido.getId(), produto.getId()))
+            .andExpect(status().isOk());
+        assertEstoque(produto, 3);
+
+        // More units than in stock cannot be added
+        restPedidoMockMvc.perform(post("/api/pedidos/{id}/produtos/{produtoId}?quantidade=1", pedido.getId(), outro.getId()))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.estoqueinsuficiente"));
+        assertEstoque(outro, 0);
+    }
+
+    private void assertEstoque(Produto produto, int estoque) throws Exception {
+        restProdutoMockMvc.perform(get("/api/produtos/{id}/estoque", produto.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().string(String.valueOf(estoque)));
+    }
+
+    @Test
+    @Transactional
+    public void reservarNonExistingPedido() throws Exception {
+        restPedidoMockMvc.perform(post("/api/pedidos/{id}/reserva", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     public void getPedido() throws Exception {
@@ -230,6 +837,183 @@ public class PedidoResourceIntTest {
         assertThat(testPedido.getData()).isEqualTo(UPDATED_DATA);
     }
 
+    @Test
+    @Transactional
+    public void updatePedidoKeepsThePrecoOfTheItens() throws Exception {
+        // Initialize the database, with an item at 1.00
+        Produto produto = ProdutoResourceIntTest.createEntity(em);
+        em.persist(produto);
+        pedidoService.save(pedido.addItem(createItem(produto, 2)));
+        em.flush();
+
+        // The precos of the produtos go up to 1.50
+        Produto added = ProdutoResourceIntTest.createEntity(em).preco(new BigDecimal("1.50"));
+        em.persist(added);
+        produto.setPreco(new BigDecimal("1.50"));
+        em.flush();
+        Pedido updatedPedido = pedidoRepository.findOneWithEagerRelationships(pedido.getId()).get();
+        em.detach(updatedPedido);
+        updatedPedido.addItem(createItem(produto, 1)).addItem(createItem(added, 1));
+
+        // The produto added is at the new preco, the one already there keeps its item and its preco
+        restPedidoMockMvc.perform(put("/api/pedidos")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(updatedPedido)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalCentavos").value(450));
+
+        // Validate the Pedido in the database
+        em.flush();
+        em.clear();
+        Pedido testPedido = pedidoRepository.findOneWithEagerRelationships(pedido.getId()).get();
+        assertThat(testPedido.getTotalCentavos()).isEqualTo(450L);
+        assertThat(testPedido.getItens()).extracting(PedidoItem::getQuantidade, PedidoItem::getPrecoUnitarioCentavos)
+            .containsOnly(tuple(3, 100L), tuple(1, 150L));
+    }
+
+    @Test
+    @Transactional
+    public void addProdutoToPedido() throws Exception {
+        // Initialize the database, with a basket of 10 produtos
+        for (int i = 0; i < 10; i++) {
+            Produto produto = ProdutoResourceIntTest.createEntity(em);
+            em.persist(produto);
+            pedido.addItem(createItem(produto, 1));
+        }
+        Produto produto = ProdutoResourceIntTest.createEntity(em);
+        em.persist(produto);
+        pedidoService.save(pedido);
+        em.flush();
+        em.clear();
+        SqlStatementCounter statements = new SqlStatementCounter(em);
+
+        // The pedido, the produto and its items in the pedido are read, without the other items of the basket
+        statements.reset();
+        restPedidoMockMvc.perform(post("/api/pedidos/{id}/produtos/{produtoId}?quantidade=2", pedido.getId(), produto.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.quantidade").value(2))
+            .andExpect(jsonPath("$.precoUnitarioCentavos").value(100))
+            .andExpect(jsonPath("$.produto.id").value(produto.getId().intValue()));
+        em.flush();
+        statements.assertAtMost(6);
+
+        // The produto is already in the pedido, its quantity is increased
+        restPedidoMockMvc.perform(post("/api/pedidos/{id}/produtos/{produtoId}", pedido.getId(), produto.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.quantidade").value(3));
+
+        // Validate the Pedido in the database
+        em.flush();
+        em.clear();
+        Pedido testPedido = pedidoRepository.findOneWithEagerRelationships(pedido.getId()).get();
+        assertThat(testPedido.getItens()).hasSize(11);
+        assertThat(testPedido.getTotalCentavos()).isEqualTo(1300L);
+    }
+
+    @Test
+    @Transactional
+    public void addProdutoToNonExistingPedido() throws Exception {
+        Produto produto = ProdutoResourceIntTest.createEntity(em);
+        em.persist(produto);
+
+        restPedidoMockMvc.perform(post("/api/pedidos/{id}/produtos/{produtoId}", Long.MAX_VALUE, produto.getId()))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    public void removeProdutoFromPedido() throws Exception {
+        // Initialize the database
+        Produto removed = ProdutoResourceIntTest.createEntity(em);
+        em.persist(removed);
+        Produto kept = ProdutoResourceIntTest.createEntity(em);
+        em.persist(kept);
+        pedidoService.save(pedido.addItem(createItem(removed, 2)).addItem(createItem(kept, 1)));
+        em.flush();
+        em.clear();
+
+        restPedidoMockMvc.perform(delete("/api/pedidos/{id}/produtos/{produtoId}", pedido.getId(), removed.getId()))
+            .andExpect(status().isOk());
+
+        // The produto is no longer in the pedido
+        restPedidoMockMvc.perform(delete("/api/pedidos/{id}/produtos/{produtoId}", pedido.getId(), removed.getId()))
+            .andExpect(status().isNotFound());
+
+        // Validate the Pedido in the database
+        em.flush();
+        em.clear();
+        Pedido testPedido = pedidoRepository.findOneWithEagerRelationships(pedido.getId()).get();
+        assertThat(testPedido.getItens()).extracting("produto.id").containsExactly(kept.getId());
+        assertThat(testPedido.getTotalCentavos()).isEqualTo(100L);
+    }
+
+    @Test
+    @Transactional
+    public void patchPedido() throws Exception {
+        // Initialize the database
+        Produto produto = ProdutoResourceIntTest.createEntity(em);
+        em.persist(produto);
+        Produto added = ProdutoResourceIntTest.createEntity(em);
+        em.persist(added);
+        pedidoService.save(pedido.addItem(createItem(produto, 2)));
+        em.flush();
+        Long itemId = pedido.getItens().iterator().next().getId();
+        em.clear();
+
+        String operacoes = "[" +
+            "{\"op\": \"replace\", \"path\": \"/data\", \"value\": \"" + UPDATED_DATA + "\"}," +
+            "{\"op\": \"replace\", \"path\": \"/itens/" + itemId + "/quantidade\", \"value\": 5}," +
+            "{\"op\": \"add\", \"path\": \"/itens/-\", \"value\": {\"produto\": {\"id\": " + added.getId() + "}, \"quantidade\": 1}}" +
+            "]";
+        restPedidoMockMvc.perform(patch("/api/pedidos/{id}", pedido.getId())
+            .contentType(PatchOperationDTO.APPLICATION_JSON_PATCH_VALUE)
+            .content(operacoes))
+            .andExpect(status().isOk());
+
+        // Validate the Pedido in the database
+        em.flush();
+        em.clear();
+        Pedido testPedido = pedidoRepository.findOneWithEagerRelationships(pedido.getId()).get();
+        assertThat(testPedido.getData()).isEqualTo(UPDATED_DATA);
+        assertThat(testPedido.getItens()).extracting(PedidoItem::getQuantidade).containsOnly(5, 1);
+        assertThat(testPedido.getTotalCentavos()).isEqualTo(600L);
+
+        // The item is removed
+        restPedidoMockMvc.perform(patch("/api/pedidos/{id}", pedido.getId())
+            .contentType(PatchOperationDTO.APPLICATION_JSON_PATCH_VALUE)
+            .content("[{\"op\": \"remove\", \"path\": \"/itens/" + itemId + "\"}]"))
+            .andExpect(status().isOk());
+        em.flush();
+        em.clear();
+        testPedido = pedidoRepository.findOneWithEagerRelationships(pedido.getId()).get();
+        assertThat(testPedido.getItens()).extracting("produto.id").containsExactly(added.getId());
+        assertThat(testPedido.getTotalCentavos()).isEqualTo(100L);
+    }
+
+    @Test
+    @Transactional
+    public void patchPedidoWithInvalidOperations() throws Exception {
+        // Initialize the database
+        pedidoRepository.saveAndFlush(pedido);
+
+        restPedidoMockMvc.perform(patch("/api/pedidos/{id}", pedido.getId())
+            .contentType(PatchOperationDTO.APPLICATION_JSON_PATCH_VALUE)
+            .content("[{\"op\": \"move\", \"from\": \"/data\", \"path\": \"/usuario\"}]"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.invalidpatch"));
+
+        restPedidoMockMvc.perform(patch("/api/pedidos/{id}", pedido.getId())
+            .contentType(PatchOperationDTO.APPLICATION_JSON_PATCH_VALUE)
+            .content("[{\"op\": \"remove\", \"path\": \"/itens/" + Long.MAX_VALUE + "\"}]"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.itemnotfound"));
+
+        restPedidoMockMvc.perform(patch("/api/pedidos/{id}", Long.MAX_VALUE)
+            .contentType(PatchOperationDTO.APPLICATION_JSON_PATCH_VALUE)
+            .content("[]"))
+            .andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     public void updateNonExistingPedido() throws Exception {
@@ -280,4 +1064,19 @@ public class PedidoResourceIntTest {
         pedido1.setId(null);
         assertThat(pedido1).isNotEqualTo(pedido2);
     }
+
+    @Test
+    @Transactional
+    public void pedidoItemEqualsVerifier() throws Exception {
+        TestUtil.equalsVerifier(PedidoItem.class);
+        PedidoItem pedidoItem1 = new PedidoItem();
+        pedidoItem1.setId(1L);
+        PedidoItem pedidoItem2 = new PedidoItem();
+        pedidoItem2.setId(pedidoItem1.getId());
+        assertThat(pedidoItem1).isEqualTo(pedidoItem2);
+        pedidoItem2.setId(2L);
+        assertThat(pedidoItem1).isNotEqualTo(pedidoItem2);
+        pedidoItem1.setId(null);
+        assertThat(pedidoItem1).isNotEqualTo(pedidoItem2);
+    }
 }
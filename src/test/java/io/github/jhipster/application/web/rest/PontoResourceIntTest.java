@@ -3,7 +3,12 @@ package io.github.jhipster.application.web.rest;
 import io.github.jhipster.application.CandyShopApp;
 
 import io.github.jhipster.application.domain.Ponto;
+import io.github.jhipster.application.domain.Usuario;
 import io.github.jhipster.application.repository.PontoRepository;
+import io.github.jhipster.application.service.NdjsonStreamService;
+import io.github.jhipster.application.service.PontoQueryService;
+import io.github.jhipster.application.service.PontoService;
+import io.github.jhipster.application.service.RowCountEstimator;
 import io.github.jhipster.application.web.rest.errors.ExceptionTranslator;
 
 import org.junit.Before;
@@ -28,7 +33,10 @@ import java.util.List;
 
 import static io.github.jhipster.application.web.rest.TestUtil.createFormattingConversionService;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -41,8 +49,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest(classes = CandyShopApp.class)
 public class PontoResourceIntTest {
 
-    private static final String DEFAULT_QUANTIDADE = "AAAAAAAAAA";
-    private static final String UPDATED_QUANTIDADE = "BBBBBBBBBB";
+    private static final Integer DEFAULT_QUANTIDADE = 1;
+    private static final Integer UPDATED_QUANTIDADE = 2;
 
     private static final LocalDate DEFAULT_DATA = LocalDate.ofEpochDay(0L);
     private static final LocalDate UPDATED_DATA = LocalDate.now(ZoneId.systemDefault());
@@ -50,6 +58,18 @@ public class PontoResourceIntTest {
     @Autowired
     private PontoRepository pontoRepository;
 
+    @Autowired
+    private NdjsonStreamService ndjsonStreamService;
+
+    @Autowired
+    private PontoService pontoService;
+
+    @Autowired
+    private PontoQueryService pontoQueryService;
+
+    @Autowired
+    private RowCountEstimator rowCountEstimator;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -69,7 +89,7 @@ public class PontoResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final PontoResource pontoResource = new PontoResource(pontoRepository);
+        final PontoResource pontoResource = new PontoResource(pontoRepository, ndjsonStreamService, pontoService, rowCountEstimator, pontoQueryService);
         this.restPontoMockMvc = MockMvcBuilders.standaloneSetup(pontoResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -133,6 +153,24 @@ public class PontoResourceIntTest {
         assertThat(pontoList).hasSize(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    public void checkDataIsRequired() throws Exception {
+        int databaseSizeBeforeTest = pontoRepository.findAll().size();
+        // set the field null
+        ponto.setData(null);
+
+        // Create the Ponto, which fails.
+
+        restPontoMockMvc.perform(post("/api/pontos")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(ponto)))
+            .andExpect(status().isBadRequest());
+
+        List<Ponto> pontoList = pontoRepository.findAll();
+        assertThat(pontoList).hasSize(databaseSizeBeforeTest);
+    }
+
     @Test
     @Transactional
     public void getAllPontos() throws Exception {
@@ -143,11 +181,77 @@ public class PontoResourceIntTest {
         restPontoMockMvc.perform(get("/api/pontos?sort=id,desc"))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(header().exists("Link"))
             .andExpect(jsonPath("$.[*].id").value(hasItem(ponto.getId().intValue())))
-            .andExpect(jsonPath("$.[*].quantidade").value(hasItem(DEFAULT_QUANTIDADE.toString())))
+            .andExpect(jsonPath("$.[*].quantidade").value(hasItem(DEFAULT_QUANTIDADE)))
             .andExpect(jsonPath("$.[*].data").value(hasItem(DEFAULT_DATA.toString())));
     }
     
+    @Test
+    @Transactional
+    public void getPontosByCriteria() throws Exception {
+        // Initialize the database
+        Ponto antigo = pontoRepository.saveAndFlush(createEntity(em));
+        Ponto recente = pontoRepository.saveAndFlush(createEntity(em).data(UPDATED_DATA).quantidade(UPDATED_QUANTIDADE));
+
+        // Get the pontos after the default data
+        restPontoMockMvc.perform(get("/api/pontos?data.greaterThan={data}&sort=id,asc", DEFAULT_DATA))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(recente.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(antigo.getId().intValue()))));
+
+        // Get the pontos of the default quantidade
+        restPontoMockMvc.perform(get("/api/pontos?quantidade.equals={quantidade}&id.in={antigo},{recente}",
+                DEFAULT_QUANTIDADE, antigo.getId(), recente.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.[0].id").value(antigo.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    public void getPontosByUsuario() throws Exception {
+        // Initialize the database
+        Usuario usuario = UsuarioResourceIntTest.createEntity(em);
+        em.persist(usuario);
+        Ponto antigo = pontoRepository.saveAndFlush(createEntity(em).usuario(usuario));
+        Ponto recente = pontoRepository.saveAndFlush(createEntity(em).data(UPDATED_DATA).usuario(usuario));
+        Ponto outro = pontoRepository.saveAndFlush(createEntity(em).data(UPDATED_DATA));
+
+        // Get the pontos of the usuario in the period, which excludes the older one
+        restPontoMockMvc.perform(get("/api/usuarios/{id}/pontos?inicio={inicio}&fim={fim}",
+            usuario.getId(), DEFAULT_DATA.plusDays(1), UPDATED_DATA))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.[0].id").value(recente.getId().intValue()))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(antigo.getId().intValue()))))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(outro.getId().intValue()))));
+    }
+
+    @Test
+    @Transactional
+    public void lookupByUsuarioAndDataUsesTheIndex() {
+        assertThat(TestUtil.explain(em,
+            "select id from ponto where usuario_id = 1 and data between date '2018-01-01' and date '2018-01-31'"))
+            .containsIgnoringCase("idx_ponto_usuario_id_data");
+    }
+
+    @Test
+    @Transactional
+    public void streamPontos() throws Exception {
+        // Initialize the database
+        pontoRepository.saveAndFlush(ponto);
+
+        // Stream all the pontos, one JSON document per line
+        restPontoMockMvc.perform(get("/api/pontos/stream"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(NdjsonStreamService.APPLICATION_NDJSON_VALUE))
+            .andExpect(content().string(containsString("\"id\":" + ponto.getId())))
+            .andExpect(content().string(endsWith("}\n")));
+    }
+
     @Test
     @Transactional
     public void getPonto() throws Exception {
@@ -159,7 +263,7 @@ public class PontoResourceIntTest {
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
             .andExpect(jsonPath("$.id").value(ponto.getId().intValue()))
-            .andExpect(jsonPath("$.quantidade").value(DEFAULT_QUANTIDADE.toString()))
+            .andExpect(jsonPath("$.quantidade").value(DEFAULT_QUANTIDADE))
             .andExpect(jsonPath("$.data").value(DEFAULT_DATA.toString()));
     }
 
@@ -236,6 +340,41 @@ public class PontoResourceIntTest {
         assertThat(pontoList).hasSize(databaseSizeBeforeDelete - 1);
     }
 
+    @Test
+    @Transactional
+    public void saldoFollowsThePontosOfUsuario() throws Exception {
+        // Initialize the database
+        Usuario usuario = UsuarioResourceIntTest.createEntity(em);
+        em.persist(usuario);
+        em.flush();
+
+        // A new ponto is added to the balance
+        restPontoMockMvc.perform(post("/api/pontos")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(ponto.usuario(usuario))))
+            .andExpect(status().isCreated());
+        assertThat(pontoService.getSaldo(usuario.getId())).contains(1L);
+
+        Ponto outro = pontoService.save(createEntity(em).quantidade(5).usuario(usuario));
+        em.flush();
+        assertThat(pontoService.getSaldo(usuario.getId())).contains(6L);
+
+        // An updated ponto replaces its former quantity
+        em.detach(outro);
+        restPontoMockMvc.perform(put("/api/pontos")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(outro.quantidade(UPDATED_QUANTIDADE))))
+            .andExpect(status().isOk());
+        em.flush();
+        assertThat(pontoService.getSaldo(usuario.getId())).contains(3L);
+
+        // A deleted ponto is removed from the balance
+        restPontoMockMvc.perform(delete("/api/pontos/{id}", outro.getId())
+            .accept(TestUtil.APPLICATION_JSON_UTF8))
+            .andExpect(status().isOk());
+        assertThat(pontoService.getSaldo(usuario.getId())).contains(1L);
+    }
+
     @Test
     @Transactional
     public void equalsVerifier() throws Exception {
@@ -2,9 +2,16 @@ package io.github.jhipster.application.web.rest;
 
 import io.github.jhipster.application.CandyShopApp;
 
+import io.github.jhipster.application.domain.Categoria;
 import io.github.jhipster.application.domain.Produto;
 import io.github.jhipster.application.repository.ProdutoRepository;
+import io.github.jhipster.application.service.CatalogoService;
+import io.github.jhipster.application.service.EstoqueService;
+import io.github.jhipster.application.service.NdjsonStreamService;
+import io.github.jhipster.application.service.ProdutoQueryService;
+import io.github.jhipster.application.service.RowCountEstimator;
 import io.github.jhipster.application.web.rest.errors.ExceptionTranslator;
+import io.github.jhipster.application.web.rest.util.PaginationUtil;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -21,12 +28,16 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
+import java.math.BigDecimal;
 import java.util.List;
 
 
 import static io.github.jhipster.application.web.rest.TestUtil.createFormattingConversionService;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -42,8 +53,8 @@ public class ProdutoResourceIntTest {
     private static final String DEFAULT_NOME = "AAAAAAAAAA";
     private static final String UPDATED_NOME = "BBBBBBBBBB";
 
-    private static final String DEFAULT_PRECO = "AAAAAAAAAA";
-    private static final String UPDATED_PRECO = "BBBBBBBBBB";
+    private static final BigDecimal DEFAULT_PRECO = new BigDecimal(1);
+    private static final BigDecimal UPDATED_PRECO = new BigDecimal(2);
 
     private static final Integer DEFAULT_ESTOQUE = 1;
     private static final Integer UPDATED_ESTOQUE = 2;
@@ -51,6 +62,21 @@ public class ProdutoResourceIntTest {
     @Autowired
     private ProdutoRepository produtoRepository;
 
+    @Autowired
+    private NdjsonStreamService ndjsonStreamService;
+
+    @Autowired
+    private EstoqueService estoqueService;
+
+    @Autowired
+    private CatalogoService catalogoService;
+
+    @Autowired
+    private ProdutoQueryService produtoQueryService;
+
+    @Autowired
+    private RowCountEstimator rowCountEstimator;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -70,7 +96,7 @@ public class ProdutoResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final ProdutoResource produtoResource = new ProdutoResource(produtoRepository);
+        final ProdutoResource produtoResource = new ProdutoResource(produtoRepository, ndjsonStreamService, estoqueService, catalogoService, rowCountEstimator, produtoQueryService);
         this.restProdutoMockMvc = MockMvcBuilders.standaloneSetup(produtoResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -146,12 +172,204 @@ public class ProdutoResourceIntTest {
         restProdutoMockMvc.perform(get("/api/produtos?sort=id,desc"))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(header().exists("Link"))
             .andExpect(jsonPath("$.[*].id").value(hasItem(produto.getId().intValue())))
             .andExpect(jsonPath("$.[*].nome").value(hasItem(DEFAULT_NOME.toString())))
-            .andExpect(jsonPath("$.[*].preco").value(hasItem(DEFAULT_PRECO.toString())))
+            .andExpect(jsonPath("$.[*].preco").value(hasItem(DEFAULT_PRECO.intValue())))
             .andExpect(jsonPath("$.[*].estoque").value(hasItem(DEFAULT_ESTOQUE)));
     }
+
+    @Test
+    @Transactional
+    public void getAllProdutosLoadsTheCategoriasInTheSameSelect() throws Exception {
+        // Initialize the database, with a categoria per produto
+        for (int i = 0; i < 5; i++) {
+            Categoria categoria = CategoriaResourceIntTest.createEntity(em);
+            em.persist(categoria);
+            em.persist(createEntity(em).categoria(categoria));
+        }
+        em.flush();
+        em.clear();
+        SqlStatementCounter statements = new SqlStatementCounter(em);
+
+        // A page, and its count
+        statements.reset();
+        restProdutoMockMvc.perform(get("/api/produtos?sort=id,desc&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].categoria.id").isNumber());
+        statements.assertAtMost(2);
+
+        // A page of a price range, and its count
+        statements.reset();
+        restProdutoMockMvc.perform(get("/api/produtos?minPreco=0&size=2"))
+            .andExpect(status().isOk());
+        statements.assertAtMost(2);
+    }
+
+    @Test
+    @Transactional
+    public void getProdutosByPrecoRange() throws Exception {
+        // Initialize the database
+        Produto barato = produtoRepository.saveAndFlush(createEntity(em).preco(new BigDecimal("1.50")));
+        Produto medio = produtoRepository.saveAndFlush(createEntity(em).preco(new BigDecimal("5.00")));
+        Produto caro = produtoRepository.saveAndFlush(createEntity(em).preco(new BigDecimal("10.00")));
+
+        // Get the produtos between 2 and 10, cheapest first
+        restProdutoMockMvc.perform(get("/api/produtos?minPreco=2&maxPreco=10&sort=preco,asc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(header().string("Link", containsString("/api/produtos?minPreco=2&maxPreco=10&sort=preco,asc&page=0")))
+            .andExpect(jsonPath("$.[0].id").value(medio.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(caro.getId().intValue()))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(barato.getId().intValue()))));
+
+        // Get the produtos up to 5
+        restProdutoMockMvc.perform(get("/api/produtos?maxPreco=5&sort=preco,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(jsonPath("$.[0].id").value(medio.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(barato.getId().intValue()));
+    }
     
+    @Test
+    @Transactional
+    public void getProdutosByCriteria() throws Exception {
+        // Initialize the database
+        Categoria categoria = CategoriaResourceIntTest.createEntity(em);
+        em.persist(categoria);
+        Produto trufa = produtoRepository.saveAndFlush(createEntity(em).nome("Trufa de doce de leite").estoque(2).categoria(categoria));
+        Produto brigadeiro = produtoRepository.saveAndFlush(createEntity(em).nome("Brigadeiro").estoque(2).categoria(categoria));
+        Produto doceDeLeite = produtoRepository.saveAndFlush(createEntity(em).nome("Doce de leite").estoque(50));
+
+        // Get the produtos whose nome contains "leite"
+        restProdutoMockMvc.perform(get("/api/produtos?nome.contains=leite&sort=id,asc"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(jsonPath("$.[0].id").value(trufa.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(doceDeLeite.getId().intValue()));
+
+        // Get the produtos of the categoria with little estoque, the links keep the criteria
+        restProdutoMockMvc.perform(get("/api/produtos?categoriaId.equals={id}&estoque.lessThan=10&sort=id,asc&size=1&count=none",
+                categoria.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string("Link", "</api/produtos?categoriaId.equals=" + categoria.getId()
+                + "&estoque.lessThan=10&sort=id,asc&count=none&page=1&size=1>; rel=\"next\""))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(trufa.getId().intValue()));
+
+        // No produto matches all the criteria
+        restProdutoMockMvc.perform(get("/api/produtos?nome.equals=Brigadeiro&estoque.greaterThan=10"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "0"))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(brigadeiro.getId().intValue()))));
+    }
+
+    @Test
+    @Transactional
+    public void getProdutosByEstoqueInFaixas() throws Exception {
+        // Initialize the database with a produto in hot mode, its 50 units are in its stripes
+        Produto produto = produtoRepository.saveAndFlush(createEntity(em).estoque(50));
+        estoqueService.dividirEmFaixas(produto.getId(), 2);
+
+        // The estoque criteria filter on the stock of the stripes
+        restProdutoMockMvc.perform(get("/api/produtos?id.equals={id}&estoque.greaterThan=10", produto.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(produto.getId().intValue())));
+        restProdutoMockMvc.perform(get("/api/produtos?id.equals={id}&estoque.lessThan=10", produto.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    @Transactional
+    public void getProdutosWithoutCount() throws Exception {
+        // Initialize the database
+        Produto primeiro = produtoRepository.saveAndFlush(createEntity(em).preco(new BigDecimal("1001.00")));
+        produtoRepository.saveAndFlush(createEntity(em).preco(new BigDecimal("1002.00")));
+        Produto ultimo = produtoRepository.saveAndFlush(createEntity(em).preco(new BigDecimal("1003.00")));
+        em.clear();
+        SqlStatementCounter statements = new SqlStatementCounter(em);
+
+        // A full page is read with one select, and links to the next one
+        statements.reset();
+        restProdutoMockMvc.perform(get("/api/produtos?minPreco=1001&sort=preco,asc&size=2&count=none"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string("Link", "</api/produtos?minPreco=1001&sort=preco,asc&count=none&page=1&size=2>; rel=\"next\""))
+            .andExpect(jsonPath("$.[0].id").value(primeiro.getId().intValue()))
+            .andExpect(jsonPath("$.length()").value(2));
+        statements.assertAtMost(1);
+
+        // The last page has no link
+        restProdutoMockMvc.perform(get("/api/produtos?minPreco=1001&sort=preco,asc&size=2&page=1&count=none"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Link"))
+            .andExpect(jsonPath("$.[0].id").value(ultimo.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    public void getAllProdutosWithEstimatedCount() throws Exception {
+        // Initialize the database
+        produtoRepository.saveAndFlush(createEntity(em));
+        produtoRepository.saveAndFlush(createEntity(em));
+
+        restProdutoMockMvc.perform(get("/api/produtos?sort=id,desc&size=1&count=estimated"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(header().string(PaginationUtil.TOTAL_COUNT_ESTIMATED_HEADER, "true"))
+            .andExpect(header().string("Link", containsString("</api/produtos?sort=id,desc&count=estimated&page=1&size=1>; rel=\"next\"")));
+    }
+
+    @Test
+    @Transactional
+    public void getAllProdutosWithUnknownCount() throws Exception {
+        restProdutoMockMvc.perform(get("/api/produtos?count=approximate"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void getProdutosByCategoria() throws Exception {
+        // Initialize the database
+        Categoria categoria = CategoriaResourceIntTest.createEntity(em);
+        em.persist(categoria);
+        Produto daCategoria = produtoRepository.saveAndFlush(createEntity(em).categoria(categoria));
+        Produto semCategoria = produtoRepository.saveAndFlush(createEntity(em));
+
+        // Get the produtos of the categoria
+        restProdutoMockMvc.perform(get("/api/categorias/{id}/produtos?sort=id,asc", categoria.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.[0].id").value(daCategoria.getId().intValue()))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(semCategoria.getId().intValue()))));
+    }
+
+    @Test
+    @Transactional
+    public void lookupByCategoriaUsesTheIndex() {
+        assertThat(TestUtil.explain(em, "select id from produto where categoria_id = 1"))
+            .containsIgnoringCase("idx_produto_categoria_id");
+    }
+
+    @Test
+    @Transactional
+    public void streamProdutos() throws Exception {
+        // Initialize the database
+        produtoRepository.saveAndFlush(produto);
+
+        // Stream all the produtos, one JSON document per line
+        restProdutoMockMvc.perform(get("/api/produtos/stream"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(NdjsonStreamService.APPLICATION_NDJSON_VALUE))
+            .andExpect(content().string(containsString("\"id\":" + produto.getId())))
+            .andExpect(content().string(endsWith("}\n")));
+    }
+
     @Test
     @Transactional
     public void getProduto() throws Exception {
@@ -164,10 +382,83 @@ public class ProdutoResourceIntTest {
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
             .andExpect(jsonPath("$.id").value(produto.getId().intValue()))
             .andExpect(jsonPath("$.nome").value(DEFAULT_NOME.toString()))
-            .andExpect(jsonPath("$.preco").value(DEFAULT_PRECO.toString()))
+            .andExpect(jsonPath("$.preco").value(DEFAULT_PRECO.intValue()))
             .andExpect(jsonPath("$.estoque").value(DEFAULT_ESTOQUE));
     }
 
+    @Test
+    @Transactional
+    public void splitAndMergeEstoqueFaixas() throws Exception {
+        // Initialize the database
+        produtoRepository.saveAndFlush(produto.estoque(10));
+
+        // Switch the produto to hot mode
+        restProdutoMockMvc.perform(put("/api/produtos/{id}/estoque/faixas?quantidade=4", produto.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().string("10"));
+        em.refresh(produto);
+        assertThat(produto.getEstoque()).isEqualTo(0);
+
+        // The available stock includes the stripes
+        restProdutoMockMvc.perform(get("/api/produtos/{id}/estoque", produto.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().string("10"));
+
+        // Switch the produto back to normal mode
+        restProdutoMockMvc.perform(delete("/api/produtos/{id}/estoque/faixas", produto.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().string("10"));
+        em.refresh(produto);
+        assertThat(produto.getEstoque()).isEqualTo(10);
+    }
+
+    @Test
+    @Transactional
+    public void setEstoqueKeepsTheFaixas() throws Exception {
+        // Initialize the database, with a produto in hot mode
+        produtoRepository.saveAndFlush(produto.estoque(10));
+        estoqueService.dividirEmFaixas(produto.getId(), 4);
+
+        // An update of the whole produto does not write its estoque back
+        Produto updatedProduto = createEntity(em).estoque(10);
+        updatedProduto.setId(produto.getId());
+        restProdutoMockMvc.perform(put("/api/produtos")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(updatedProduto)))
+            .andExpect(status().isOk());
+        assertThat(estoqueService.getEstoqueDisponivel(produto.getId())).contains(10);
+
+        // The stock is set across the same stripes
+        restProdutoMockMvc.perform(put("/api/produtos/{id}/estoque?quantidade=6", produto.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().string("6"));
+        assertThat(estoqueService.getEstoqueDisponivel(produto.getId())).contains(6);
+        em.refresh(produto);
+        assertThat(produto.getEstoque()).isEqualTo(0);
+
+        restProdutoMockMvc.perform(put("/api/produtos/{id}/estoque?quantidade=-1", produto.getId()))
+            .andExpect(status().isBadRequest());
+        restProdutoMockMvc.perform(put("/api/produtos/{id}/estoque?quantidade=1", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    public void splitEstoqueWithInvalidFaixas() throws Exception {
+        // Initialize the database
+        produtoRepository.saveAndFlush(produto);
+
+        restProdutoMockMvc.perform(put("/api/produtos/{id}/estoque/faixas?quantidade=0", produto.getId()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void getEstoqueOfNonExistingProduto() throws Exception {
+        restProdutoMockMvc.perform(get("/api/produtos/{id}/estoque", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     public void getNonExistingProduto() throws Exception {
@@ -198,13 +489,14 @@ public class ProdutoResourceIntTest {
             .content(TestUtil.convertObjectToJsonBytes(updatedProduto)))
             .andExpect(status().isOk());
 
-        // Validate the Produto in the database
+        // Validate the Produto in the database, its estoque is only set through EstoqueService
+        em.clear();
         List<Produto> produtoList = produtoRepository.findAll();
         assertThat(produtoList).hasSize(databaseSizeBeforeUpdate);
         Produto testProduto = produtoList.get(produtoList.size() - 1);
         assertThat(testProduto.getNome()).isEqualTo(UPDATED_NOME);
         assertThat(testProduto.getPreco()).isEqualTo(UPDATED_PRECO);
-        assertThat(testProduto.getEstoque()).isEqualTo(UPDATED_ESTOQUE);
+        assertThat(testProduto.getEstoque()).isEqualTo(DEFAULT_ESTOQUE);
     }
 
     @Test
@@ -0,0 +1,198 @@
+package io.github.jhipster.application.web.rest;
+
+import io.github.jhipster.application.CandyShopApp;
+
+import io.github.jhipster.application.domain.Categoria;
+import io.github.jhipster.application.domain.Pedido;
+import io.github.jhipster.application.domain.PedidoItem;
+import io.github.jhipster.application.domain.Produto;
+import io.github.jhipster.application.service.PedidoService;
+import io.github.jhipster.application.service.VendasDiariasService;
+import io.github.jhipster.application.web.rest.errors.ExceptionTranslator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static io.github.jhipster.application.web.rest.TestUtil.createFormattingConversionService;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for the RelatorioResource REST controller.
+ *
+ * @see RelatorioResource
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = CandyShopApp.class)
+public class RelatorioResourceIntTest {
+
+    // Far from the days of the pedidos of the other tests
+    private static final LocalDate DIA_1 = LocalDate.of(2099, 1, 1);
+
+    private static final LocalDate DIA_2 = LocalDate.of(2099, 1, 2);
+
+    @Autowired
+    private VendasDiariasService vendasDiariasService;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonMessageConverter;
+
+    @Autowired
+    private ExceptionTranslator exceptionTranslator;
+
+    @Autowired
+    private EntityManager em;
+
+    private MockMvc restRelatorioMockMvc;
+
+    private Categoria categoria;
+
+    private Produto bala;
+
+    private Produto chocolate;
+
+    @Before
+    public void setup() {
+        final RelatorioResource relatorioResource = new RelatorioResource(vendasDiariasService);
+        this.restRelatorioMockMvc = MockMvcBuilders.standaloneSetup(relatorioResource)
+            .setControllerAdvice(exceptionTranslator)
+            .setConversionService(createFormattingConversionService())
+            .setMessageConverters(jacksonMessageConverter).build();
+    }
+
+    private void createProdutos() {
+        categoria = CategoriaResourceIntTest.createEntity(em);
+        em.persist(categoria);
+        bala = ProdutoResourceIntTest.createEntity(em).preco(new BigDecimal("2.50")).categoria(categoria);
+        em.persist(bala);
+        chocolate = ProdutoResourceIntTest.createEntity(em).preco(new BigDecimal("10.00"));
+        em.persist(chocolate);
+    }
+
+    /**
+     * Save pedidos as the REST API does, then roll them up as the scheduled job does.
+     */
+    private Pedido savePedido(LocalDate data, Produto... produtos) {
+        Pedido pedido = new Pedido().data(data);
+        for (Produto produto : produtos) {
+            pedido.addItem(new PedidoItem().quantidade(1).produto(produto));
+        }
+        return pedidoService.save(pedido);
+    }
+
+    private void rollUp() {
+        // The job reads the pedidos with SQL
+        em.flush();
+        vendasDiariasService.atualizar();
+    }
+
+    @Test
+    @Transactional
+    public void getVendasPorDia() throws Exception {
+        createProdutos();
+        savePedido(DIA_1, bala, chocolate);
+        savePedido(DIA_2, bala);
+        rollUp();
+
+        restRelatorioMockMvc.perform(get("/api/relatorios/vendas?from={from}&to={to}", DIA_1, DIA_2))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$.[0].dia").value(DIA_1.toString()))
+            .andExpect(jsonPath("$.[0].quantidade").value(2))
+            .andExpect(jsonPath("$.[0].valor").value(12.5))
+            .andExpect(jsonPath("$.[1].dia").value(DIA_2.toString()))
+            .andExpect(jsonPath("$.[1].quantidade").value(1))
+            .andExpect(jsonPath("$.[1].valor").value(2.5));
+    }
+
+    @Test
+    @Transactional
+    public void getVendasPorCategoriaAndPorProduto() throws Exception {
+        createProdutos();
+        savePedido(DIA_1, bala, chocolate);
+        savePedido(DIA_1, bala);
+        rollUp();
+
+        restRelatorioMockMvc.perform(get("/api/relatorios/vendas?from={from}&to={to}&groupBy=categoria", DIA_1, DIA_1))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$.[?(@.categoriaId == " + categoria.getId() + ")].quantidade").value(2));
+
+        restRelatorioMockMvc.perform(get("/api/relatorios/vendas?from={from}&to={to}&groupBy=produto", DIA_1, DIA_1))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$.[0].produtoId").value(bala.getId().intValue()))
+            .andExpect(jsonPath("$.[0].quantidade").value(2))
+            .andExpect(jsonPath("$.[0].valor").value(5.0))
+            .andExpect(jsonPath("$.[1].produtoId").value(chocolate.getId().intValue()))
+            .andExpect(jsonPath("$.[1].valor").value(10.0));
+    }
+
+    @Test
+    @Transactional
+    public void getVendasFollowsTheChangedPedidos() throws Exception {
+        createProdutos();
+        Pedido pedido = savePedido(DIA_1, bala);
+        Pedido outro = savePedido(DIA_1, chocolate);
+        rollUp();
+
+        pedidoService.save(pedido.data(DIA_2));
+        pedidoService.delete(outro.getId());
+        rollUp();
+
+        restRelatorioMockMvc.perform(get("/api/relatorios/vendas?from={from}&to={to}", DIA_1, DIA_2))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].dia").value(DIA_2.toString()))
+            .andExpect(jsonPath("$.[0].quantidade").value(1));
+    }
+
+    @Test
+    @Transactional
+    public void getVendasUsesThePrecoOfThePedidos() throws Exception {
+        createProdutos();
+        Pedido pedido = new Pedido().data(DIA_1)
+            .addItem(new PedidoItem().quantidade(3).produto(bala))
+            .addItem(new PedidoItem().quantidade(1).produto(bala));
+        pedidoService.save(pedido);
+
+        // A later change of preco does not change the sales already made
+        bala.setPreco(new BigDecimal("4.00"));
+        em.flush();
+        pedidoService.save(pedido.data(DIA_1));
+        rollUp();
+
+        restRelatorioMockMvc.perform(get("/api/relatorios/vendas?from={from}&to={to}&groupBy=produto", DIA_1, DIA_1))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].quantidade").value(4))
+            .andExpect(jsonPath("$.[0].valor").value(10.0));
+    }
+
+    @Test
+    @Transactional
+    public void getVendasWithInvalidParameters() throws Exception {
+        restRelatorioMockMvc.perform(get("/api/relatorios/vendas?from={from}&to={to}&groupBy=usuario", DIA_1, DIA_2))
+            .andExpect(status().isBadRequest());
+        restRelatorioMockMvc.perform(get("/api/relatorios/vendas?from={from}&to={to}", DIA_2, DIA_1))
+            .andExpect(status().isBadRequest());
+    }
+}
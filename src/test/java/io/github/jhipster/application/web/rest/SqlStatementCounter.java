@@ -0,0 +1,39 @@
+package io.github.jhipster.application.web.rest;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the SQL statements run by Hibernate, through its statistics, so a test can assert that an endpoint
+ * does not issue one select per entity (N+1 selects).
+ * <p>
+ * The statistics are enabled by hibernate.generate_statistics in the test configuration. They are global to
+ * the session factory, so the entities must be written and the persistence context cleared before
+ * {@link #reset()}, for the endpoint to read them from the database.
+ */
+public final class SqlStatementCounter {
+
+    private final Statistics statistics;
+
+    public SqlStatementCounter(EntityManager em) {
+        this.statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public void reset() {
+        statistics.clear();
+    }
+
+    public long getCount() {
+        return statistics.getPrepareStatementCount();
+    }
+
+    public void assertAtMost(long maxStatements) {
+        assertThat(getCount())
+            .as("SQL statements (entities loaded: %d, queries: %d)", statistics.getEntityLoadCount(), statistics.getQueryExecutionCount())
+            .isLessThanOrEqualTo(maxStatements);
+    }
+}
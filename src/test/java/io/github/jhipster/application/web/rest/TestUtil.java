@@ -10,6 +10,7 @@ import org.springframework.format.support.DefaultFormattingConversionService;
 import org.springframework.format.support.FormattingConversionService;
 import org.springframework.http.MediaType;
 
+import javax.persistence.EntityManager;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.time.ZonedDateTime;
@@ -132,4 +133,15 @@ public class TestUtil {
         registrar.registerFormatters(dfcs);
         return dfcs;
     }
+
+    /**
+     * Get the plan chosen by the database for a SQL query, to check that it uses an index.
+     *
+     * @param em the entity manager of the test
+     * @param sql the SQL query, without parameters
+     * @return the plan, as printed by the database
+     */
+    public static String explain(EntityManager em, String sql) {
+        return String.valueOf(em.createNativeQuery("explain " + sql).getSingleResult());
+    }
 }
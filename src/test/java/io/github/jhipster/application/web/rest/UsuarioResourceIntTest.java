@@ -4,6 +4,8 @@ import io.github.jhipster.application.CandyShopApp;
 
 import io.github.jhipster.application.domain.Usuario;
 import io.github.jhipster.application.repository.UsuarioRepository;
+import io.github.jhipster.application.service.PontoService;
+import io.github.jhipster.application.service.RowCountEstimator;
 import io.github.jhipster.application.web.rest.errors.ExceptionTranslator;
 
 import org.junit.Before;
@@ -51,6 +53,12 @@ public class UsuarioResourceIntTest {
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    @Autowired
+    private PontoService pontoService;
+
+    @Autowired
+    private RowCountEstimator rowCountEstimator;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -70,7 +78,7 @@ public class UsuarioResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final UsuarioResource usuarioResource = new UsuarioResource(usuarioRepository);
+        final UsuarioResource usuarioResource = new UsuarioResource(usuarioRepository, pontoService, rowCountEstimator);
         this.restUsuarioMockMvc = MockMvcBuilders.standaloneSetup(usuarioResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -146,6 +154,8 @@ public class UsuarioResourceIntTest {
         restUsuarioMockMvc.perform(get("/api/usuarios?sort=id,desc"))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(header().exists("Link"))
             .andExpect(jsonPath("$.[*].id").value(hasItem(usuario.getId().intValue())))
             .andExpect(jsonPath("$.[*].nome").value(hasItem(DEFAULT_NOME.toString())))
             .andExpect(jsonPath("$.[*].email").value(hasItem(DEFAULT_EMAIL.toString())))
@@ -165,7 +175,8 @@ public class UsuarioResourceIntTest {
             .andExpect(jsonPath("$.id").value(usuario.getId().intValue()))
             .andExpect(jsonPath("$.nome").value(DEFAULT_NOME.toString()))
             .andExpect(jsonPath("$.email").value(DEFAULT_EMAIL.toString()))
-            .andExpect(jsonPath("$.token").value(DEFAULT_TOKEN.toString()));
+            .andExpect(jsonPath("$.token").value(DEFAULT_TOKEN.toString()))
+            .andExpect(jsonPath("$.pedidos").doesNotExist());
     }
 
     @Test
@@ -176,6 +187,32 @@ public class UsuarioResourceIntTest {
             .andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    public void getSaldoDePontos() throws Exception {
+        // Initialize the database
+        usuarioRepository.saveAndFlush(usuario);
+        restUsuarioMockMvc.perform(get("/api/usuarios/{id}/pontos/saldo", usuario.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().string("0"));
+
+        pontoService.save(PontoResourceIntTest.createEntity(em).quantidade(10).usuario(usuario));
+        pontoService.save(PontoResourceIntTest.createEntity(em).quantidade(5).usuario(usuario));
+
+        // Get the balance of the usuario
+        restUsuarioMockMvc.perform(get("/api/usuarios/{id}/pontos/saldo", usuario.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(content().string("15"));
+    }
+
+    @Test
+    @Transactional
+    public void getSaldoDePontosOfNonExistingUsuario() throws Exception {
+        restUsuarioMockMvc.perform(get("/api/usuarios/{id}/pontos/saldo", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     public void updateUsuario() throws Exception {
@@ -2,16 +2,21 @@ package io.github.jhipster.application.web.rest.util;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Test;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
 
 /**
  * Tests based on parsing algorithm in app/components/util/pagination-util.service.js
@@ -41,4 +46,101 @@ public class PaginationUtilUnitTest {
         assertTrue(Long.valueOf(xTotalCountHeaders.get(0)).equals(400L));
     }
 
+    @Test
+    public void generateKeysetPaginationHttpHeadersTest() {
+        HttpHeaders headers = PaginationUtil.generateKeysetPaginationHttpHeaders("/api/example?eagerload=true", 1049L, 20);
+        List<String> strHeaders = headers.get(HttpHeaders.LINK);
+        assertNotNull(strHeaders);
+        assertTrue(strHeaders.size() == 1);
+        assertEquals("</api/example?eagerload=true&after=1049&limit=20>; rel=\"next\"", strHeaders.get(0));
+        assertNull(headers.get("X-Total-Count"));
+    }
+
+    @Test
+    public void generateKeysetPaginationHttpHeadersOnLastPageTest() {
+        HttpHeaders headers = PaginationUtil.generateKeysetPaginationHttpHeaders("/api/example", null, 20);
+        assertNull(headers.get(HttpHeaders.LINK));
+    }
+
+    @Test
+    public void generateSlicePaginationHttpHeadersTest() {
+        SliceImpl<String> slice = new SliceImpl<>(Arrays.asList("a", "b"), PageRequest.of(3, 2), true);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(slice, "/api/example", CountStrategy.NONE, () -> 100L);
+        assertEquals(Collections.singletonList("</api/example?count=none&page=4&size=2>; rel=\"next\""),
+            headers.get(HttpHeaders.LINK));
+        assertNull(headers.get("X-Total-Count"));
+    }
+
+    @Test
+    public void generateSlicePaginationHttpHeadersOnLastPageTest() {
+        SliceImpl<String> slice = new SliceImpl<>(Collections.singletonList("a"), PageRequest.of(3, 2), false);
+        HttpHeaders headers = PaginationUtil.generateSlicePaginationHttpHeaders(slice, "/api/example");
+        assertNull(headers.get(HttpHeaders.LINK));
+    }
+
+    @Test
+    public void generateEstimatedPaginationHttpHeadersTest() {
+        SliceImpl<String> slice = new SliceImpl<>(Arrays.asList("a", "b"), PageRequest.of(3, 2), true);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(slice, "/api/example", CountStrategy.ESTIMATED, () -> 100L);
+        assertEquals("100", headers.getFirst("X-Total-Count"));
+        assertEquals("true", headers.getFirst(PaginationUtil.TOTAL_COUNT_ESTIMATED_HEADER));
+        assertTrue(headers.getFirst(HttpHeaders.LINK).contains("</api/example?count=estimated&page=49&size=2>; rel=\"last\""));
+    }
+
+    @Test
+    public void generateEstimatedPaginationHttpHeadersCorrectsTheEstimateTest() {
+        // The statistics are late: there are more elements than estimated
+        SliceImpl<String> slice = new SliceImpl<>(Arrays.asList("a", "b"), PageRequest.of(3, 2), true);
+        HttpHeaders headers = PaginationUtil.generateEstimatedPaginationHttpHeaders(slice, 0, "/api/example");
+        assertEquals("9", headers.getFirst("X-Total-Count"));
+        assertTrue(headers.getFirst(HttpHeaders.LINK).contains("rel=\"next\""));
+
+        // The last page gives the exact count
+        slice = new SliceImpl<>(Collections.singletonList("a"), PageRequest.of(3, 2), false);
+        headers = PaginationUtil.generateEstimatedPaginationHttpHeaders(slice, 100, "/api/example");
+        assertEquals("7", headers.getFirst("X-Total-Count"));
+        assertEquals("false", headers.getFirst(PaginationUtil.TOTAL_COUNT_ESTIMATED_HEADER));
+    }
+
+    @Test
+    public void generateEstimatedPaginationHttpHeadersWithoutEstimateTest() {
+        SliceImpl<String> slice = new SliceImpl<>(Arrays.asList("a", "b"), PageRequest.of(0, 2), true);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(slice, "/api/example", CountStrategy.ESTIMATED, null);
+        assertEquals(Collections.singletonList("</api/example?count=estimated&page=1&size=2>; rel=\"next\""),
+            headers.get(HttpHeaders.LINK));
+        assertNull(headers.get("X-Total-Count"));
+    }
+
+    @Test
+    public void generateFilteredBaseUrlTest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/produtos");
+        request.addParameter("nome.contains", "doce de leite");
+        request.addParameter("page", "1");
+        request.addParameter("size", "2");
+        request.addParameter("sort", "preco,asc");
+        request.addParameter("count", "none");
+        request.addParameter("after", "1049");
+        request.addParameter("categoriaId.in", "1", "2");
+        String baseUrl = PaginationUtil.generateFilteredBaseUrl(request, "after");
+        assertEquals("/api/produtos?nome.contains=doce%20de%20leite&sort=preco,asc&categoriaId.in=1&categoriaId.in=2", baseUrl);
+
+        SliceImpl<String> slice = new SliceImpl<>(Arrays.asList("a", "b"), PageRequest.of(0, 2), true);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(slice, baseUrl, CountStrategy.NONE, null);
+        assertEquals(Collections.singletonList("</api/produtos?nome.contains=doce%20de%20leite&sort=preco,asc" +
+            "&categoriaId.in=1&categoriaId.in=2&count=none&page=1&size=2>; rel=\"next\""), headers.get(HttpHeaders.LINK));
+    }
+
+    @Test
+    public void generateFilteredBaseUrlEncodesTheValuesTest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/produtos");
+        request.addParameter("nome.contains", "M&M");
+        request.addParameter("nome.equals", "1+1 #2");
+        String baseUrl = PaginationUtil.generateFilteredBaseUrl(request);
+        assertEquals("/api/produtos?nome.contains=M%26M&nome.equals=1%2B1%20%232", baseUrl);
+
+        Page<String> page = new PageImpl<>(Collections.singletonList("a"), PageRequest.of(0, 1), 1L);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, baseUrl);
+        assertTrue(headers.getFirst(HttpHeaders.LINK)
+            .contains("</api/produtos?nome.contains=M%26M&nome.equals=1%2B1%20%232&page=0&size=1>; rel=\"first\""));
+    }
 }